@@ -24,7 +24,7 @@ public class App extends Application {
     /**
      * Service audio global pour toute l'application.
      */
-    private static AudioService audioService = new AudioService();
+    private static AudioService audioService = AudioService.getInstance();
 
     /**
      * Conteneur racine empilant le contenu du jeu et les contrôles UI.
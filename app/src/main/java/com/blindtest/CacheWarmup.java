@@ -0,0 +1,52 @@
+package com.blindtest;
+
+import com.blindtest.model.Track;
+import com.blindtest.service.AudioService;
+import com.blindtest.service.CacheWarmupService;
+import com.blindtest.service.DynamicPlaylistGenerator;
+
+import java.util.List;
+
+/**
+ * Commande sans interface qui préremplit le cache des extraits avec tout le catalogue.
+ * À lancer sur une nouvelle installation : {@code gradlew :app:warmCache}.
+ *
+ * <p>Options : {@code --parallelism N}, {@code --rate R} (requêtes par seconde),
+ * {@code --audio} (télécharge aussi l'audio des extraits).</p>
+ */
+public class CacheWarmup {
+
+    /**
+     * Point d'entrée de la commande.
+     * @param args Les options de ligne de commande
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int parallelism = CacheWarmupService.DEFAULT_PARALLELISM;
+        double rate = CacheWarmupService.DEFAULT_REQUESTS_PER_SECOND;
+        boolean downloadAudio = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--parallelism": parallelism = Integer.parseInt(args[++i]); break;
+                case "--rate": rate = Double.parseDouble(args[++i]); break;
+                case "--audio": downloadAudio = true; break;
+                default:
+                    System.err.println("Option inconnue : " + args[i]);
+                    System.err.println("Usage : CacheWarmup [--parallelism N] [--rate R] [--audio]");
+                    System.exit(2);
+            }
+        }
+
+        List<Track> catalogue = DynamicPlaylistGenerator.getCatalogueTracks();
+        System.out.println("Préremplissage du cache : " + catalogue.size() + " morceaux");
+
+        AudioService audioService = AudioService.getInstance();
+        CacheWarmupService warmup = new CacheWarmupService(audioService, parallelism, rate);
+        CacheWarmupService.Progress result = warmup.warmUp(catalogue, downloadAudio,
+            progress -> System.out.println("[warm-up] " + progress));
+
+        System.out.println("Terminé : " + result);
+        audioService.printCacheStats();
+        System.exit(0);
+    }
+}
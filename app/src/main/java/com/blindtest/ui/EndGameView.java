@@ -437,7 +437,7 @@ public class EndGameView {
             }
             
             // Créer une nouvelle partie
-            GameController newController = new GameController(newPlayers);
+            GameController newController = new GameController(newPlayers, App.getAudioService());
             newController.startGame();
             GameView gameView = new GameView(newController);
             App.setView(gameView.getRootNode());
@@ -4,6 +4,7 @@ import com.blindtest.App;
 import com.blindtest.controller.GameController;
 import com.blindtest.model.Player;
 import com.blindtest.model.Round;
+import com.blindtest.service.AutocompleteService;
 import com.blindtest.util.InputValidator;
 
 import javafx.animation.KeyFrame;
@@ -11,8 +12,11 @@ import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.geometry.Side;
 import javafx.scene.Parent;
 import javafx.scene.control.Button;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.CustomMenuItem;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextField;
@@ -24,6 +28,9 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.util.Duration;
 
+import java.util.List;
+import java.util.function.BiFunction;
+
 public class GameView {
 
     private final GameController controller;
@@ -260,6 +267,8 @@ public class GameView {
 
         titleInput = styleTextField("Titre...");
         artistInput = styleTextField("Artiste...");
+        attachSuggestions(titleInput, AutocompleteService::suggestTitles);
+        attachSuggestions(artistInput, AutocompleteService::suggestArtists);
         
         submitBtn = new Button("VALIDER");
         styleButton(submitBtn, "#6C5CE7");
@@ -279,6 +288,42 @@ public class GameView {
         return tf;
     }
 
+    /**
+     * Affiche sous le champ les suggestions correspondant à la saisie en cours.
+     * @param field Le champ de saisie
+     * @param source La recherche de suggestions (saisie, nombre maximal)
+     */
+    private void attachSuggestions(TextField field, BiFunction<String, Integer, List<String>> source) {
+        ContextMenu menu = new ContextMenu();
+        field.textProperty().addListener((obs, oldText, newText) -> {
+            if (!field.isFocused() || field.isDisabled()) {
+                menu.hide();
+                return;
+            }
+            List<String> suggestions = source.apply(newText, AutocompleteService.DEFAULT_LIMIT);
+            if (suggestions.isEmpty() || (suggestions.size() == 1 && suggestions.get(0).equals(newText))) {
+                menu.hide();
+                return;
+            }
+            menu.getItems().clear();
+            for (String suggestion : suggestions) {
+                CustomMenuItem item = new CustomMenuItem(new Label(suggestion), true);
+                item.setOnAction(e -> {
+                    field.setText(suggestion);
+                    field.positionCaret(suggestion.length());
+                    menu.hide();
+                });
+                menu.getItems().add(item);
+            }
+            if (!menu.isShowing()) {
+                menu.show(field, Side.BOTTOM, 0, 0);
+            }
+        });
+        field.focusedProperty().addListener((obs, wasFocused, focused) -> {
+            if (!focused) menu.hide();
+        });
+    }
+
     /**
      * Style un bouton.
      */
@@ -202,14 +202,10 @@ public class LeaderboardView {
             stats = ScoreService.getStatisticsByMode(mode);
             filterDesc = mode;
         } else if (mode.equals("Tous") && !genre.equals("Tous")) {
-            // Stats par genre seul (on filtre manuellement)
-            List<Score> filteredScores = ScoreService.getLeaderboardByGenre(genre, 1000);
-            stats = calculateStatsFromScores(filteredScores);
+            stats = ScoreService.getStatisticsByGenre(genre);
             filterDesc = genre;
         } else {
-            // Mode + Genre
-            List<Score> filteredScores = ScoreService.getLeaderboardByModeAndGenre(mode, genre, 1000);
-            stats = calculateStatsFromScores(filteredScores);
+            stats = ScoreService.getStatisticsByModeAndGenre(mode, genre);
             filterDesc = mode + " - " + genre;
         }
         
@@ -229,34 +225,6 @@ public class LeaderboardView {
         }
     }
 
-    /**
-     * Calcule manuellement les statistiques à partir d'une liste de scores.
-     * Utilisé lorsque les statistiques ne sont pas disponibles directement depuis le service.
-     * 
-     * @param scores La liste des scores à analyser
-     * @return Un objet ScoreStatistics contenant les statistiques calculées
-     */
-    private ScoreService.ScoreStatistics calculateStatsFromScores(List<Score> scores) {
-        if (scores.isEmpty()) {
-            return new ScoreService.ScoreStatistics(0, 0, 0, 0.0, 0.0, 0.0, 0.0);
-        }
-
-        int totalGames = scores.size();
-        int totalScore = scores.stream().mapToInt(Score::getScore).sum();
-        int maxScore = scores.stream().mapToInt(Score::getScore).max().orElse(0);
-        int minScore = scores.stream().mapToInt(Score::getScore).min().orElse(0);
-        double averageScore = (double) totalScore / totalGames;
-
-        double avgSuccessRate = scores.stream().mapToDouble(Score::getSuccessRate).average().orElse(0.0);
-        double avgTitleSuccessRate = scores.stream().mapToDouble(Score::getTitleSuccessRate).average().orElse(0.0);
-        double avgArtistSuccessRate = scores.stream().mapToDouble(Score::getArtistSuccessRate).average().orElse(0.0);
-
-        return new ScoreService.ScoreStatistics(
-            totalGames, maxScore, minScore, averageScore,
-            avgSuccessRate, avgTitleSuccessRate, avgArtistSuccessRate
-        );
-    }
-
     /**
      * Exporte les données du classement au format spécifié (CSV ou JSON).
      * Applique les filtres actifs avant l'export et génère un nom de fichier approprié.
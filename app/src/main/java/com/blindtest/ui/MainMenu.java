@@ -339,7 +339,7 @@ public class MainMenu {
     private void launchGame(List<Player> players) {
         try {
             App.getAudioService().stopMenuMusic();
-            GameController controller = new GameController(players);
+            GameController controller = new GameController(players, App.getAudioService());
             controller.startGame();
             GameView gameView = new GameView(controller);
             App.setView(gameView.getRootNode());
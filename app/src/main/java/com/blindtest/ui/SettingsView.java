@@ -93,6 +93,9 @@ public class SettingsView {
         CheckBox speedBox = styleCheckBox("Bonus de vitesse");
         speedBox.setSelected(settings.isSpeedBonusEnabled());
 
+        CheckBox fuzzyBox = styleCheckBox("Tolérer les fautes de frappe");
+        fuzzyBox.setSelected(settings.isFuzzyMatchingEnabled());
+
         // --- Genre ---
         Label genreLabel = styleLabel("Genre par défaut :");
         ComboBox<String> genreCombo = new ComboBox<>();
@@ -106,7 +109,7 @@ public class SettingsView {
             roundsLabel, roundsSlider,
             durationLabel, durationSlider,
             new Separator(),
-            hintsBox, speedBox, 
+            hintsBox, speedBox, fuzzyBox, 
             genreLabel, genreCombo
         );
 
@@ -120,7 +123,9 @@ public class SettingsView {
             settings.setExtractDuration((int) durationSlider.getValue());
             settings.setHintsEnabled(hintsBox.isSelected());
             settings.setSpeedBonusEnabled(speedBox.isSelected());
+            settings.setFuzzyMatchingEnabled(fuzzyBox.isSelected());
             settings.setDefaultGenre(genreCombo.getValue());
+            // Le service audio est prévenu du nouveau volume par SettingsService
             SettingsService.saveSettings(settings);
             
             // Retour au menu principal
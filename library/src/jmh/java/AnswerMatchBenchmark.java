@@ -0,0 +1,66 @@
+package com.blindtest.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare la vérification tolérante d'une réponse sur un titre long : distance de
+ * Levenshtein sur matrice complète (ancien InputValidator) et AnswerMatcher (filtre par
+ * trigrammes, bande bornée). Une réponse proche et une réponse sans rapport.
+ *
+ * <p>Lancement : {@code ./gradlew :library:jmh}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AnswerMatchBenchmark {
+
+    private final String expected = InputValidator.normalize(
+        "Symphony No. 9 in D Minor, Op. 125 \"Choral\": IV. Presto - Allegro assai (Live at the Royal Albert Hall)");
+    private final String closeAnswer = expected.replace("allegro", "alegro").replace("royal", "royale");
+    private final String unrelatedAnswer = InputValidator.normalize(
+        "Bohemian Rhapsody - Remastered 2011 version from A Night at the Opera, Queen, 1975 single edit");
+    private final AnswerMatcher matcher = AnswerMatcher.of(expected);
+
+    @Benchmark
+    public boolean fullMatrixClose() {
+        return fullDistance(closeAnswer, expected) <= AnswerMatcher.maxEdits(expected.length());
+    }
+
+    @Benchmark
+    public boolean fullMatrixUnrelated() {
+        return fullDistance(unrelatedAnswer, expected) <= AnswerMatcher.maxEdits(expected.length());
+    }
+
+    @Benchmark
+    public boolean matcherClose() {
+        return matcher.matches(closeAnswer);
+    }
+
+    @Benchmark
+    public boolean matcherUnrelated() {
+        return matcher.matches(unrelatedAnswer);
+    }
+
+    /**
+     * Ancienne distance de Levenshtein de InputValidator.
+     */
+    private static int fullDistance(String s1, String s2) {
+        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
+        for (int i = 0; i <= s1.length(); i++) dp[i][0] = i;
+        for (int j = 0; j <= s2.length(); j++) dp[0][j] = j;
+        for (int i = 1; i <= s1.length(); i++) {
+            for (int j = 1; j <= s2.length(); j++) {
+                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
+                dp[i][j] = Math.min(Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1), dp[i - 1][j - 1] + cost);
+            }
+        }
+        return dp[s1.length()][s2.length()];
+    }
+}
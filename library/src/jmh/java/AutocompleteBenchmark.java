@@ -0,0 +1,67 @@
+package com.blindtest.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure les suggestions de saisie sur un index de 100 000 titres synthétiques : préfixe
+ * très fréquent (beaucoup d'entrées correspondantes), préfixe rare, et saisie de plusieurs mots.
+ *
+ * <p>Lancement : {@code ./gradlew :library:jmh}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AutocompleteBenchmark {
+
+    private static final int TRACKS = 100_000;
+    private static final String[] SYLLABLES = {
+        "la", "mo", "ri", "da", "ne", "so", "ka", "ve", "lu", "po", "ta", "mi", "ro", "be", "zu", "fa"
+    };
+
+    private SuggestionIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(1);
+        SuggestionIndex.Builder builder = new SuggestionIndex.Builder();
+        while (builder.size() < TRACKS) {
+            StringBuilder title = new StringBuilder();
+            int words = 1 + random.nextInt(5);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) title.append(' ');
+                int syllables = 1 + random.nextInt(4);
+                for (int s = 0; s < syllables; s++) {
+                    title.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+                }
+            }
+            builder.add(title.toString(), 1 + random.nextInt(1_000));
+        }
+        index = builder.build();
+    }
+
+    @Benchmark
+    public List<String> commonPrefix() {
+        return index.suggest("l", AutocompleteService.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public List<String> rarePrefix() {
+        return index.suggest("zufamori", AutocompleteService.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public List<String> severalWords() {
+        return index.suggest("mola ri", AutocompleteService.DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,62 @@
+package com.blindtest.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare la normalisation des réponses : ancienne suite d'expressions régulières
+ * (une compilation de motif par mot-outil) et normalisation en une passe.
+ * Chaque appel traite les quatre chaînes d'une vérification de réponse.
+ *
+ * <p>Lancement : {@code ./gradlew :library:jmh}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NormalizeBenchmark {
+
+    private static final String[] STOP_WORDS = {
+        "the", "a", "an", "le", "la", "les", "un", "une", "des",
+        "of", "de", "du", "d", "l", "&", "and", "et"
+    };
+
+    // Titre et artiste attendus, puis réponse saisie par le joueur
+    private final String[] answers = {
+        "Ça plane pour moi", "Plastic Bertrand", "ca plane pour moi", "plastic bertrand",
+        "Sweet Child O' Mine", "Guns N' Roses", "sweet child of mine", "guns and roses",
+        "L'Aventurier", "Indochine", "l aventurier", "indochine",
+        "Earth, Wind & Fire", "The Beatles", "earth wind fire", "beatles"
+    };
+
+    /**
+     * Ancienne implémentation de InputValidator.normalize.
+     */
+    @Benchmark
+    public void legacyRegex(Blackhole blackhole) {
+        for (String answer : answers) {
+            String normalized = InputValidator.sanitize(answer).toLowerCase();
+            String result = " " + normalized + " ";
+            for (String word : STOP_WORDS) {
+                result = result.replaceAll("(?i)\\s" + word + "\\s", " ");
+            }
+            blackhole.consume(result.trim().replaceAll("\\s+", " ").trim());
+        }
+    }
+
+    /**
+     * Normalisation actuelle : table de repli et tampon réutilisé.
+     */
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        for (String answer : answers) {
+            blackhole.consume(InputValidator.normalize(answer));
+        }
+    }
+}
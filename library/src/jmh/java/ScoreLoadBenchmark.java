@@ -0,0 +1,122 @@
+package com.blindtest.service;
+
+import com.blindtest.model.Score;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compare le chargement de l'historique des scores : tableau JSON indenté (ancien format),
+ * JSON Lines parsé par Gson, et instantané binaire en colonnes.
+ *
+ * <p>Lancement : {@code ./gradlew :library:jmh}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ScoreLoadBenchmark {
+
+    private static final String[] MODES = {"Solo", "Duel"};
+    private static final String[] GENRES = {"Pop", "Rock", "Rap", "Jazz", "Electro", "Mixed"};
+
+    @Param({"1000", "100000"})
+    public int scoreCount;
+
+    private Path directory;
+    private Path prettyJsonFile;
+    private Path jsonLinesFile;
+    private Path snapshotFile;
+    private Gson gson;
+
+    /**
+     * Génère un historique aléatoire (graine fixe) dans les trois formats.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("blindtest-bench");
+        prettyJsonFile = directory.resolve("scores.json");
+        jsonLinesFile = directory.resolve("scores.jsonl");
+        snapshotFile = directory.resolve("scores.snapshot");
+        gson = new GsonBuilder().registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter()).create();
+
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Score> scores = new ArrayList<>(scoreCount);
+        for (int i = 0; i < scoreCount; i++) {
+            int totalTracks = 5 + random.nextInt(16);
+            Score score = new Score("Joueur" + random.nextInt(500), random.nextInt(2000),
+                    MODES[random.nextInt(MODES.length)], GENRES[random.nextInt(GENRES.length)],
+                    totalTracks, random.nextInt(totalTracks + 1), random.nextInt(totalTracks + 1), random.nextInt(4));
+            score.setDate(start.plusSeconds(i * 97L).plusNanos(random.nextInt(1_000_000_000)));
+            scores.add(score);
+        }
+
+        PersistenceService.save(scores, prettyJsonFile.toString(), 0, true);
+        try (BufferedWriter writer = Files.newBufferedWriter(jsonLinesFile, StandardCharsets.UTF_8)) {
+            for (Score score : scores) {
+                writer.write(gson.toJson(score));
+                writer.newLine();
+            }
+        }
+        long length = Files.size(jsonLinesFile);
+        ScoreSnapshot.write(snapshotFile, scores, length, ScoreSnapshot.sourceChecksum(jsonLinesFile, length));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    /**
+     * Ancien chemin : tableau JSON indenté relu en entier par Gson.
+     */
+    @Benchmark
+    public List<Score> gsonPrettyArray() {
+        return PersistenceService.loadList(prettyJsonFile.toString(), new TypeToken<List<Score>>(){});
+    }
+
+    /**
+     * Chemin actuel sans instantané : une ligne JSON compacte par score.
+     */
+    @Benchmark
+    public List<Score> gsonJsonLines() throws IOException {
+        List<Score> scores = new ArrayList<>(scoreCount);
+        try (Stream<String> lines = Files.lines(jsonLinesFile, StandardCharsets.UTF_8)) {
+            lines.forEach(line -> scores.add(gson.fromJson(line, Score.class)));
+        }
+        return scores;
+    }
+
+    /**
+     * Instantané binaire en colonnes (projeté en mémoire au-delà de 1 Mo).
+     */
+    @Benchmark
+    public List<Score> binarySnapshot() {
+        return ScoreSnapshot.read(snapshotFile).scores;
+    }
+}
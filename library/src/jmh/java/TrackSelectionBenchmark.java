@@ -0,0 +1,67 @@
+package com.blindtest.controller;
+
+import com.blindtest.model.Track;
+import com.blindtest.util.ShuffleBag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compare le tirage d'une partie complète (un morceau par manche, la moitié de la playlist) :
+ * ancien filtrage de la playlist par la liste des morceaux joués, et ShuffleBag.
+ *
+ * <p>Lancement : {@code ./gradlew :library:jmh}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrackSelectionBenchmark {
+
+    @Param({"100", "1000"})
+    public int playlistSize;
+
+    private final Random random = new Random(1);
+    private List<Track> tracks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tracks = new ArrayList<>();
+        for (int i = 0; i < playlistSize; i++) {
+            tracks.add(new Track("Titre " + i, "Artiste " + (i % 500), 30));
+        }
+    }
+
+    @Benchmark
+    public List<Track> filterPlayed() {
+        List<Track> played = new ArrayList<>();
+        for (int round = 0; round < playlistSize / 2; round++) {
+            List<Track> available = tracks.stream()
+                .filter(track -> !played.contains(track))
+                .collect(Collectors.toList());
+            played.add(available.get(random.nextInt(available.size())));
+        }
+        return played;
+    }
+
+    @Benchmark
+    public List<Track> shuffleBag() {
+        List<Track> played = new ArrayList<>();
+        ShuffleBag<Track> bag = new ShuffleBag<>(tracks, track -> false, false, random);
+        for (int round = 0; round < playlistSize / 2; round++) {
+            played.add(bag.next());
+        }
+        return played;
+    }
+}
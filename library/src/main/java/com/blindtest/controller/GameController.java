@@ -1,7 +1,10 @@
 package com.blindtest.controller;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
@@ -14,20 +17,29 @@ import com.blindtest.model.Score;
 import com.blindtest.model.Settings;
 import com.blindtest.model.Track;
 import com.blindtest.service.AudioService;
+import com.blindtest.service.AutocompleteService;
 import com.blindtest.service.DynamicPlaylistGenerator;
+import com.blindtest.service.RecentTracks;
 import com.blindtest.service.ScoreService;
 import com.blindtest.service.SettingsService;
 import com.blindtest.util.InputValidator;
+import com.blindtest.util.ShuffleBag;
 
 public class GameController {
 
-    private final AudioService audioService = new AudioService();
+    /**
+     * Nombre de manches suivantes dont le lecteur audio est préparé à l'avance.
+     */
+    private static final int PREBUFFER_AHEAD = 2;
+
+    private final AudioService audioService;
     private final Settings settings;
     private Playlist activePlaylist; 
     
     private final List<Round> rounds = new ArrayList<>();
     private final List<Player> players = new ArrayList<>();
-    private final List<Track> playedTracks = new ArrayList<>();
+    private ShuffleBag<Track> trackBag;
+    private final Deque<Track> upcomingTracks = new ArrayDeque<>();
     private final Random random = new Random(); 
     
     private int currentPlayerIndex = 0; // Index du joueur dont c'est le tour
@@ -42,16 +54,29 @@ public class GameController {
     private boolean started = false;
 
     /**
-     * Crée un contrôleur de jeu avec une liste de joueurs.
+     * Crée un contrôleur de jeu avec une liste de joueurs, utilisant le service audio partagé.
      * @param players La liste des joueurs
      * @throws IllegalArgumentException si la liste de joueurs est vide ou nulle
      */
     public GameController(List<Player> players) {
+        this(players, AudioService.getInstance());
+    }
+
+    /**
+     * Crée un contrôleur de jeu avec une liste de joueurs et un service audio donné.
+     * @param players La liste des joueurs
+     * @param audioService Le service audio utilisé pour les extraits et les effets sonores
+     * @throws IllegalArgumentException si la liste de joueurs est vide ou nulle
+     */
+    public GameController(List<Player> players, AudioService audioService) {
         if (players == null || players.isEmpty()) {
             throw new IllegalArgumentException("At least one player required");
         }
 
-        this.settings = SettingsService.loadSettings();
+        this.audioService = audioService;
+
+        // Paramètres figés pour toute la partie, même si l'écran de configuration les modifie
+        this.settings = SettingsService.getSettings();
         int numberOfRounds = this.settings.getNumberOfRounds();
         String genre = this.settings.getDefaultGenre();
         
@@ -76,6 +101,14 @@ public class GameController {
         for (int i = 0; i < totalRounds; i++) {
             rounds.add(new Round());
         }
+
+        // Suggestions de saisie : ajoute les morceaux hors catalogue (playlist de secours)
+        AutocompleteService.registerTracks(this.activePlaylist.getTracks());
+
+        // Toute la playlist est connue : on résout les extraits en parallèle dès maintenant
+        audioService.prefetchPreviews(this.activePlaylist.getTracks().stream()
+            .map(Track::getSearchQuery)
+            .collect(Collectors.toList()));
     }
 
 
@@ -103,7 +136,8 @@ public class GameController {
         started = true;
         currentRoundIndex = -1;
         currentPlayerIndex = 0;
-        this.playedTracks.clear();
+        this.trackBag = createTrackBag();
+        this.upcomingTracks.clear();
         this.totalCorrectTitles = 0;
         this.totalCorrectArtists = 0;
         this.totalHintsUsed = 0;
@@ -154,14 +188,20 @@ public class GameController {
         Round currentRound = getCurrentRound();
         Player currentPlayer = players.get(playerIndex);
 
-        // Normalisation des réponses avec InputValidator
-        String correctTitle = InputValidator.normalizeAnswer(currentRound.getTrack().getTitle());
-        String correctArtist = InputValidator.normalizeAnswer(currentRound.getTrack().getArtist());
+        // Normalisation des réponses avec InputValidator ; celles du morceau sont précalculées
+        Track track = currentRound.getTrack();
         String submittedTitle = InputValidator.normalizeAnswer(trackTitle);
         String submittedArtist = InputValidator.normalizeAnswer(artistName);
 
-        boolean titleCorrect = submittedTitle.equals(correctTitle);
-        boolean artistCorrect = submittedArtist.equals(correctArtist);
+        boolean titleCorrect;
+        boolean artistCorrect;
+        if (settings.isFuzzyMatchingEnabled()) {
+            titleCorrect = track.getTitleMatcher().matches(submittedTitle);
+            artistCorrect = track.getArtistMatcher().matches(submittedArtist);
+        } else {
+            titleCorrect = submittedTitle.equals(track.getNormalizedTitle());
+            artistCorrect = submittedArtist.equals(track.getNormalizedArtist());
+        }
         
         // Statistiques
         if (titleCorrect) totalCorrectTitles++;
@@ -251,7 +291,8 @@ public class GameController {
 
         if (currentRoundIndex < rounds.size()) {
             Round currentRound = getCurrentRound();
-            Track newTrack = selectRandomTrack();
+            fillUpcomingTracks();
+            Track newTrack = upcomingTracks.poll();
             
             if (newTrack == null) {
                 endGame();
@@ -259,7 +300,6 @@ public class GameController {
             }
             
             currentRound.setTrack(newTrack); 
-            this.playedTracks.add(newTrack);
             
             // En mode Duel, alterner les joueurs
             if (isDuelMode) {
@@ -269,33 +309,54 @@ public class GameController {
                 System.out.println("🎵 Manche " + (currentRoundIndex + 1) + " : " + newTrack.getArtist() + " - " + newTrack.getTitle());
             }
             
-            String query = newTrack.getArtist() + " " + newTrack.getTitle();
-            audioService.loadWithFallback(query); 
-            audioService.play(); 
+            // Résolution asynchrone : le thread JavaFX n'attend plus le réseau,
+            // l'audio démarre dès que l'extrait est attaché.
+            audioService.loadWithFallbackAsync(newTrack.getSearchQuery())
+                .thenAccept(loaded -> {
+                    if (loaded) audioService.play();
+                });
+
+            // Les manches suivantes sont déjà tirées : leurs lecteurs se remplissent pendant celle-ci
+            for (Track upcoming : upcomingTracks) {
+                audioService.preloadPlayer(upcoming.getSearchQuery());
+            }
         } else {
             endGame();
         }
     }
 
     /**
-     * Sélectionne aléatoirement un morceau non encore joué.
+     * Tire à l'avance les morceaux des prochaines manches (manche courante comprise),
+     * dans la limite des manches restantes.
+     */
+    private void fillUpcomingTracks() {
+        int wanted = Math.min(PREBUFFER_AHEAD + 1, rounds.size() - currentRoundIndex);
+        while (upcomingTracks.size() < wanted) {
+            Track track = selectRandomTrack();
+            if (track == null) break;
+            upcomingTracks.add(track);
+            RecentTracks.markPlayed(track);
+        }
+    }
+
+    /**
+     * Sélectionne aléatoirement un morceau non encore joué, en temps constant.
      * @return Un morceau aléatoire ou null si aucun disponible
      */
     private Track selectRandomTrack() {
-        List<Track> allTracks = activePlaylist.getTracks();
-        List<Track> availableTracks = allTracks.stream()
-            .filter(track -> !playedTracks.contains(track)) 
-            .collect(Collectors.toList());
-
-        if (availableTracks.isEmpty()) {
-            if (allTracks.size() < rounds.size()) {
-                this.playedTracks.clear(); 
-                availableTracks = allTracks;
-            } else {
-                return null; 
-            }
-        }
-        return availableTracks.get(random.nextInt(availableTracks.size()));
+        return trackBag.next();
+    }
+
+    /**
+     * Prépare le tirage des morceaux de la partie : chaque morceau distinct sort une fois,
+     * ceux des parties précédentes en dernier. Si la playlist compte moins de morceaux que
+     * de manches, le tirage recommence une fois tous les morceaux joués.
+     * @return Le sac de tirage
+     */
+    private ShuffleBag<Track> createTrackBag() {
+        List<Track> distinctTracks = new ArrayList<>(new LinkedHashSet<>(activePlaylist.getTracks()));
+        boolean reshuffle = distinctTracks.size() < rounds.size();
+        return new ShuffleBag<>(distinctTracks, RecentTracks::contains, reshuffle, random);
     }
 
 
@@ -304,12 +365,14 @@ public class GameController {
      */
     private void endGame() {
         audioService.stop();
+        audioService.clearPrefetch();
         
         // Sauvegarde avec statistiques enrichies
         String mode = isDuelMode ? "Duel" : "Solo";
         String genre = settings.getDefaultGenre();
         int totalTracksPlayed = isDuelMode ? (rounds.size() / 2) : rounds.size();
         
+        List<Score> scores = new ArrayList<>();
         for (Player player : players) {
             Score score = new Score(
                 player.getName(),
@@ -321,8 +384,10 @@ public class GameController {
                 totalCorrectArtists,
                 totalHintsUsed
             );
-            ScoreService.saveScore(score);
+            scores.add(score);
         }
+        // Une seule écriture pour toute la partie, hors du thread JavaFX
+        ScoreService.saveScores(scores);
         
         this.started = false; 
     }
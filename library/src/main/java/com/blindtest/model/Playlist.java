@@ -43,6 +43,9 @@ public class Playlist {
      * @param track Le morceau à ajouter
      */
     public void addTrack(Track track) {
+        if (track != null) {
+            track.prepareAnswerKeys();
+        }
         tracks.add(track);
     }
     
@@ -1,15 +1,25 @@
 package com.blindtest.model;
 
+import java.util.Objects;
+
 /**
  * Représente les paramètres de configuration du jeu.
+ *
+ * <p>Une copie figée ({@link #frozenCopy()}) refuse toute modification : c'est la forme
+ * partagée entre les services, une copie modifiable s'obtient avec {@link #Settings(Settings)}.</p>
  */
 public class Settings {
     private int numberOfRounds;
     private int extractDuration; // en secondes
     private boolean hintsEnabled;
     private boolean speedBonusEnabled;
+    private boolean fuzzyMatchingEnabled; // fautes de frappe et alias tolérés
     private double defaultVolume; // 0.0 à 1.0
     private String defaultGenre;
+    private int audioCacheCapacity; // nombre d'extraits en cache
+    private int audioCacheTtlHours; // durée de vie d'une entrée
+    private int previewCacheSizeMb; // extraits téléchargés gardés sur disque
+    private transient boolean frozen; // non sérialisé
 
     /**
      * Constructeur par défaut avec valeurs par défaut.
@@ -19,8 +29,47 @@ public class Settings {
         this.extractDuration = 20;
         this.hintsEnabled = true;
         this.speedBonusEnabled = true;
+        this.fuzzyMatchingEnabled = false;
         this.defaultVolume = 0.5;
         this.defaultGenre = "pop";
+        this.audioCacheCapacity = 500;
+        this.audioCacheTtlHours = 24;
+        this.previewCacheSizeMb = 100;
+    }
+
+    /**
+     * Constructeur de copie : la copie est toujours modifiable.
+     * @param other Les paramètres à copier
+     */
+    public Settings(Settings other) {
+        this.numberOfRounds = other.numberOfRounds;
+        this.extractDuration = other.extractDuration;
+        this.hintsEnabled = other.hintsEnabled;
+        this.speedBonusEnabled = other.speedBonusEnabled;
+        this.fuzzyMatchingEnabled = other.fuzzyMatchingEnabled;
+        this.defaultVolume = other.defaultVolume;
+        this.defaultGenre = other.defaultGenre;
+        this.audioCacheCapacity = other.audioCacheCapacity;
+        this.audioCacheTtlHours = other.audioCacheTtlHours;
+        this.previewCacheSizeMb = other.previewCacheSizeMb;
+    }
+
+    /**
+     * Retourne une copie figée de ces paramètres : ses setters lèvent une exception.
+     * @return La copie figée
+     */
+    public Settings frozenCopy() {
+        Settings copy = new Settings(this);
+        copy.frozen = true;
+        return copy;
+    }
+
+    /**
+     * Vérifie si ces paramètres sont figés.
+     * @return true si les setters sont refusés, false sinon
+     */
+    public boolean isFrozen() {
+        return frozen;
     }
 
     /**
@@ -36,6 +85,7 @@ public class Settings {
      * @param numberOfRounds Le nombre de manches
      */
     public void setNumberOfRounds(int numberOfRounds) {
+        checkMutable();
         this.numberOfRounds = numberOfRounds;
     }
 
@@ -52,6 +102,7 @@ public class Settings {
      * @param extractDuration La durée des extraits
      */
     public void setExtractDuration(int extractDuration) {
+        checkMutable();
         this.extractDuration = extractDuration;
     }
 
@@ -68,6 +119,7 @@ public class Settings {
      * @param hintsEnabled true pour activer, false pour désactiver
      */
     public void setHintsEnabled(boolean hintsEnabled) {
+        checkMutable();
         this.hintsEnabled = hintsEnabled;
     }
 
@@ -84,9 +136,27 @@ public class Settings {
      * @param speedBonusEnabled true pour activer, false pour désactiver
      */
     public void setSpeedBonusEnabled(boolean speedBonusEnabled) {
+        checkMutable();
         this.speedBonusEnabled = speedBonusEnabled;
     }
 
+    /**
+     * Vérifie si la vérification des réponses tolère les fautes de frappe et les alias.
+     * @return true si activée, false pour une correspondance exacte
+     */
+    public boolean isFuzzyMatchingEnabled() {
+        return fuzzyMatchingEnabled;
+    }
+
+    /**
+     * Active ou désactive la tolérance aux fautes de frappe et aux alias.
+     * @param fuzzyMatchingEnabled true pour activer, false pour désactiver
+     */
+    public void setFuzzyMatchingEnabled(boolean fuzzyMatchingEnabled) {
+        checkMutable();
+        this.fuzzyMatchingEnabled = fuzzyMatchingEnabled;
+    }
+
     /**
      * Retourne le volume par défaut (0.0 à 1.0).
      * @return Le volume par défaut
@@ -100,6 +170,7 @@ public class Settings {
      * @param defaultVolume Le volume par défaut
      */
     public void setDefaultVolume(double defaultVolume) {
+        checkMutable();
         this.defaultVolume = defaultVolume;
     }
 
@@ -116,6 +187,87 @@ public class Settings {
      * @param defaultGenre Le genre par défaut
      */
     public void setDefaultGenre(String defaultGenre) {
+        checkMutable();
         this.defaultGenre = defaultGenre;
     }
+
+    /**
+     * Retourne le nombre maximal d'extraits gardés dans le cache audio.
+     * @return La capacité du cache
+     */
+    public int getAudioCacheCapacity() {
+        return audioCacheCapacity;
+    }
+
+    /**
+     * Définit le nombre maximal d'extraits gardés dans le cache audio.
+     * @param audioCacheCapacity La capacité du cache
+     */
+    public void setAudioCacheCapacity(int audioCacheCapacity) {
+        checkMutable();
+        this.audioCacheCapacity = audioCacheCapacity;
+    }
+
+    /**
+     * Retourne la durée de vie d'une entrée du cache audio, en heures.
+     * @return La durée de vie en heures
+     */
+    public int getAudioCacheTtlHours() {
+        return audioCacheTtlHours;
+    }
+
+    /**
+     * Définit la durée de vie d'une entrée du cache audio, en heures.
+     * @param audioCacheTtlHours La durée de vie en heures
+     */
+    public void setAudioCacheTtlHours(int audioCacheTtlHours) {
+        checkMutable();
+        this.audioCacheTtlHours = audioCacheTtlHours;
+    }
+
+    /**
+     * Retourne la taille maximale du cache disque des extraits, en Mo.
+     * @return La taille maximale en Mo
+     */
+    public int getPreviewCacheSizeMb() {
+        return previewCacheSizeMb;
+    }
+
+    /**
+     * Définit la taille maximale du cache disque des extraits, en Mo.
+     * @param previewCacheSizeMb La taille maximale en Mo
+     */
+    public void setPreviewCacheSizeMb(int previewCacheSizeMb) {
+        checkMutable();
+        this.previewCacheSizeMb = previewCacheSizeMb;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Paramètres figés : modifier une copie (new Settings(settings))");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Settings)) return false;
+        Settings other = (Settings) o;
+        return numberOfRounds == other.numberOfRounds
+                && extractDuration == other.extractDuration
+                && hintsEnabled == other.hintsEnabled
+                && speedBonusEnabled == other.speedBonusEnabled
+                && fuzzyMatchingEnabled == other.fuzzyMatchingEnabled
+                && Double.compare(defaultVolume, other.defaultVolume) == 0
+                && Objects.equals(defaultGenre, other.defaultGenre)
+                && audioCacheCapacity == other.audioCacheCapacity
+                && audioCacheTtlHours == other.audioCacheTtlHours
+                && previewCacheSizeMb == other.previewCacheSizeMb;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(numberOfRounds, extractDuration, hintsEnabled, speedBonusEnabled, fuzzyMatchingEnabled, defaultVolume,
+                defaultGenre, audioCacheCapacity, audioCacheTtlHours, previewCacheSizeMb);
+    }
 }
@@ -1,5 +1,14 @@
 package com.blindtest.model;
 
+import com.blindtest.util.AnswerMatcher;
+import com.blindtest.util.InputValidator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
 /**
  * Représente un morceau de musique avec son titre, artiste et durée.
  */
@@ -8,6 +17,15 @@ public class Track {
     private String artist;
     private int duration;
 
+    // Réponses attendues normalisées ({@link InputValidator#normalize}), calculées une fois :
+    // un morceau ne change plus une fois dans un catalogue ou une playlist
+    private transient volatile String normalizedTitle;
+    private transient volatile String normalizedArtist;
+    private transient volatile Set<String> titleTokens;
+    private transient volatile Set<String> artistTokens;
+    private transient volatile AnswerMatcher titleMatcher;
+    private transient volatile AnswerMatcher artistMatcher;
+
     /**
      * Crée un nouveau morceau.
      * @param title Le titre du morceau
@@ -31,4 +49,126 @@ public class Track {
     public int getDuration() {
         return duration;
     }
+
+    /**
+     * Construit la requête de recherche d'extrait pour ce morceau.
+     * @return La requête "artiste titre"
+     */
+    public String getSearchQuery() {
+        return artist + " " + title;
+    }
+
+    /**
+     * Retourne le titre normalisé, tel que comparé aux réponses des joueurs.
+     * @return Le titre normalisé
+     */
+    public String getNormalizedTitle() {
+        String normalized = normalizedTitle;
+        if (normalized == null) {
+            normalized = InputValidator.normalize(title);
+            normalizedTitle = normalized;
+        }
+        return normalized;
+    }
+
+    /**
+     * Retourne l'artiste normalisé, tel que comparé aux réponses des joueurs.
+     * @return L'artiste normalisé
+     */
+    public String getNormalizedArtist() {
+        String normalized = normalizedArtist;
+        if (normalized == null) {
+            normalized = InputValidator.normalize(artist);
+            normalizedArtist = normalized;
+        }
+        return normalized;
+    }
+
+    /**
+     * Retourne les mots du titre normalisé (sans les mots-outils).
+     * @return Les mots, dans l'ordre, sans doublon (non modifiable)
+     */
+    public Set<String> getTitleTokens() {
+        Set<String> tokens = titleTokens;
+        if (tokens == null) {
+            tokens = tokens(getNormalizedTitle());
+            titleTokens = tokens;
+        }
+        return tokens;
+    }
+
+    /**
+     * Retourne les mots de l'artiste normalisé (sans les mots-outils).
+     * @return Les mots, dans l'ordre, sans doublon (non modifiable)
+     */
+    public Set<String> getArtistTokens() {
+        Set<String> tokens = artistTokens;
+        if (tokens == null) {
+            tokens = tokens(getNormalizedArtist());
+            artistTokens = tokens;
+        }
+        return tokens;
+    }
+
+    /**
+     * Retourne le comparateur tolérant du titre (fautes de frappe, featuring, alias).
+     * @return Le comparateur
+     */
+    public AnswerMatcher getTitleMatcher() {
+        AnswerMatcher matcher = titleMatcher;
+        if (matcher == null) {
+            matcher = AnswerMatcher.of(getNormalizedTitle());
+            titleMatcher = matcher;
+        }
+        return matcher;
+    }
+
+    /**
+     * Retourne le comparateur tolérant de l'artiste (fautes de frappe, featuring, alias).
+     * @return Le comparateur
+     */
+    public AnswerMatcher getArtistMatcher() {
+        AnswerMatcher matcher = artistMatcher;
+        if (matcher == null) {
+            matcher = AnswerMatcher.ofArtist(getNormalizedArtist());
+            artistMatcher = matcher;
+        }
+        return matcher;
+    }
+
+    /**
+     * Calcule d'avance les réponses normalisées (chargement d'un catalogue ou d'une playlist),
+     * pour que la vérification d'une réponse ne normalise plus que la saisie du joueur.
+     */
+    public void prepareAnswerKeys() {
+        getTitleTokens();
+        getArtistTokens();
+        getTitleMatcher();
+        getArtistMatcher();
+    }
+
+    /**
+     * Deux morceaux sont égaux s'ils ont le même titre, le même artiste et la même durée.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Track)) return false;
+        Track other = (Track) o;
+        return duration == other.duration
+                && Objects.equals(title, other.title)
+                && Objects.equals(artist, other.artist);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(title, artist, duration);
+    }
+
+    private static Set<String> tokens(String normalized) {
+        if (normalized.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(normalized.split(" "))));
+    }
 }
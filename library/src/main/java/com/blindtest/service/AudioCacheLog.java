@@ -0,0 +1,316 @@
+package com.blindtest.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Journal persistant du cache d'URLs d'extraits, en ajout seul.
+ *
+ * <p>Chaque insertion ou suppression ajoute un enregistrement en fin de fichier
+ * (coût constant, quelle que soit la taille du cache). Chaque enregistrement est
+ * protégé par un CRC32 : au chargement, une fin de fichier tronquée par un arrêt brutal
+ * est détectée et coupée au dernier enregistrement valide. Quand le journal contient
+ * trop d'enregistrements obsolètes, il est compacté dans un fichier temporaire
+ * puis remplacé par renommage atomique.</p>
+ *
+ * <p>Format : en-tête {@code MAGIC}, puis pour chaque enregistrement
+ * {@code [int longueur][int crc][byte op][long timestamp][UTF clé][UTF url si PUT]}.</p>
+ */
+public class AudioCacheLog {
+    private static final Logger LOGGER = Logger.getLogger(AudioCacheLog.class.getName());
+
+    private static final int MAGIC = 0x424C4331; // "BLC1"
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final int RECORD_HEADER_BYTES = 8;
+
+    // Compaction dès que le journal contient plus du double d'enregistrements utiles
+    private static final int COMPACTION_MIN_RECORDS = 1000;
+
+    private final Path path;
+    private FileChannel appendChannel;
+    private int recordCount = 0;
+
+    /**
+     * Entrée vivante du cache telle que relue depuis le journal.
+     */
+    public static class Record {
+        public final String key;
+        public final String url;
+        public final long timestamp;
+
+        public Record(String key, String url, long timestamp) {
+            this.key = key;
+            this.url = url;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * Crée un journal adossé au fichier donné (créé au premier ajout).
+     * @param path Le chemin du fichier journal
+     */
+    public AudioCacheLog(String path) {
+        this.path = Paths.get(path);
+    }
+
+    /**
+     * Rejoue le journal et retourne les entrées vivantes, dans l'ordre d'insertion.
+     * Un enregistrement corrompu ou incomplet termine la lecture et le fichier est tronqué à cet endroit.
+     * @return Les entrées vivantes indexées par clé
+     */
+    public synchronized Map<String, Record> load() {
+        Map<String, Record> live = new LinkedHashMap<>();
+        recordCount = 0;
+        if (!Files.exists(path)) {
+            return live;
+        }
+
+        boolean unreadable = false;
+        long size = 0;
+        long validEnd = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+            ByteBuffer buffer = readAll(channel, size);
+
+            if (size < 4 || buffer.getInt() != MAGIC) {
+                unreadable = true;
+                return live;
+            }
+
+            validEnd = buffer.position();
+            CRC32 crc = new CRC32();
+            while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break;
+                }
+
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                applyRecord(payload, live);
+                recordCount++;
+                validEnd = buffer.position();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Erreur lecture journal de cache : " + e.getMessage(), e);
+            return live;
+        } finally {
+            if (unreadable) {
+                LOGGER.warning("Journal de cache illisible, il sera recréé : " + path);
+                clear();
+            }
+        }
+
+        // Coupure une fois le fichier refermé : les ajouts suivants ne doivent pas
+        // atterrir derrière une fin incomplète qui arrêterait chaque rejeu
+        if (validEnd < size) {
+            LOGGER.warning("Journal de cache tronqué à " + validEnd + " octets (fin incomplète ignorée)");
+            try (FileChannel writer = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                writer.truncate(validEnd);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Coupure du journal de cache impossible : " + e.getMessage(), e);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Lit l'intégralité du journal en bloc sur le tas. La compaction le garde petit
+     * (quelques centaines de Ko) : une projection mémoire n'apporterait rien et
+     * empêcherait, sous Windows, de couper une fin incomplète tant qu'elle est vivante.
+     */
+    private ByteBuffer readAll(FileChannel channel, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Journal de cache trop volumineux : " + size + " octets");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // lecture jusqu'à la fin du fichier
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Applique un enregistrement décodé à l'état vivant.
+     */
+    private void applyRecord(byte[] payload, Map<String, Record> live) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte op = in.readByte();
+            long timestamp = in.readLong();
+            String key = in.readUTF();
+            if (op == OP_PUT) {
+                live.remove(key); // conserve l'ordre de la dernière insertion
+                live.put(key, new Record(key, in.readUTF(), timestamp));
+            } else if (op == OP_REMOVE) {
+                live.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Ajoute une insertion au journal.
+     * @param key La clé (requête)
+     * @param url L'URL de l'extrait
+     * @param timestamp L'horodatage de l'entrée
+     */
+    public synchronized void appendPut(String key, String url, long timestamp) {
+        append(encode(OP_PUT, key, url, timestamp));
+    }
+
+    /**
+     * Ajoute une suppression au journal.
+     * @param key La clé supprimée
+     */
+    public synchronized void appendRemove(String key) {
+        append(encode(OP_REMOVE, key, null, System.currentTimeMillis()));
+    }
+
+    /**
+     * Compacte le journal si les enregistrements obsolètes y sont majoritaires.
+     * Les entrées vivantes ne sont matérialisées que si la compaction a effectivement lieu.
+     * @param liveCount Le nombre d'entrées vivantes
+     * @param live Fournisseur des entrées vivantes à conserver
+     */
+    public synchronized void compactIfNeeded(int liveCount, Supplier<Collection<Record>> live) {
+        if (recordCount >= COMPACTION_MIN_RECORDS && recordCount > 2 * liveCount) {
+            compact(live.get());
+        }
+    }
+
+    /**
+     * Réécrit le journal avec les seules entrées vivantes, via un fichier temporaire
+     * synchronisé sur disque puis renommé atomiquement.
+     * @param live Les entrées vivantes à conserver
+     */
+    public synchronized void compact(Collection<Record> live) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            PersistenceService.ensureDirectoryExists(path.toString());
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(out, header());
+                for (Record record : live) {
+                    writeFully(out, encode(OP_PUT, record.key, record.url, record.timestamp));
+                }
+                out.force(true);
+            }
+
+            closeAppendChannel();
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.fine("Journal de cache compacté : " + recordCount + " -> " + live.size() + " enregistrements");
+            recordCount = live.size();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Compaction du journal de cache impossible : " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Supprime le journal du disque.
+     */
+    public synchronized void clear() {
+        closeAppendChannel();
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Suppression du journal de cache impossible : " + e.getMessage(), e);
+        }
+        recordCount = 0;
+    }
+
+    /**
+     * Écrit un enregistrement encodé en fin de journal (ouverture paresseuse du canal).
+     */
+    private void append(ByteBuffer record) {
+        try {
+            if (appendChannel == null || !appendChannel.isOpen()) {
+                PersistenceService.ensureDirectoryExists(path.toString());
+                appendChannel = FileChannel.open(path, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                if (appendChannel.size() == 0) {
+                    writeFully(appendChannel, header());
+                }
+            }
+            writeFully(appendChannel, record);
+            recordCount++;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Écriture journal de cache impossible : " + e.getMessage(), e);
+            closeAppendChannel();
+        }
+    }
+
+    /**
+     * Encode un enregistrement complet (en-tête longueur + CRC, puis charge utile).
+     */
+    private static ByteBuffer encode(byte op, String key, String url, long timestamp) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeByte(op);
+                out.writeLong(timestamp);
+                out.writeUTF(key);
+                if (op == OP_PUT) {
+                    out.writeUTF(url);
+                }
+            }
+            byte[] payload = bytes.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+
+            ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length);
+            record.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+            record.flip();
+            return record;
+        } catch (IOException e) {
+            throw new IllegalStateException("Encodage d'enregistrement impossible", e);
+        }
+    }
+
+    private static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(4).putInt(MAGIC);
+        header.flip();
+        return header;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void closeAppendChannel() {
+        if (appendChannel != null) {
+            try {
+                appendChannel.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Fermeture du journal de cache : " + e.getMessage(), e);
+            }
+            appendChannel = null;
+        }
+    }
+}
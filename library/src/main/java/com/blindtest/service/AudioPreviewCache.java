@@ -0,0 +1,299 @@
+package com.blindtest.service;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Cache borné des URLs d'extraits, en mémoire.
+ *
+ * <p>Éviction LRU en O(1) (LinkedHashMap en ordre d'accès) et durée de vie par entrée.
+ * Les entrées expirées sont retirées à la lecture, et par un balayage périodique en tâche de fond.
+ * Chaque retrait (éviction, expiration, invalidation) est signalé à l'écouteur fourni,
+ * ce qui permet de tenir à jour le journal persistant.</p>
+ */
+public class AudioPreviewCache {
+    // Balayage de fond : au plus toutes les 15 minutes, plus souvent si le TTL est court
+    private static final long MAX_SWEEP_PERIOD_MS = 15 * 60 * 1000;
+    private static final ScheduledExecutorService SWEEPER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "audio-cache-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final int capacity;
+    private final long ttlMs;
+    private final Consumer<String> onRemoval;
+    private final LinkedHashMap<String, Entry> entries;
+
+    // Statistiques (sûres entre threads)
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+
+    /**
+     * Entrée du cache : URL et horodatage d'insertion.
+     */
+    public static class Entry {
+        public final String url;
+        public final long timestamp;
+
+        Entry(String url, long timestamp) {
+            this.url = url;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * Instantané des statistiques du cache.
+     */
+    public static class Stats {
+        public final long hits;
+        public final long misses;
+        public final long evictions;
+        public final long expirations;
+        public final long loads;
+        public final long loadFailures;
+        public final long totalLoadNanos;
+        public final int size;
+
+        Stats(long hits, long misses, long evictions, long expirations,
+              long loads, long loadFailures, long totalLoadNanos, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.loads = loads;
+            this.loadFailures = loadFailures;
+            this.totalLoadNanos = totalLoadNanos;
+            this.size = size;
+        }
+
+        /**
+         * Retourne le taux de succès du cache en pourcentage.
+         * @return Le taux de succès (0 si aucune requête)
+         */
+        public double getHitRate() {
+            long requests = hits + misses;
+            return requests > 0 ? hits * 100.0 / requests : 0;
+        }
+
+        /**
+         * Retourne la durée moyenne d'une résolution (succès ou échec) en millisecondes.
+         * @return La durée moyenne de chargement
+         */
+        public double getAverageLoadMs() {
+            long total = loads + loadFailures;
+            return total > 0 ? totalLoadNanos / 1_000_000.0 / total : 0;
+        }
+    }
+
+    /**
+     * Crée un cache borné.
+     * @param capacity Le nombre maximal d'entrées (au moins 1)
+     * @param ttlMs La durée de vie d'une entrée en millisecondes
+     * @param onRemoval Appelé avec la clé de chaque entrée retirée du cache
+     */
+    public AudioPreviewCache(int capacity, long ttlMs, Consumer<String> onRemoval) {
+        if (capacity < 1 || ttlMs <= 0) {
+            throw new IllegalArgumentException("Capacité et TTL doivent être strictement positifs");
+        }
+        this.capacity = capacity;
+        this.ttlMs = ttlMs;
+        this.onRemoval = onRemoval;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        scheduleSweep(this, Math.min(ttlMs, MAX_SWEEP_PERIOD_MS));
+    }
+
+    /**
+     * Planifie le balayage périodique sans retenir le cache : la tâche s'annule
+     * d'elle-même une fois le cache collecté.
+     */
+    private static void scheduleSweep(AudioPreviewCache cache, long periodMs) {
+        WeakReference<AudioPreviewCache> ref = new WeakReference<>(cache);
+        AtomicReference<ScheduledFuture<?>> handle = new AtomicReference<>();
+        handle.set(SWEEPER.scheduleWithFixedDelay(() -> {
+            AudioPreviewCache target = ref.get();
+            if (target == null) {
+                handle.get().cancel(false);
+                return;
+            }
+            target.removeExpired();
+        }, periodMs, periodMs, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Retourne l'URL associée à la clé si elle est présente et non expirée.
+     * Compte un succès ou un échec dans les statistiques.
+     * @param key La clé (requête)
+     * @return L'URL en cache, ou null
+     */
+    public String get(String key) {
+        String expiredKey = null;
+        String url = null;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && isExpired(entry, System.currentTimeMillis())) {
+                entries.remove(key);
+                expiredKey = key;
+            } else if (entry != null) {
+                url = entry.url;
+            }
+        }
+
+        if (expiredKey != null) {
+            expirations.increment();
+            onRemoval.accept(expiredKey);
+        }
+        if (url != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return url;
+    }
+
+    /**
+     * Vérifie si la clé est présente et non expirée, sans compter de succès ni d'échec.
+     * @param key La clé (requête)
+     * @return true si l'entrée est utilisable
+     */
+    public synchronized boolean contains(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && !isExpired(entry, System.currentTimeMillis());
+    }
+
+    /**
+     * Insère ou remplace une entrée, en évinçant la moins récemment utilisée si le cache est plein.
+     * @param key La clé (requête)
+     * @param url L'URL de l'extrait
+     * @param timestamp L'horodatage d'insertion (détermine l'expiration)
+     */
+    public void put(String key, String url, long timestamp) {
+        String evictedKey = null;
+        synchronized (this) {
+            entries.put(key, new Entry(url, timestamp));
+            if (entries.size() > capacity) {
+                Iterator<String> eldest = entries.keySet().iterator();
+                evictedKey = eldest.next();
+                eldest.remove();
+            }
+        }
+
+        // Notification hors verrou : l'écouteur peut lui-même prendre d'autres verrous
+        if (evictedKey != null) {
+            evictions.increment();
+            onRemoval.accept(evictedKey);
+        }
+    }
+
+    /**
+     * Retire une entrée sans compter d'éviction (ex. URL invalide).
+     * @param key La clé à retirer
+     */
+    public void invalidate(String key) {
+        boolean removed;
+        synchronized (this) {
+            removed = entries.remove(key) != null;
+        }
+        if (removed) {
+            onRemoval.accept(key);
+        }
+    }
+
+    /**
+     * Retire toutes les entrées expirées.
+     * @return Le nombre d'entrées retirées
+     */
+    public int removeExpired() {
+        List<String> removed = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Entry> entry = it.next();
+                if (isExpired(entry.getValue(), now)) {
+                    it.remove();
+                    removed.add(entry.getKey());
+                }
+            }
+        }
+
+        expirations.add(removed.size());
+        removed.forEach(onRemoval);
+        return removed.size();
+    }
+
+    /**
+     * Vide le cache sans notifier l'écouteur.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Retourne une copie des entrées vivantes, de la moins à la plus récemment utilisée.
+     * @return Les entrées indexées par clé
+     */
+    public synchronized Map<String, Entry> snapshot() {
+        return new LinkedHashMap<>(entries);
+    }
+
+    /**
+     * Vérifie si une entrée vient d'un horodatage déjà expiré.
+     * @param timestamp L'horodatage d'insertion
+     * @return true si une entrée de cet âge serait expirée
+     */
+    public boolean isExpired(long timestamp) {
+        return System.currentTimeMillis() - timestamp > ttlMs;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.timestamp > ttlMs;
+    }
+
+    /**
+     * Enregistre la durée d'une résolution externe (appel API) déclenchée par un échec de cache.
+     * @param nanos La durée en nanosecondes
+     * @param success true si une URL a été obtenue
+     */
+    public void recordLoad(long nanos, boolean success) {
+        if (success) {
+            loads.increment();
+        } else {
+            loadFailures.increment();
+        }
+        totalLoadNanos.add(nanos);
+    }
+
+    /**
+     * Retourne le nombre d'entrées vivantes.
+     * @return La taille du cache
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retourne un instantané des statistiques.
+     * @return Les statistiques courantes
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(),
+            loads.sum(), loadFailures.sum(), totalLoadNanos.sum(), size());
+    }
+}
@@ -1,49 +1,131 @@
 package com.blindtest.service;
 
 import com.blindtest.model.Settings;
-import com.google.gson.Gson;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.value.ChangeListener;
 import javafx.scene.media.AudioClip;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
+import javafx.util.Duration;
 
 import java.io.*;
-import java.net.HttpURLConnection;
 import java.net.URL;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 /**
  * Service optimisé pour la gestion audio avec cache persistant,
  * gestion d'erreurs améliorée et fallback intelligent.
+ *
+ * <p>L'application utilise une instance unique ({@link #getInstance()}) : effets sonores décodés,
+ * cache d'URLs et lecteurs réutilisables sont ainsi chargés une seule fois par processus.</p>
  */
 public class AudioService {
     private static final Logger LOGGER = Logger.getLogger(AudioService.class.getName());
     
-    private static final String DEEZER_API = "https://api.deezer.com/search/track?q=";
-    private static final int MAX_RETRIES = 3;
-    private static final int RETRY_DELAY_MS = 1000;
-    private static final int CONNECTION_TIMEOUT_MS = 5000;
-    private static final int READ_TIMEOUT_MS = 5000;
+    // Sources d'extraits : bibliothèque locale (instantanée, partagée) puis Deezer.
+    // La bibliothèque est le dossier des extraits livrés avec le jeu ("Artiste - Titre.mp3")
+    private static final String LOCAL_LIBRARY_DIR = "data/local_playlist";
+    private static final long DEEZER_TIMEOUT_MS = 20000;
+    private static final LocalLibraryPreviewProvider LOCAL_LIBRARY = new LocalLibraryPreviewProvider(LOCAL_LIBRARY_DIR);
+    // Partagé pour que le débit et le disjoncteur valent pour toutes les instances
+    private static final DeezerPreviewProvider DEEZER = new DeezerPreviewProvider();
     
-    // Cache avec TTL (Time To Live)
-    private static final long CACHE_TTL_MS = 24 * 60 * 60 * 1000; // 24 heures
-    private static final int MAX_CACHE_SIZE = 500;
-    private static final String CACHE_FILE = "data/audio_cache.dat";
+    // Cache avec TTL (Time To Live) : valeurs par défaut si les paramètres sont invalides
+    private static final int DEFAULT_CACHE_CAPACITY = 500;
+    private static final int DEFAULT_CACHE_TTL_HOURS = 24;
+    private static final String CACHE_FILE = "data/audio_cache.log";
+    private static final String LEGACY_CACHE_FILE = "data/audio_cache.dat";
+
+    // Cache négatif : requêtes sans résultat ou en échec, non rejouées pendant une courte durée
+    private static final long NO_RESULT_TTL_MS = 30 * 60 * 1000; // 30 minutes
+    private static final long FAILURE_TTL_MS = 2 * 60 * 1000;    // 2 minutes (panne réseau passagère)
+    private static final int MAX_NEGATIVE_ENTRIES = 1000;
+
+    // Extraits téléchargés, partagés par toutes les instances
+    private static final String PREVIEW_DIR = "data/previews";
+    private static final int DEFAULT_PREVIEW_CACHE_MB = 100;
+    private static final PreviewFileCache PREVIEW_FILES = new PreviewFileCache(PREVIEW_DIR,
+        previewCacheBytes(SettingsService.getSettings()));
+
+    // Journal partagé par toutes les instances (un seul écrivain par fichier)
+    private static final AudioCacheLog CACHE_LOG = new AudioCacheLog(CACHE_FILE);
+
+    // Résolution asynchrone : pool borné de threads démons
+    private static final int RESOLVER_THREADS = 4;
+    private static final AtomicInteger RESOLVER_THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService RESOLVER_EXECUTOR = Executors.newFixedThreadPool(RESOLVER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "audio-resolver-" + RESOLVER_THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Préchargement de la partie : pool séparé pour ne pas retarder la manche en cours
+    private static final int PREFETCH_THREADS = 4;
+    private static final int MAX_PRELOADED_PLAYERS = 3;
+    private static final int MAX_IDLE_PLAYERS = 3;
+    private static final AtomicInteger PREFETCH_THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newFixedThreadPool(PREFETCH_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "audio-prefetch-" + PREFETCH_THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Enchaînement des manches : fondu croisé entre le lecteur sortant et le suivant
+    static final Duration CROSSFADE = Duration.millis(400);
     
     private MediaPlayer mediaPlayer;
-    private final Gson gson = new Gson();
-    private final Settings settings = SettingsService.loadSettings();
+    private ChangeListener<MediaPlayer.Status> statusListener;
+    private final MediaPlayerPool playerPool = new MediaPlayerPool(MAX_IDLE_PLAYERS);
+    private final PreviewProvider previewProvider;
+    private final Settings settings = SettingsService.getSettings();
+    private volatile double volume = settings.getDefaultVolume();
     private boolean shouldPlayWhenReady = false;
+    private Timeline fadeIn;
+    private final RoundSwitchTimer roundSwitch = new RoundSwitchTimer();
+    private volatile CompletableFuture<URL> pendingResolution;
+
+    // Extraits résolus à l'avance et lecteurs déjà en mémoire tampon, indexés par requête
+    private final Map<String, CompletableFuture<URL>> prefetchedPreviews = new ConcurrentHashMap<>();
+    private final Set<String> preloadRequests = ConcurrentHashMap.newKeySet();
+    private final Map<String, MediaPlayer> preloadedPlayers = Collections.synchronizedMap(
+        new LinkedHashMap<String, MediaPlayer>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MediaPlayer> eldest) {
+                if (size() > MAX_PRELOADED_PLAYERS) {
+                    playerPool.release(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        });
     
-    // Cache avec timestamp pour gérer le TTL
-    private final Map<String, CacheEntry> apiCache = new ConcurrentHashMap<>();
+    // Cache borné (LRU + TTL), chaque retrait est reporté dans le journal
+    private final AudioPreviewCache apiCache = new AudioPreviewCache(
+        settings.getAudioCacheCapacity() > 0 ? settings.getAudioCacheCapacity() : DEFAULT_CACHE_CAPACITY,
+        TimeUnit.HOURS.toMillis(settings.getAudioCacheTtlHours() > 0 ? settings.getAudioCacheTtlHours() : DEFAULT_CACHE_TTL_HOURS),
+        CACHE_LOG::appendRemove);
     
     // Effets sonores
     private AudioClip sfxVictory;
@@ -51,127 +133,140 @@ public class AudioService {
     private AudioClip sfxBtnClick;
     private MediaPlayer menuMusicPlayer;
     
-    // Métriques
-    private int apiHits = 0;
-    private int cacheHits = 0;
-    private int fallbackHits = 0;
+    // Échecs récents (clé normalisée -> date d'expiration), bornés en LRU, et recherches en cours,
+    // partagées par les appelants
+    private final Map<String, Long> negativeCache = Collections.synchronizedMap(
+        new LinkedHashMap<String, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > MAX_NEGATIVE_ENTRIES;
+            }
+        });
+    private final Map<String, CompletableFuture<URL>> inFlightLookups = new ConcurrentHashMap<>();
+
+    // Métriques (succès, échecs, évictions et temps de chargement : voir apiCache.stats())
+    private final LongAdder fallbackHits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder coalescedLookups = new LongAdder();
 
     /**
-     * Entrée de cache avec timestamp pour TTL
+     * Instance partagée, créée au premier accès.
      */
-    private static class CacheEntry implements Serializable {
-        private static final long serialVersionUID = 1L;
-        final String url;
-        final long timestamp;
-        
-        CacheEntry(String url, long timestamp) {
-            this.url = url;
-            this.timestamp = timestamp;
-        }
-        
-        boolean isExpired() {
-            return (System.currentTimeMillis() - timestamp) > CACHE_TTL_MS;
+    private static final class Holder {
+        static final AudioService INSTANCE = new AudioService();
+
+        static {
+            SettingsService.addListener(INSTANCE::onSettingsChanged);
         }
     }
 
+    /**
+     * Retourne le service audio partagé par toute l'application.
+     * @return L'instance unique
+     */
+    public static AudioService getInstance() {
+        return Holder.INSTANCE;
+    }
+
     /**
      * Constructeur du service audio.
      * Charge les effets sonores et le cache persistant.
+     * Hors tests, préférer {@link #getInstance()} pour ne pas recharger ces ressources.
      */
     public AudioService() {
+        this(new PreviewProviderChain()
+            .add(LOCAL_LIBRARY, 0)
+            .add(DEEZER, DEEZER_TIMEOUT_MS));
+    }
+
+    /**
+     * Constructeur du service audio avec une source d'extraits donnée (tests, hors ligne).
+     * @param previewProvider La source utilisée pour résoudre les extraits
+     */
+    public AudioService(PreviewProvider previewProvider) {
+        this.previewProvider = previewProvider;
         loadSoundEffects();
         loadCacheFromDisk();
     }
 
+    /**
+     * Applique un nouveau volume par défaut aux lectures en cours. Les tailles de cache
+     * ne sont lues qu'au démarrage.
+     */
+    private void onSettingsChanged(Settings previous, Settings current) {
+        if (previous == null || Double.compare(previous.getDefaultVolume(), current.getDefaultVolume()) != 0) {
+            javafx.application.Platform.runLater(() -> setGlobalVolume(current.getDefaultVolume()));
+        }
+    }
+
+    /**
+     * Taille maximale du cache disque des extraits selon les paramètres.
+     */
+    private static long previewCacheBytes(Settings settings) {
+        int megabytes = settings.getPreviewCacheSizeMb() > 0 ? settings.getPreviewCacheSizeMb() : DEFAULT_PREVIEW_CACHE_MB;
+        return megabytes * 1024L * 1024L;
+    }
+
     // ===============================
     // GESTION DU CACHE PERSISTANT
     // ===============================
 
     /**
-     * Charge le cache depuis le disque au démarrage
+     * Charge le cache depuis le journal au démarrage
      */
-    @SuppressWarnings("unchecked")
     private void loadCacheFromDisk() {
-        File cacheFile = new File(CACHE_FILE);
-        if (!cacheFile.exists()) {
-            LOGGER.info("Aucun cache trouvé, démarrage à vide");
-            return;
+        // L'ancien format (Map sérialisée par ObjectOutputStream) n'est plus lu
+        File legacyFile = new File(LEGACY_CACHE_FILE);
+        if (legacyFile.exists() && legacyFile.delete()) {
+            LOGGER.info("Ancien cache sérialisé supprimé : " + LEGACY_CACHE_FILE);
         }
-        
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(cacheFile))) {
-            Map<String, CacheEntry> loadedCache = (Map<String, CacheEntry>) ois.readObject();
-            
-            // Filtrer les entrées expirées
-            loadedCache.entrySet().removeIf(entry -> entry.getValue().isExpired());
-            
-            apiCache.putAll(loadedCache);
+
+        for (AudioCacheLog.Record record : CACHE_LOG.load().values()) {
+            if (!apiCache.isExpired(record.timestamp)) {
+                apiCache.put(record.key, record.url, record.timestamp);
+            }
+        }
+
+        if (apiCache.size() == 0) {
+            LOGGER.info("Aucun cache trouvé, démarrage à vide");
+        } else {
             LOGGER.info("Cache chargé : " + apiCache.size() + " entrées valides");
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Erreur chargement cache : " + e.getMessage(), e);
         }
     }
 
     /**
-     * Sauvegarde le cache sur disque
+     * Compacte le journal si nécessaire à partir des entrées vivantes.
      */
-    private void saveCacheToDisk() {
-        try {
-            PersistenceService.ensureDirectoryExists(CACHE_FILE);
-            
-            try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(CACHE_FILE))) {
-                oos.writeObject(apiCache);
-                LOGGER.fine("Cache sauvegardé : " + apiCache.size() + " entrées");
-            }
-        } catch (Exception e) {
-            LOGGER.log(Level.WARNING, "Erreur sauvegarde cache : " + e.getMessage(), e);
-        }
+    private void compactCacheLog() {
+        CACHE_LOG.compactIfNeeded(apiCache.size(), () -> apiCache.snapshot().entrySet().stream()
+            .map(e -> new AudioCacheLog.Record(e.getKey(), e.getValue().url, e.getValue().timestamp))
+            .collect(Collectors.toList()));
     }
 
     /**
-     * Ajoute une entrée au cache avec gestion de taille maximale
+     * Ajoute une entrée au cache (l'entrée la moins récemment utilisée est évincée si le cache est plein)
      */
     private void addToCache(String query, String url) {
-        // Si cache plein, supprimer les entrées les plus anciennes
-        if (apiCache.size() >= MAX_CACHE_SIZE) {
-            String oldestKey = apiCache.entrySet().stream()
-                .min(Map.Entry.comparingByValue((a, b) -> 
-                    Long.compare(a.timestamp, b.timestamp)))
-                .map(Map.Entry::getKey)
-                .orElse(null);
-            
-            if (oldestKey != null) {
-                apiCache.remove(oldestKey);
-                LOGGER.fine("Cache plein : suppression de l'entrée la plus ancienne");
-            }
-        }
-        
-        apiCache.put(query, new CacheEntry(url, System.currentTimeMillis()));
-        saveCacheToDisk();
+        long now = System.currentTimeMillis();
+        CACHE_LOG.appendPut(query, url, now);
+        apiCache.put(query, url, now);
+        compactCacheLog();
     }
 
     /**
      * Récupère une entrée du cache si valide
      */
     private URL getCachedUrl(String query) {
-        CacheEntry entry = apiCache.get(query);
-        
-        if (entry == null) {
-            return null;
-        }
-        
-        if (entry.isExpired()) {
-            apiCache.remove(query);
-            saveCacheToDisk();
-            LOGGER.fine("Entrée cache expirée : " + query);
+        String url = apiCache.get(query);
+        if (url == null) {
             return null;
         }
         
         try {
-            cacheHits++;
-            return new URL(entry.url);
+            return new URL(url);
         } catch (Exception e) {
             LOGGER.log(Level.WARNING, "URL cache invalide : " + e.getMessage(), e);
-            apiCache.remove(query);
+            apiCache.invalidate(query);
             return null;
         }
     }
@@ -217,11 +312,12 @@ public class AudioService {
     }
 
     // ===============================
-    // RECHERCHE DEEZER AVEC RETRY
+    // RECHERCHE D'EXTRAITS AVEC RETRY
     // ===============================
 
     /**
-     * Recherche un extrait sur Deezer avec gestion cache et retry
+     * Recherche un extrait (bibliothèque locale puis Deezer) avec gestion cache et retry.
+     * Les appels simultanés pour une même requête partagent un seul appel réseau.
      */
     public URL fetchPreviewFromDeezer(String query) {
         if (query == null || query.trim().isEmpty()) {
@@ -229,116 +325,311 @@ public class AudioService {
             return null;
         }
 
+        String key = cacheKey(query);
+
         // Vérifier le cache
-        URL cachedUrl = getCachedUrl(query);
+        URL cachedUrl = getCachedUrl(key);
         if (cachedUrl != null) {
             LOGGER.fine("Cache hit : " + query);
             return cachedUrl;
         }
 
-        LOGGER.info("Recherche Deezer : " + query);
-        apiHits++;
+        if (isRecentMiss(key)) {
+            negativeHits.increment();
+            LOGGER.fine("Échec récent en cache : " + query);
+            return null;
+        }
+
+        while (true) {
+            CompletableFuture<URL> lookup = new CompletableFuture<>();
+            CompletableFuture<URL> leader = inFlightLookups.putIfAbsent(key, lookup);
+            if (leader == null) {
+                return lookupPreview(query, key, lookup);
+            }
 
-        for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
+            coalescedLookups.increment();
             try {
-                if (attempt > 1) {
-                    LOGGER.info("Tentative " + attempt + "/" + MAX_RETRIES);
-                    Thread.sleep(RETRY_DELAY_MS * attempt);
-                }
+                return leader.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (CancellationException | ExecutionException e) {
+                // La recherche partagée a été interrompue : on la relance pour notre compte
+                LOGGER.fine("Recherche partagée interrompue, nouvelle tentative : " + query);
+            }
+        }
+    }
 
-                String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
-                URL apiUrl = new URL(DEEZER_API + encodedQuery);
+    /**
+     * Effectue la recherche réseau pour le compte de tous les appelants de la même requête.
+     * @param query La requête d'origine
+     * @param key La clé normalisée
+     * @param lookup Le futur partagé avec les appelants en attente
+     * @return L'URL trouvée, ou null
+     */
+    private URL lookupPreview(String query, String key, CompletableFuture<URL> lookup) {
+        URL result = null;
+        try {
+            LOGGER.info("Recherche " + previewProvider.getName() + " : " + query);
+            long start = System.nanoTime();
+            result = searchPreview(query, key);
+            apiCache.recordLoad(System.nanoTime() - start, result != null);
+            return result;
+        } finally {
+            // Retirer avant de compléter : un appelant relancé ne doit pas retrouver ce futur
+            inFlightLookups.remove(key, lookup);
+            if (result == null && Thread.currentThread().isInterrupted()) {
+                lookup.cancel(false);
+            } else {
+                lookup.complete(result);
+            }
+        }
+    }
 
-                HttpURLConnection connection = (HttpURLConnection) apiUrl.openConnection();
-                connection.setRequestMethod("GET");
-                connection.setConnectTimeout(CONNECTION_TIMEOUT_MS);
-                connection.setReadTimeout(READ_TIMEOUT_MS);
-                connection.setRequestProperty("User-Agent", "BlindTest/1.0");
+    /**
+     * Vérifie si l'extrait d'une requête est déjà en cache (sans appel réseau).
+     * @param query La requête de recherche
+     * @return true si l'URL est en cache et valide
+     */
+    public boolean isPreviewCached(String query) {
+        return query != null && !query.trim().isEmpty() && apiCache.contains(cacheKey(query));
+    }
 
-                int responseCode = connection.getResponseCode();
-                if (responseCode != 200) {
-                    throw new IOException("HTTP error " + responseCode);
-                }
+    /**
+     * Vérifie si un lecteur est déjà prêt pour une requête (voir {@link #preloadPlayer(String)}).
+     * @param query La requête de recherche
+     * @return true si la manche de cette requête démarrera sur un lecteur préchargé
+     */
+    public boolean isPlayerPreloaded(String query) {
+        return query != null && preloadedPlayers.containsKey(query);
+    }
 
-                BufferedReader br = new BufferedReader(
-                    new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)
-                );
-                JsonObject json = gson.fromJson(br, JsonObject.class);
-                br.close();
+    /**
+     * Télécharge l'audio d'un extrait dans le cache disque, s'il n'y est pas déjà.
+     * @param preview L'URL de l'extrait
+     * @return La tâche de téléchargement, ou null si rien n'est à faire
+     */
+    public Future<?> cachePreviewAudio(URL preview) {
+        return PREVIEW_FILES.downloadAsync(preview);
+    }
 
-                JsonArray data = json.getAsJsonArray("data");
-                if (data == null || data.size() == 0) {
-                    LOGGER.warning("Aucun résultat Deezer pour : " + query);
-                    return null;
-                }
+    /**
+     * Normalise une requête pour en faire une clé de cache (casse et espaces ignorés).
+     */
+    private static String cacheKey(String query) {
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
 
-                String previewUrl = findBestMatch(data, query);
-                if (previewUrl != null) {
-                    URL resultUrl = new URL(previewUrl);
-                    addToCache(query, previewUrl);
-                    LOGGER.info("Résultat trouvé et mis en cache : " + query);
-                    return resultUrl;
-                }
+    /**
+     * Vérifie si la requête a échoué récemment (cache négatif).
+     */
+    private boolean isRecentMiss(String key) {
+        Long expiresAt = negativeCache.get(key);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis()) {
+            negativeCache.remove(key, expiresAt);
+            return false;
+        }
+        return true;
+    }
 
-                return null;
+    /**
+     * Mémorise un échec de recherche pour une courte durée.
+     */
+    private void rememberMiss(String key, long ttlMs) {
+        // Au-delà de MAX_NEGATIVE_ENTRIES, l'échec le moins récemment consulté est oublié
+        negativeCache.put(key, System.currentTimeMillis() + ttlMs);
+    }
 
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                LOGGER.log(Level.SEVERE, "Interruption lors de la recherche", e);
+    /**
+     * Interroge les sources d'extraits et met le résultat en cache (positif ou négatif)
+     */
+    private URL searchPreview(String query, String key) {
+        try {
+            URL preview = previewProvider.findPreview(query);
+            if (preview == null) {
+                rememberMiss(key, NO_RESULT_TTL_MS);
                 return null;
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING, 
-                    "Erreur tentative " + attempt + "/" + MAX_RETRIES + " : " + e.getMessage(), e);
-                
-                if (attempt == MAX_RETRIES) {
-                    LOGGER.severe("Échec définitif après " + MAX_RETRIES + " tentatives pour : " + query);
-                    return null;
-                }
             }
+
+            // Les fichiers locaux sont retrouvés instantanément : inutile de les journaliser
+            if (!"file".equals(preview.getProtocol())) {
+                addToCache(key, preview.toExternalForm());
+                LOGGER.info("Résultat trouvé et mis en cache : " + query);
+            }
+            return preview;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.log(Level.SEVERE, "Interruption lors de la recherche", e);
+            return null;
+        } catch (CircuitOpenException e) {
+            // Refus immédiat sans appel réseau : rien à mémoriser pour cette requête
+            LOGGER.fine("Recherche ignorée pour : " + query + " (" + e.getMessage() + ")");
+            return null;
+        } catch (IOException e) {
+            LOGGER.warning("Recherche impossible pour : " + query + " (" + e.getMessage() + ")");
+            rememberMiss(key, FAILURE_TTL_MS);
+            return null;
         }
+    }
 
-        return null;
+    // ===============================
+    // RÉSOLUTION ASYNCHRONE
+    // ===============================
+
+    /**
+     * Recherche un extrait de manière asynchrone sur l'exécuteur dédié.
+     * Annuler le futur interrompt la recherche en cours (y compris l'attente entre deux tentatives).
+     * @param query La requête de recherche
+     * @return Un futur complété avec l'URL trouvée, ou null si aucun résultat
+     */
+    public CompletableFuture<URL> fetchPreviewAsync(String query) {
+        return resolveAsync(query, RESOLVER_EXECUTOR);
     }
 
     /**
-     * Trouve le meilleur match dans les résultats Deezer
+     * Soumet une recherche d'extrait à un exécuteur donné.
+     * @param query La requête de recherche
+     * @param executor L'exécuteur sur lequel lancer la recherche
+     * @return Un futur complété avec l'URL trouvée, ou null si aucun résultat
      */
-    private String findBestMatch(JsonArray data, String query) {
-        String searchTitle = query.contains(" - ") 
-            ? query.split(" - ")[0].trim().toLowerCase() 
-            : query.toLowerCase();
+    private CompletableFuture<URL> resolveAsync(String query, ExecutorService executor) {
+        CompletableFuture<URL> future = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                future.complete(fetchPreviewFromDeezer(query));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        future.whenComplete((url, error) -> {
+            if (future.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return future;
+    }
 
-        // Première passe : match exact sans remixes/covers
-        for (int i = 0; i < Math.min(5, data.size()); i++) {
-            JsonObject track = data.get(i).getAsJsonObject();
-            String title = track.get("title").getAsString().toLowerCase();
+    /**
+     * Charge un extrait avec fallback sans bloquer le thread appelant.
+     * La résolution encore en cours d'une manche précédente est annulée et le lecteur
+     * en cours s'éteint en fondu pendant que le suivant démarre (lecteur préchargé si possible),
+     * puis le média est attaché sur le thread JavaFX dès que l'URL est connue.
+     * @param query La requête de recherche
+     * @return Un futur complété avec true si un média (extrait ou fallback) a été chargé,
+     *         false si la demande a été remplacée entre-temps
+     */
+    public CompletableFuture<Boolean> loadWithFallbackAsync(String query) {
+        cancelPendingLoad();
+        roundSwitch.start();
+        fadeOutCurrentPlayer();
+
+        // Lecteur déjà en mémoire tampon : démarrage immédiat
+        preloadRequests.remove(query);
+        MediaPlayer preloaded = preloadedPlayers.remove(query);
+        if (preloaded != null) {
+            prefetchedPreviews.remove(query);
+            attachPlayer(preloaded);
+            LOGGER.fine("Lecteur préchargé utilisé : " + query);
+            return CompletableFuture.completedFuture(true);
+        }
 
-            if (title.contains("remix") || title.contains("cover") || 
-                title.contains("live") || title.contains("karaoke")) {
-                continue;
+        // Extrait déjà résolu par le préchargement : pas de nouvel aller-retour réseau.
+        // S'il est encore en file d'attente, la manche courante passe devant.
+        CompletableFuture<URL> prefetched = prefetchedPreviews.remove(query);
+        CompletableFuture<URL> resolution = prefetched != null && prefetched.isDone() && !prefetched.isCompletedExceptionally()
+            ? prefetched.copy()
+            : fetchPreviewAsync(query);
+        pendingResolution = resolution;
+
+        return resolution.thenApplyAsync(preview -> {
+            if (resolution != pendingResolution) {
+                return false; // Une autre manche a pris le relais
             }
+            pendingResolution = null;
+            return attachPreview(query, preview);
+        }, javafx.application.Platform::runLater);
+    }
 
-            if (title.contains(searchTitle)) {
-                LOGGER.fine("Match exact trouvé : " + track.get("title").getAsString());
-                return track.get("preview").getAsString();
-            }
+    /**
+     * Annule la résolution d'extrait en cours, s'il y en a une.
+     */
+    public void cancelPendingLoad() {
+        CompletableFuture<URL> pending = pendingResolution;
+        pendingResolution = null;
+        if (pending != null && !pending.isDone()) {
+            pending.cancel(true);
+            LOGGER.fine("Résolution d'extrait annulée");
         }
+    }
 
-        // Deuxième passe : premier résultat acceptable
-        for (int i = 0; i < Math.min(5, data.size()); i++) {
-            JsonObject track = data.get(i).getAsJsonObject();
-            String title = track.get("title").getAsString().toLowerCase();
+    // ===============================
+    // PRÉCHARGEMENT DE LA PARTIE
+    // ===============================
 
-            if (!title.contains("remix") && !title.contains("cover") && 
-                !title.contains("live") && !title.contains("karaoke")) {
-                LOGGER.fine("Résultat fallback utilisé");
-                return track.get("preview").getAsString();
-            }
+    /**
+     * Lance en parallèle la résolution des extraits de toutes les manches à venir.
+     * Les URLs obtenues alimentent le cache et sont réutilisées par {@link #loadWithFallbackAsync(String)}.
+     * @param queries Les requêtes des morceaux de la partie
+     */
+    public void prefetchPreviews(List<String> queries) {
+        for (String query : queries) {
+            prefetchPreview(query);
+        }
+        LOGGER.info("Préchargement lancé pour " + queries.size() + " extraits");
+    }
+
+    /**
+     * Retourne la résolution partagée d'un extrait, en la lançant si nécessaire.
+     * @param query La requête de recherche
+     * @return Le futur de résolution
+     */
+    private CompletableFuture<URL> prefetchPreview(String query) {
+        return prefetchedPreviews.computeIfAbsent(query, q -> {
+            CompletableFuture<URL> resolution = resolveAsync(q, PREFETCH_EXECUTOR);
+            // Télécharger l'extrait dès maintenant : la manche le lira depuis le disque
+            resolution.thenAccept(PREVIEW_FILES::downloadAsync);
+            return resolution;
+        });
+    }
+
+    /**
+     * Prépare un MediaPlayer pour une manche à venir afin que le tampon audio
+     * soit rempli avant qu'elle ne commence. Le nombre de lecteurs préparés est borné.
+     * @param query La requête du morceau à venir
+     */
+    public void preloadPlayer(String query) {
+        if (query == null || preloadedPlayers.containsKey(query) || !preloadRequests.add(query)) {
+            return;
         }
 
-        // Dernier recours : premier résultat
-        LOGGER.warning("Utilisation du premier résultat par défaut");
-        return data.get(0).getAsJsonObject().get("preview").getAsString();
+        prefetchPreview(query).thenAcceptAsync(preview -> {
+            // La manche a pu démarrer (ou la partie se terminer) entre-temps
+            if (preview == null || !preloadRequests.remove(query)) {
+                return;
+            }
+            try {
+                preloadedPlayers.put(query, playerPool.acquire(localCopy(preview).toExternalForm()));
+                LOGGER.fine("Lecteur préchargé : " + query);
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Préchargement impossible : " + e.getMessage(), e);
+            }
+        }, javafx.application.Platform::runLater);
+    }
+
+    /**
+     * Annule le préchargement en cours et libère les lecteurs préparés.
+     */
+    public void clearPrefetch() {
+        prefetchedPreviews.values().forEach(future -> future.cancel(true));
+        prefetchedPreviews.clear();
+        preloadRequests.clear();
+        synchronized (preloadedPlayers) {
+            preloadedPlayers.values().forEach(playerPool::release);
+            preloadedPlayers.clear();
+        }
     }
 
     // ===============================
@@ -359,22 +650,10 @@ public class AudioService {
         cleanupMediaPlayer();
 
         try {
-            Media media = new Media(url.toExternalForm());
-            mediaPlayer = new MediaPlayer(media);
-            mediaPlayer.setVolume(settings.getDefaultVolume());
-
-            mediaPlayer.setOnError(() -> {
-                LOGGER.severe("Erreur MediaPlayer : " + mediaPlayer.getError().getMessage());
-            });
-
-            mediaPlayer.statusProperty().addListener((obs, oldStatus, newStatus) -> {
-                if (newStatus == MediaPlayer.Status.READY && shouldPlayWhenReady) {
-                    shouldPlayWhenReady = false;
-                    mediaPlayer.play();
-                }
-            });
+            URL source = localCopy(url);
+            attachPlayer(playerPool.acquire(source.toExternalForm()));
 
-            LOGGER.fine("Media chargé depuis : " + url);
+            LOGGER.fine("Media chargé depuis : " + source);
             return true;
 
         } catch (Exception e) {
@@ -383,22 +662,63 @@ public class AudioService {
         }
     }
 
+    /**
+     * Retourne la copie disque de l'extrait si elle existe ; sinon lance son téléchargement
+     * pour les prochaines lectures et retourne l'URL d'origine (lecture en streaming).
+     * @param url L'URL de l'extrait
+     * @return L'URL à lire
+     */
+    private URL localCopy(URL url) {
+        URL local = PREVIEW_FILES.resolve(url);
+        if (local == url) {
+            PREVIEW_FILES.downloadAsync(url);
+        }
+        return local;
+    }
+
+    /**
+     * Installe un MediaPlayer comme lecteur courant (volume, erreurs, lecture différée).
+     * @param player Le lecteur à installer
+     */
+    private void attachPlayer(MediaPlayer player) {
+        mediaPlayer = player;
+        mediaPlayer.setVolume(volume);
+
+        mediaPlayer.setOnError(() -> {
+            LOGGER.severe("Erreur MediaPlayer : " + player.getError().getMessage());
+        });
+
+        // Retiré au nettoyage : le lecteur peut resservir depuis le pool
+        statusListener = (obs, oldStatus, newStatus) -> {
+            if (newStatus == MediaPlayer.Status.READY && shouldPlayWhenReady) {
+                shouldPlayWhenReady = false;
+                startPlayback(player);
+            }
+        };
+        mediaPlayer.statusProperty().addListener(statusListener);
+    }
+
     /**
      * Charge un extrait avec fallback automatique
      */
     public void loadWithFallback(String query) {
-        URL preview = fetchPreviewFromDeezer(query);
-        boolean success = false;
+        attachPreview(query, fetchPreviewFromDeezer(query));
+    }
 
-        if (preview != null) {
-            success = loadFromURL(preview);
+    /**
+     * Attache l'extrait résolu au MediaPlayer, ou le fichier local à défaut.
+     * @param query La requête d'origine (pour les logs)
+     * @param preview L'URL résolue, ou null
+     * @return true si un média a pu être chargé
+     */
+    private boolean attachPreview(String query, URL preview) {
+        if (preview != null && loadFromURL(preview)) {
+            return true;
         }
 
-        if (!success) {
-            LOGGER.warning("Fallback vers fichier local pour : " + query);
-            fallbackHits++;
-            loadLocalFallback();
-        }
+        LOGGER.warning("Fallback vers fichier local pour : " + query);
+        fallbackHits.increment();
+        return loadLocalFallback();
     }
 
     /**
@@ -414,9 +734,7 @@ public class AudioService {
                 return false;
             }
 
-            Media media = new Media(file.toURI().toString());
-            mediaPlayer = new MediaPlayer(media);
-            mediaPlayer.setVolume(settings.getDefaultVolume());
+            attachPlayer(playerPool.acquire(file.toURI().toString()));
             
             LOGGER.info("Fallback local chargé avec succès");
             return true;
@@ -428,14 +746,79 @@ public class AudioService {
     }
 
     /**
-     * Nettoie et libère les ressources du MediaPlayer actuel.
+     * Détache le MediaPlayer actuel et le rend au pool pour une réutilisation éventuelle.
      */
     private void cleanupMediaPlayer() {
-        if (mediaPlayer != null) {
-            mediaPlayer.stop();
-            mediaPlayer.dispose();
-            mediaPlayer = null;
+        playerPool.release(detachPlayer());
+    }
+
+    /**
+     * Détache le MediaPlayer actuel et l'éteint en fondu avant de le rendre au pool,
+     * pour que la manche suivante démarre sans coupure.
+     */
+    private void fadeOutCurrentPlayer() {
+        MediaPlayer outgoing = detachPlayer();
+        if (outgoing == null) {
+            return;
+        }
+        if (outgoing.getStatus() != MediaPlayer.Status.PLAYING) {
+            playerPool.release(outgoing);
+            return;
+        }
+
+        Timeline fadeOut = crossfade(outgoing.volumeProperty(), 0);
+        fadeOut.setOnFinished(event -> playerPool.release(outgoing));
+        fadeOut.play();
+    }
+
+    /**
+     * Retire le MediaPlayer courant du service (écouteurs et fondu compris).
+     * @return Le lecteur détaché, ou null
+     */
+    private MediaPlayer detachPlayer() {
+        MediaPlayer player = mediaPlayer;
+        if (player == null) {
+            return null;
+        }
+        if (statusListener != null) {
+            player.statusProperty().removeListener(statusListener);
+            statusListener = null;
+        }
+        if (fadeIn != null) {
+            fadeIn.stop();
+            fadeIn = null;
+        }
+        player.setOnError(null);
+        shouldPlayWhenReady = false;
+        mediaPlayer = null;
+        return player;
+    }
+
+    /**
+     * Lance la lecture. Au premier démarrage après un changement de manche, le son monte
+     * en fondu et la latence de l'enchaînement est mesurée.
+     * @param player Le lecteur à démarrer
+     */
+    private void startPlayback(MediaPlayer player) {
+        if (!roundSwitch.stop()) {
+            player.play();
+            return;
         }
+
+        player.setVolume(0);
+        player.play();
+        fadeIn = crossfade(player.volumeProperty(), volume);
+        fadeIn.play();
+    }
+
+    /**
+     * Construit le fondu d'un volume vers sa valeur cible, sur la durée du fondu croisé.
+     * @param volume Le volume à faire varier
+     * @param target Le volume atteint en fin de fondu
+     * @return L'animation, non démarrée
+     */
+    static Timeline crossfade(DoubleProperty volume, double target) {
+        return new Timeline(new KeyFrame(CROSSFADE, new KeyValue(volume, target)));
     }
 
     // ===============================
@@ -446,13 +829,17 @@ public class AudioService {
      * Démarre la lecture du média.
      */
     public void play() {
-        if (mediaPlayer != null) {
+        MediaPlayer player = mediaPlayer;
+        if (player != null) {
             javafx.application.Platform.runLater(() -> {
-                MediaPlayer.Status status = mediaPlayer.getStatus();
+                if (player != mediaPlayer) {
+                    return; // Remplacé entre-temps
+                }
+                MediaPlayer.Status status = player.getStatus();
                 if (status == MediaPlayer.Status.READY || 
                     status == MediaPlayer.Status.PAUSED || 
                     status == MediaPlayer.Status.STOPPED) {
-                    mediaPlayer.play();
+                    startPlayback(player);
                 } else {
                     shouldPlayWhenReady = true;
                 }
@@ -470,9 +857,11 @@ public class AudioService {
     }
 
     /**
-     * Arrête la lecture du média.
+     * Arrête la lecture du média et annule la résolution en cours.
      */
     public void stop() {
+        cancelPendingLoad();
+        roundSwitch.cancel();
         if (mediaPlayer != null) {
             javafx.application.Platform.runLater(mediaPlayer::stop);
         }
@@ -493,8 +882,11 @@ public class AudioService {
      * @param volume Le volume (0.0 à 1.0)
      */
     public void setGlobalVolume(double volume) {
-        settings.setDefaultVolume((float) volume);
+        this.volume = volume;
         
+        if (fadeIn != null) {
+            fadeIn.stop();
+        }
         if (mediaPlayer != null) {
             mediaPlayer.setVolume(volume);
         }
@@ -537,7 +929,7 @@ public class AudioService {
      */
     private void playClip(AudioClip clip) {
         if (clip != null) {
-            clip.setVolume(settings.getDefaultVolume());
+            clip.setVolume(volume);
             clip.play();
         }
     }
@@ -557,7 +949,7 @@ public class AudioService {
      */
     public void startMenuMusic() {
         if (menuMusicPlayer != null) {
-            menuMusicPlayer.setVolume(settings.getDefaultVolume());
+            menuMusicPlayer.setVolume(volume);
             menuMusicPlayer.play();
         }
     }
@@ -579,25 +971,55 @@ public class AudioService {
      * Affiche les statistiques d'utilisation du cache
      */
     public void printCacheStats() {
-        int totalRequests = apiHits + cacheHits;
-        double hitRate = totalRequests > 0 ? (cacheHits * 100.0 / totalRequests) : 0;
+        AudioPreviewCache.Stats stats = apiCache.stats();
         
         LOGGER.info(String.format(
-            "Stats AudioService - API: %d | Cache: %d | Fallback: %d | Hit Rate: %.1f%% | Cache Size: %d",
-            apiHits, cacheHits, fallbackHits, hitRate, apiCache.size()
+            "Stats AudioService - Hits: %d | Misses: %d | Evictions: %d | Expired: %d | Fallback: %d"
+                + " | Negative: %d | Coalesced: %d | Hit Rate: %.1f%% | Avg Load: %.0fms | Cache Size: %d"
+                + " | Avg Round Switch: %.0fms",
+            stats.hits, stats.misses, stats.evictions, stats.expirations, fallbackHits.sum(),
+            negativeHits.sum(), coalescedLookups.sum(), stats.getHitRate(), stats.getAverageLoadMs(), stats.size,
+            getAverageRoundSwitchMs()
         ));
     }
 
+    /**
+     * Retourne la latence moyenne d'enchaînement des manches : du changement de manche
+     * au démarrage effectif du lecteur suivant.
+     * @return La latence moyenne en millisecondes, ou 0 si aucune manche n'a démarré
+     */
+    public double getAverageRoundSwitchMs() {
+        return roundSwitch.getAverageMs();
+    }
+
+    /**
+     * Retourne la latence du dernier enchaînement de manches.
+     * @return La latence en millisecondes, ou 0 si aucune manche n'a démarré
+     */
+    public double getLastRoundSwitchMs() {
+        return roundSwitch.getLastMs();
+    }
+
+    /**
+     * Retourne les statistiques du cache d'extraits
+     * @return Un instantané des statistiques
+     */
+    public AudioPreviewCache.Stats getCacheStats() {
+        return apiCache.stats();
+    }
+
     /**
      * Nettoie le cache (entrées expirées)
      */
     public void cleanExpiredCache() {
-        int sizeBefore = apiCache.size();
-        apiCache.entrySet().removeIf(entry -> entry.getValue().isExpired());
-        int removed = sizeBefore - apiCache.size();
+        long now = System.currentTimeMillis();
+        synchronized (negativeCache) {
+            negativeCache.values().removeIf(expiresAt -> expiresAt < now);
+        }
+        int removed = apiCache.removeExpired();
         
         if (removed > 0) {
-            saveCacheToDisk();
+            compactCacheLog();
             LOGGER.info("Cache nettoyé : " + removed + " entrées expirées supprimées");
         }
     }
@@ -607,7 +1029,9 @@ public class AudioService {
      */
     public void clearCache() {
         apiCache.clear();
-        new File(CACHE_FILE).delete();
+        negativeCache.clear();
+        CACHE_LOG.clear();
+        PREVIEW_FILES.clear();
         LOGGER.info("Cache vidé complètement");
     }
 }
\ No newline at end of file
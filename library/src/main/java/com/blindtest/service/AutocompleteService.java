@@ -0,0 +1,106 @@
+package com.blindtest.service;
+
+import com.blindtest.model.Track;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Suggestions de titres et d'artistes pendant la saisie des réponses.
+ *
+ * <p>Les index ({@link SuggestionIndex}) couvrent le catalogue de {@link DynamicPlaylistGenerator},
+ * la popularité d'un artiste étant son nombre de morceaux, puis les morceaux des playlists
+ * chargées ensuite. Ces derniers ne font qu'ajouter les noms inconnus : augmenter le poids
+ * des morceaux de la partie en cours les désignerait aux joueurs. Les index sont reconstruits
+ * en arrière-plan ; les suggestions continuent d'être servies par les précédents entre-temps.</p>
+ */
+public class AutocompleteService {
+    private static final Logger LOGGER = Logger.getLogger(AutocompleteService.class.getName());
+
+    /**
+     * Nombre de suggestions affichées sous un champ de saisie.
+     */
+    public static final int DEFAULT_LIMIT = 6;
+
+    private static final Object LOCK = new Object();
+    private static final SuggestionIndex.Builder TITLES = new SuggestionIndex.Builder();
+    private static final SuggestionIndex.Builder ARTISTS = new SuggestionIndex.Builder();
+    private static volatile SuggestionIndex titleIndex;
+    private static volatile SuggestionIndex artistIndex;
+
+    // Reconstruction des index : un seul thread démon, les demandes s'exécutent dans l'ordre
+    private static final ExecutorService INDEXER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "autocomplete-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Suggère des titres pour la saisie en cours.
+     * @param query La saisie du joueur
+     * @param limit Le nombre maximal de suggestions
+     * @return Les titres, du plus populaire au moins populaire
+     */
+    public static List<String> suggestTitles(String query, int limit) {
+        ensureIndexed();
+        return titleIndex.suggest(query, limit);
+    }
+
+    /**
+     * Suggère des artistes pour la saisie en cours.
+     * @param query La saisie du joueur
+     * @param limit Le nombre maximal de suggestions
+     * @return Les artistes, du plus populaire au moins populaire
+     */
+    public static List<String> suggestArtists(String query, int limit) {
+        ensureIndexed();
+        return artistIndex.suggest(query, limit);
+    }
+
+    /**
+     * Ajoute aux suggestions les titres et artistes encore inconnus de morceaux chargés
+     * (playlist importée, playlist de secours). Les index sont reconstruits en arrière-plan.
+     * @param tracks Les morceaux
+     */
+    public static void registerTracks(Collection<Track> tracks) {
+        ensureIndexed();
+        boolean added = false;
+        synchronized (LOCK) {
+            for (Track track : tracks) {
+                if (track == null) continue;
+                if (!TITLES.contains(track.getTitle())) added |= TITLES.add(track.getTitle(), 1);
+                if (!ARTISTS.contains(track.getArtist())) added |= ARTISTS.add(track.getArtist(), 1);
+            }
+        }
+        if (added) {
+            INDEXER.execute(AutocompleteService::rebuild);
+        }
+    }
+
+    /**
+     * Indexe le catalogue au premier accès.
+     */
+    private static void ensureIndexed() {
+        if (titleIndex != null) return;
+        synchronized (LOCK) {
+            if (titleIndex != null) return;
+            for (Track track : DynamicPlaylistGenerator.getCatalogueTracks()) {
+                TITLES.add(track.getTitle(), 1);
+                ARTISTS.add(track.getArtist(), 1);
+            }
+            artistIndex = ARTISTS.build();
+            titleIndex = TITLES.build();
+            LOGGER.fine("Suggestions indexées : " + titleIndex.size() + " titres, " + artistIndex.size() + " artistes");
+        }
+    }
+
+    private static void rebuild() {
+        synchronized (LOCK) {
+            artistIndex = ARTISTS.build();
+            titleIndex = TITLES.build();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.blindtest.service;
+
+import com.blindtest.model.Track;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Préremplit le cache des extraits pour un ensemble de morceaux, sans interface graphique.
+ *
+ * <p>Les recherches sont parallélisées sur un nombre borné de threads et espacées pour respecter
+ * un débit maximal vers l'API. Les requêtes déjà en cache ne consomment pas de débit.
+ * Les résultats sont persistés par le journal du cache, comme en cours de partie.</p>
+ */
+public class CacheWarmupService {
+    private static final Logger LOGGER = Logger.getLogger(CacheWarmupService.class.getName());
+
+    // Deezer tolère environ 50 requêtes par 5 secondes : on reste bien en dessous
+    public static final int DEFAULT_PARALLELISM = 4;
+    public static final double DEFAULT_REQUESTS_PER_SECOND = 8;
+
+    private final AudioService audioService;
+    private final int parallelism;
+    private final long intervalNanos;
+    private final AtomicLong nextSlot = new AtomicLong();
+
+    /**
+     * Avancement du préremplissage.
+     */
+    public static class Progress {
+        public final int total;
+        public final int done;
+        public final int resolved;
+        public final int alreadyCached;
+        public final int notFound;
+
+        Progress(int total, int done, int resolved, int alreadyCached, int notFound) {
+            this.total = total;
+            this.done = done;
+            this.resolved = resolved;
+            this.alreadyCached = alreadyCached;
+            this.notFound = notFound;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d/%d (résolus %d, déjà en cache %d, introuvables %d)",
+                done, total, resolved, alreadyCached, notFound);
+        }
+    }
+
+    /**
+     * Crée un service de préremplissage.
+     * @param audioService Le service audio dont le cache est rempli
+     * @param parallelism Le nombre maximal de recherches simultanées
+     * @param requestsPerSecond Le débit maximal de recherches réseau
+     */
+    public CacheWarmupService(AudioService audioService, int parallelism, double requestsPerSecond) {
+        if (parallelism < 1 || requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Parallélisme et débit doivent être strictement positifs");
+        }
+        this.audioService = audioService;
+        this.parallelism = parallelism;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+    }
+
+    /**
+     * Préremplit le cache pour les morceaux donnés.
+     * @param tracks Les morceaux
+     * @param downloadAudio true pour télécharger aussi l'audio des extraits dans le cache disque
+     * @param listener Appelé après chaque morceau traité (depuis les threads de travail)
+     * @return Le bilan final
+     * @throws InterruptedException Si le préremplissage est interrompu
+     */
+    public Progress warmUp(List<Track> tracks, boolean downloadAudio, Consumer<Progress> listener)
+            throws InterruptedException {
+        List<String> queries = new ArrayList<>(tracks.stream()
+            .map(Track::getSearchQuery)
+            .collect(Collectors.toCollection(LinkedHashSet::new)));
+        int total = queries.size();
+
+        AtomicInteger done = new AtomicInteger();
+        AtomicInteger resolved = new AtomicInteger();
+        AtomicInteger alreadyCached = new AtomicInteger();
+        AtomicInteger notFound = new AtomicInteger();
+        List<Future<?>> downloads = new ArrayList<>();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (String query : queries) {
+                tasks.add(executor.submit(() -> {
+                    boolean cached = audioService.isPreviewCached(query);
+                    if (!cached) {
+                        acquireSlot();
+                    }
+
+                    URL preview = audioService.fetchPreviewFromDeezer(query);
+                    if (preview == null) {
+                        notFound.incrementAndGet();
+                    } else {
+                        (cached ? alreadyCached : resolved).incrementAndGet();
+                        if (downloadAudio) {
+                            Future<?> download = audioService.cachePreviewAudio(preview);
+                            if (download != null) {
+                                synchronized (downloads) {
+                                    downloads.add(download);
+                                }
+                            }
+                        }
+                    }
+
+                    listener.accept(new Progress(total, done.incrementAndGet(),
+                        resolved.get(), alreadyCached.get(), notFound.get()));
+                    return null;
+                }));
+            }
+
+            awaitAll(tasks);
+            synchronized (downloads) {
+                awaitAll(downloads);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Progress result = new Progress(total, done.get(), resolved.get(), alreadyCached.get(), notFound.get());
+        LOGGER.info("Préremplissage terminé : " + result);
+        return result;
+    }
+
+    /**
+     * Attend son créneau pour respecter le débit maximal (créneaux espacés régulièrement).
+     */
+    private void acquireSlot() throws InterruptedException {
+        long now = System.nanoTime();
+        long slot = nextSlot.getAndAccumulate(now, (previous, current) -> Math.max(previous, current) + intervalNanos);
+        long wait = Math.max(slot, now) - now;
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) throws InterruptedException {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                LOGGER.log(Level.WARNING, "Erreur de préremplissage : " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+}
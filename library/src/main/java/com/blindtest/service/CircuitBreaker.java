@@ -0,0 +1,134 @@
+package com.blindtest.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Disjoncteur autour d'un service distant.
+ *
+ * <ul>
+ *   <li>Fermé : les appels passent ; après {@code failureThreshold} échecs consécutifs, il s'ouvre.</li>
+ *   <li>Ouvert : les appels sont refusés immédiatement pendant la durée d'ouverture.</li>
+ *   <li>Semi-ouvert : un seul appel d'essai passe ; son succès referme le disjoncteur,
+ *       son échec le rouvre.</li>
+ * </ul>
+ */
+public class CircuitBreaker {
+    private static final Logger LOGGER = Logger.getLogger(CircuitBreaker.class.getName());
+
+    /**
+     * États du disjoncteur.
+     */
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openUntil = 0;
+    private boolean probeInFlight = false;
+
+    /**
+     * Crée un disjoncteur fermé.
+     * @param name Le nom du service protégé (pour les logs)
+     * @param failureThreshold Le nombre d'échecs consécutifs qui ouvre le disjoncteur
+     * @param openMillis La durée d'ouverture en millisecondes
+     */
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this(name, failureThreshold, openMillis, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureThreshold, long openMillis, LongSupplier clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Indique si un appel peut être tenté. En semi-ouvert, un seul appel d'essai est autorisé
+     * à la fois ; l'appelant doit ensuite signaler son succès ou son échec.
+     * @return true si l'appel peut être tenté
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() < openUntil) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    /**
+     * Signale un appel réussi.
+     */
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            LOGGER.info("Disjoncteur " + name + " refermé");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    /**
+     * Signale un appel en échec.
+     */
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            open(openNanos);
+        }
+    }
+
+    /**
+     * Signale un appel abandonné sans résultat (ex. interruption) : libère l'appel d'essai
+     * éventuel sans compter de succès ni d'échec.
+     */
+    public synchronized void release() {
+        probeInFlight = false;
+    }
+
+    /**
+     * Ouvre le disjoncteur pour au moins la durée donnée (ex. Retry-After du service).
+     * @param millis La durée d'ouverture en millisecondes
+     */
+    public synchronized void openFor(long millis) {
+        open(Math.max(openNanos, TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+
+    private void open(long nanos) {
+        long until = clock.getAsLong() + nanos;
+        if (state != State.OPEN || until > openUntil) {
+            openUntil = until;
+        }
+        if (state != State.OPEN) {
+            LOGGER.warning("Disjoncteur " + name + " ouvert pour " + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms");
+        }
+        state = State.OPEN;
+        probeInFlight = false;
+    }
+
+    /**
+     * Retourne l'état courant.
+     * @return L'état du disjoncteur
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() >= openUntil) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+}
@@ -0,0 +1,19 @@
+package com.blindtest.service;
+
+import java.io.IOException;
+
+/**
+ * Levée quand un appel est refusé d'emblée parce que le disjoncteur du service est ouvert.
+ * Aucun appel réseau n'a eu lieu : l'échec ne renseigne pas sur la requête elle-même.
+ */
+public class CircuitOpenException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Crée l'exception.
+     * @param message Le message d'erreur
+     */
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,355 @@
+package com.blindtest.service;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Recherche d'extraits via l'API de recherche Deezer.
+ *
+ * <p>Les requêtes passent par un seau de jetons (débit toléré par l'API) et un disjoncteur :
+ * après plusieurs échecs consécutifs, ou sur un 429 / dépassement de quota, les recherches
+ * échouent immédiatement pendant la durée d'ouverture au lieu d'attendre les délais réseau.
+ * Seules les erreurs transitoires (réseau, 5xx) sont retentées, avec un délai exponentiel.</p>
+ *
+ * <p>Toutes les instances partagent un même client HTTP (connexions persistantes, HTTP/2 si
+ * le serveur l'accepte) ; la réponse est lue en flux et seuls les premiers résultats utiles
+ * au choix de l'extrait sont conservés.</p>
+ */
+public class DeezerPreviewProvider implements PreviewProvider {
+    private static final Logger LOGGER = Logger.getLogger(DeezerPreviewProvider.class.getName());
+
+    private static final String DEEZER_API = "https://api.deezer.com/search/track?q=";
+    private static final int MAX_CANDIDATES = 5;
+    private static final int MAX_RETRIES = 3;
+    private static final int RETRY_BASE_DELAY_MS = 500;
+    private static final int RETRY_MAX_DELAY_MS = 4000;
+    private static final int CONNECTION_TIMEOUT_MS = 5000;
+    private static final int READ_TIMEOUT_MS = 5000;
+
+    // Deezer tolère environ 50 requêtes par 5 secondes
+    private static final int RATE_BURST = 10;
+    private static final double RATE_PER_SECOND = 8;
+    // Disjoncteur : ouvert après 3 échecs consécutifs, pour 30 secondes
+    private static final int BREAKER_FAILURE_THRESHOLD = 3;
+    private static final long BREAKER_OPEN_MS = 30_000;
+    // Délai imposé par un 429 sans Retry-After exploitable, et plafond des Retry-After
+    private static final long DEFAULT_RETRY_AFTER_MS = 5_000;
+    private static final long MAX_RETRY_AFTER_MS = 5 * 60_000;
+    // Code d'erreur Deezer "Quota limit exceeded" (renvoyé avec un statut 200)
+    private static final int DEEZER_QUOTA_ERROR = 4;
+
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_2)
+        .connectTimeout(Duration.ofMillis(CONNECTION_TIMEOUT_MS))
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .build();
+
+    private final String searchUrl;
+    private final TokenBucket rateLimiter = new TokenBucket(RATE_BURST, RATE_PER_SECOND);
+    private final CircuitBreaker breaker = new CircuitBreaker("Deezer", BREAKER_FAILURE_THRESHOLD, BREAKER_OPEN_MS);
+
+    /**
+     * Réponse HTTP en erreur.
+     */
+    private static class HttpStatusException extends IOException {
+        private static final long serialVersionUID = 1L;
+        final int status;
+
+        HttpStatusException(int status) {
+            super("HTTP error " + status);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Résultat de recherche retenu pour le choix de l'extrait.
+     */
+    private static class Candidate {
+        String title = "";
+        String preview;
+    }
+
+    /**
+     * Limitation de débit imposée par l'API (429 ou quota dépassé).
+     */
+    private static class ThrottledException extends IOException {
+        private static final long serialVersionUID = 1L;
+        final long retryAfterMs;
+
+        ThrottledException(long retryAfterMs) {
+            super("Débit limité par Deezer, nouvel essai dans " + retryAfterMs + "ms");
+            this.retryAfterMs = retryAfterMs;
+        }
+    }
+
+    /**
+     * Crée un fournisseur interrogeant l'API publique Deezer.
+     */
+    public DeezerPreviewProvider() {
+        this(DEEZER_API);
+    }
+
+    /**
+     * Crée un fournisseur interrogeant une URL de recherche compatible Deezer (ex. serveur de test local).
+     * @param searchUrl Le préfixe de l'URL de recherche, auquel la requête encodée est ajoutée
+     */
+    public DeezerPreviewProvider(String searchUrl) {
+        this.searchUrl = searchUrl;
+    }
+
+    @Override
+    public String getName() {
+        return "Deezer";
+    }
+
+    /**
+     * Interroge l'API Deezer, en retentant les erreurs transitoires.
+     * @param query La requête de recherche
+     * @return L'URL de l'extrait, ou null si aucun résultat
+     * @throws CircuitOpenException Si le disjoncteur est ouvert (échec immédiat, sans appel réseau)
+     * @throws IOException Si la recherche a échoué
+     * @throws InterruptedException Si la recherche est annulée pendant une attente
+     */
+    @Override
+    public URL findPreview(String query) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            // Vérification sans attente : un disjoncteur ouvert doit échouer tout de suite
+            if (breaker.getState() == CircuitBreaker.State.OPEN) {
+                throw new CircuitOpenException("Deezer indisponible (disjoncteur ouvert)");
+            }
+            rateLimiter.acquire();
+            if (!breaker.allowRequest()) {
+                throw new CircuitOpenException("Deezer indisponible (disjoncteur ouvert)");
+            }
+
+            try {
+                URL preview = search(query);
+                breaker.recordSuccess();
+                return preview;
+            } catch (InterruptedException e) {
+                breaker.release();
+                throw e;
+            } catch (ThrottledException e) {
+                LOGGER.warning(e.getMessage());
+                rateLimiter.pause(e.retryAfterMs);
+                breaker.openFor(e.retryAfterMs);
+                throw e;
+            } catch (HttpStatusException e) {
+                if (e.status < 500) {
+                    breaker.recordSuccess(); // le service répond : l'erreur tient à la requête
+                    throw e;
+                }
+                breaker.recordFailure();
+                retryOrThrow(query, attempt, e);
+            } catch (IOException e) {
+                breaker.recordFailure();
+                retryOrThrow(query, attempt, e);
+            } catch (RuntimeException e) {
+                breaker.recordFailure(); // réponse illisible
+                throw new IOException("Réponse Deezer invalide : " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Attend avant la tentative suivante (délai exponentiel avec gigue), ou abandonne.
+     */
+    private void retryOrThrow(String query, int attempt, IOException error) throws IOException, InterruptedException {
+        LOGGER.log(Level.WARNING,
+            "Erreur tentative " + attempt + "/" + MAX_RETRIES + " : " + error.getMessage(), error);
+        if (attempt >= MAX_RETRIES) {
+            LOGGER.severe("Échec définitif après " + MAX_RETRIES + " tentatives pour : " + query);
+            throw error;
+        }
+
+        long delay = Math.min(RETRY_MAX_DELAY_MS, (long) RETRY_BASE_DELAY_MS << (attempt - 1));
+        delay = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        LOGGER.info("Tentative " + (attempt + 1) + "/" + MAX_RETRIES + " dans " + delay + "ms");
+        Thread.sleep(delay);
+    }
+
+    /**
+     * Retourne l'état du disjoncteur (diagnostic).
+     * @return L'état courant
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return breaker.getState();
+    }
+
+    /**
+     * Effectue une requête de recherche unique.
+     */
+    private URL search(String query) throws IOException, InterruptedException {
+        String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(searchUrl + encodedQuery + "&limit=" + MAX_CANDIDATES))
+                .timeout(Duration.ofMillis(READ_TIMEOUT_MS))
+                .header("User-Agent", "BlindTest/1.0")
+                .GET()
+                .build();
+        } catch (IllegalArgumentException e) {
+            throw new IOException("URL de recherche invalide : " + searchUrl, e);
+        }
+
+        HttpResponse<InputStream> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        List<Candidate> candidates;
+        try (InputStream body = response.body()) {
+            int responseCode = response.statusCode();
+            if (responseCode == 429) {
+                throw new ThrottledException(parseRetryAfter(response.headers().firstValue("Retry-After").orElse(null)));
+            }
+            if (responseCode != 200) {
+                throw new HttpStatusException(responseCode);
+            }
+            candidates = readCandidates(new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        }
+
+        if (candidates.isEmpty()) {
+            LOGGER.warning("Aucun résultat Deezer pour : " + query);
+            return null;
+        }
+
+        String previewUrl = findBestMatch(candidates, query);
+        return previewUrl != null ? new URL(previewUrl) : null;
+    }
+
+    /**
+     * Lit la réponse en flux : seuls titre et extrait des premiers résultats sont conservés,
+     * le reste du document est sauté sans être construit en mémoire.
+     * @throws ThrottledException Si la réponse signale un dépassement de quota
+     */
+    private static List<Candidate> readCandidates(JsonReader reader) throws IOException {
+        List<Candidate> candidates = new ArrayList<>(MAX_CANDIDATES);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("data".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (candidates.size() < MAX_CANDIDATES && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        readCandidate(reader, candidates);
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endArray();
+            } else if ("error".equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                if (readErrorCode(reader) == DEEZER_QUOTA_ERROR) {
+                    throw new ThrottledException(DEFAULT_RETRY_AFTER_MS);
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return candidates;
+    }
+
+    private static void readCandidate(JsonReader reader, List<Candidate> candidates) throws IOException {
+        Candidate candidate = new Candidate();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (("title".equals(name) || "preview".equals(name)) && reader.peek() == JsonToken.STRING) {
+                String value = reader.nextString();
+                if ("title".equals(name)) {
+                    candidate.title = value;
+                } else {
+                    candidate.preview = value;
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (candidate.preview != null && !candidate.preview.isEmpty()) {
+            candidates.add(candidate);
+        }
+    }
+
+    private static int readErrorCode(JsonReader reader) throws IOException {
+        int code = -1;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("code".equals(reader.nextName()) && reader.peek() == JsonToken.NUMBER) {
+                code = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return code;
+    }
+
+    /**
+     * Convertit un en-tête Retry-After (en secondes) en délai borné.
+     */
+    private static long parseRetryAfter(String header) {
+        if (header != null) {
+            try {
+                long seconds = Long.parseLong(header.trim());
+                return Math.min(MAX_RETRY_AFTER_MS, Math.max(0, seconds) * 1000);
+            } catch (NumberFormatException e) {
+                // Format date HTTP : délai par défaut
+            }
+        }
+        return DEFAULT_RETRY_AFTER_MS;
+    }
+
+    /**
+     * Trouve le meilleur match dans les résultats Deezer
+     */
+    private String findBestMatch(List<Candidate> candidates, String query) {
+        String searchTitle = query.contains(" - ")
+            ? query.split(" - ")[0].trim().toLowerCase()
+            : query.toLowerCase();
+
+        // Première passe : match exact sans remixes/covers
+        for (Candidate candidate : candidates) {
+            String title = candidate.title.toLowerCase();
+
+            if (title.contains("remix") || title.contains("cover") ||
+                title.contains("live") || title.contains("karaoke")) {
+                continue;
+            }
+
+            if (title.contains(searchTitle)) {
+                LOGGER.fine("Match exact trouvé : " + candidate.title);
+                return candidate.preview;
+            }
+        }
+
+        // Deuxième passe : premier résultat acceptable
+        for (Candidate candidate : candidates) {
+            String title = candidate.title.toLowerCase();
+
+            if (!title.contains("remix") && !title.contains("cover") &&
+                !title.contains("live") && !title.contains("karaoke")) {
+                LOGGER.fine("Résultat fallback utilisé");
+                return candidate.preview;
+            }
+        }
+
+        // Dernier recours : premier résultat
+        LOGGER.warning("Utilisation du premier résultat par défaut");
+        return candidates.get(0).preview;
+    }
+}
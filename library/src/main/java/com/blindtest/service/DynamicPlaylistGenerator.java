@@ -3,12 +3,14 @@ package com.blindtest.service;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
 import com.blindtest.model.Playlist;
 import com.blindtest.model.Track;
+import com.blindtest.util.ShuffleBag;
 
 /**
  * Générateur de playlist dynamique basé sur le genre musical.
@@ -549,6 +551,11 @@ public class DynamicPlaylistGenerator {
         List<Track> allGenresTracks = new ArrayList<>();
         // On va piocher dans tous les autres genres
         GENRE_TRACKS.put("tout genre", allGenresTracks); // Sera rempli dynamiquement
+
+        // Réponses attendues normalisées dès le chargement du catalogue
+        for (List<Track> tracks : GENRE_TRACKS.values()) {
+            tracks.forEach(Track::prepareAnswerKeys);
+        }
     }
     
     /**
@@ -575,25 +582,14 @@ public class DynamicPlaylistGenerator {
             availableTracks = GENRE_TRACKS.get("pop");
         }
         
-        // Mélanger les morceaux
-        List<Track> shuffledTracks = new ArrayList<>(availableTracks);
-        Collections.shuffle(shuffledTracks);
+        // Tirage sans remise, les morceaux des parties récentes en dernier ;
+        // si on a besoin de plus de morceaux que disponible, le tirage recommence
+        ShuffleBag<Track> bag = new ShuffleBag<>(availableTracks, RecentTracks::contains, true, new Random());
         
         // Créer la playlist
         Playlist playlist = new Playlist(genre + " Playlist");
-        
-        // Ajouter le nombre demandé de morceaux
-        int count = Math.min(numberOfTracks, shuffledTracks.size());
-        for (int i = 0; i < count; i++) {
-            playlist.addTrack(shuffledTracks.get(i));
-        }
-        
-        // Si on a besoin de plus de morceaux que disponible, on recommence la liste
-        if (numberOfTracks > shuffledTracks.size()) {
-            int remaining = numberOfTracks - shuffledTracks.size();
-            for (int i = 0; i < remaining; i++) {
-                playlist.addTrack(shuffledTracks.get(i % shuffledTracks.size()));
-            }
+        for (int i = 0; i < numberOfTracks; i++) {
+            playlist.addTrack(bag.next());
         }
         
         System.out.println("[DynamicPlaylist] Playlist generee avec " + playlist.getTracks().size() + " morceaux du genre '" + genre + "'");
@@ -637,6 +633,21 @@ public class DynamicPlaylistGenerator {
         return mixedTracks;
     }
     
+    /**
+     * Retourne tous les morceaux connus, tous genres confondus, sans doublon.
+     * Utilisé pour préremplir le cache des extraits.
+     * @return Les morceaux du catalogue
+     */
+    public static List<Track> getCatalogueTracks() {
+        Map<String, Track> unique = new LinkedHashMap<>();
+        for (List<Track> tracks : GENRE_TRACKS.values()) {
+            for (Track track : tracks) {
+                unique.putIfAbsent(track.getSearchQuery().toLowerCase(), track);
+            }
+        }
+        return new ArrayList<>(unique.values());
+    }
+
     /**
      * Liste tous les genres disponibles.
      */
@@ -2,8 +2,6 @@ package com.blindtest.service;
 
 import com.blindtest.model.Score;
 import com.blindtest.util.InputValidator;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 import java.io.FileWriter;
 import java.io.IOException;
@@ -18,19 +16,16 @@ import java.util.List;
 public class ExportService {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    private static final Gson gson = new GsonBuilder()
-            .setPrettyPrinting()
-            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-            .create();
 
     /**
      * Exporte une liste de scores au format CSV.
+     * Les scores sont écrits au fil du parcours : un flux peut être exporté en mémoire constante.
      * 
-     * @param scores La liste de scores à exporter
+     * @param scores Les scores à exporter
      * @param filePath Le chemin du fichier CSV de destination
      * @throws IOException En cas d'erreur d'écriture
      */
-    public static void exportToCSV(List<Score> scores, String filePath) throws IOException {
+    public static void exportToCSV(Iterable<Score> scores, String filePath) throws IOException {
         PersistenceService.ensureDirectoryExists(filePath);
 
         try (FileWriter writer = new FileWriter(filePath)) {
@@ -59,19 +54,26 @@ public class ExportService {
     }
 
     /**
-     * Exporte une liste de scores au format JSON.
+     * Exporte une liste de scores au format JSON (indenté).
+     * Les scores sont sérialisés un à un : un flux peut être exporté en mémoire constante.
+     * Le fichier exporté n'appartient pas à l'application : il est écrit sans somme de contrôle.
      * 
-     * @param scores La liste de scores à exporter
+     * @param scores Les scores à exporter
      * @param filePath Le chemin du fichier JSON de destination
      * @throws IOException En cas d'erreur d'écriture
      */
-    public static void exportToJSON(List<Score> scores, String filePath) throws IOException {
-        PersistenceService.ensureDirectoryExists(filePath);
-
-        try (FileWriter writer = new FileWriter(filePath)) {
-            gson.toJson(scores, writer);
-            System.out.println("[ExportService] Export JSON réussi : " + filePath);
+    public static void exportToJSON(Iterable<Score> scores, String filePath) throws IOException {
+        PersistenceService.ListWriter<Score> writer = PersistenceService.openListWriter(filePath, Score.class, true, false);
+        try {
+            for (Score score : scores) {
+                writer.write(score);
+            }
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
         }
+        writer.close();
+        System.out.println("[ExportService] Export JSON réussi : " + filePath);
     }
 
     /**
@@ -0,0 +1,226 @@
+package com.blindtest.service;
+
+import com.blindtest.util.InputValidator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Recherche d'extraits dans un dossier local de fichiers audio, sans réseau.
+ *
+ * <p>Le dossier est parcouru une seule fois, au premier appel : chaque fichier est indexé
+ * par ses tags ID3v2 (artiste, titre) ou, à défaut, par son nom "Artiste - Titre.mp3".
+ * Une recherche est ensuite une simple lecture dans une table de hachage. Les requêtes
+ * étant toujours "artiste titre", un fichier sans artiste ne peut pas être retrouvé :
+ * il n'est pas indexé.</p>
+ */
+public class LocalLibraryPreviewProvider implements PreviewProvider {
+    private static final Logger LOGGER = Logger.getLogger(LocalLibraryPreviewProvider.class.getName());
+
+    private static final String[] AUDIO_EXTENSIONS = {".mp3", ".m4a", ".aac", ".wav", ".aif", ".aiff"};
+    // Les tags utiles sont en tête de fichier : inutile de lire la pochette qui suit souvent
+    private static final int MAX_TAG_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private volatile Map<String, URL> index;
+
+    /**
+     * Crée un fournisseur adossé au dossier donné (indexé au premier appel).
+     * @param directory Le dossier contenant les fichiers audio
+     */
+    public LocalLibraryPreviewProvider(String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    @Override
+    public String getName() {
+        return "Bibliothèque locale";
+    }
+
+    @Override
+    public URL findPreview(String query) {
+        return getIndex().get(InputValidator.normalize(query));
+    }
+
+    /**
+     * Retourne le nombre de fichiers indexés.
+     * @return La taille de l'index
+     */
+    public int size() {
+        return getIndex().size();
+    }
+
+    /**
+     * Force un nouveau parcours du dossier au prochain appel.
+     */
+    public void refresh() {
+        index = null;
+    }
+
+    private Map<String, URL> getIndex() {
+        Map<String, URL> current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = buildIndex();
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Parcourt le dossier et indexe chaque fichier audio par "artiste titre".
+     */
+    private Map<String, URL> buildIndex() {
+        Map<String, URL> built = new HashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return built;
+        }
+
+        long start = System.currentTimeMillis();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile)
+                .filter(LocalLibraryPreviewProvider::isAudioFile)
+                .forEach(file -> indexFile(file, built));
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Erreur parcours bibliothèque locale : " + e.getMessage(), e);
+        }
+
+        LOGGER.info("Bibliothèque locale indexée : " + built.size() + " entrées en "
+            + (System.currentTimeMillis() - start) + "ms");
+        return built;
+    }
+
+    private void indexFile(Path file, Map<String, URL> built) {
+        try {
+            String[] tags = readId3Tags(file);
+            if (tags == null) {
+                tags = parseFileName(file);
+            }
+
+            String artist = tags[0];
+            String title = tags[1];
+            if (artist.isEmpty()) {
+                LOGGER.fine("Fichier ignoré, artiste inconnu : " + file);
+                return;
+            }
+            built.put(InputValidator.normalize(artist + " " + title), file.toUri().toURL());
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Fichier ignoré : " + file + " (" + e.getMessage() + ")", e);
+        }
+    }
+
+    private static boolean isAudioFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        for (String extension : AUDIO_EXTENSIONS) {
+            if (name.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Déduit artiste et titre du nom de fichier ("Artiste - Titre.mp3", sinon titre seul).
+     */
+    private static String[] parseFileName(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+
+        int separator = base.indexOf(" - ");
+        if (separator > 0) {
+            return new String[] {base.substring(0, separator).trim(), base.substring(separator + 3).trim()};
+        }
+        return new String[] {"", base.trim()};
+    }
+
+    /**
+     * Lit les frames TPE1 (artiste) et TIT2 (titre) d'un tag ID3v2.3 ou v2.4.
+     * @return {artiste, titre}, ou null si le fichier n'a pas de tag exploitable
+     */
+    private static String[] readId3Tags(Path file) throws IOException {
+        byte[] header = new byte[10];
+        byte[] tag;
+        try (InputStream in = Files.newInputStream(file)) {
+            if (in.readNBytes(header, 0, 10) < 10 || header[0] != 'I' || header[1] != 'D' || header[2] != '3') {
+                return null;
+            }
+            int version = header[3];
+            if (version != 3 && version != 4) {
+                return null;
+            }
+            int tagSize = syncSafe(header, 6);
+            tag = in.readNBytes(Math.min(tagSize, MAX_TAG_BYTES));
+        }
+
+        int version = header[3];
+        String artist = null;
+        String title = null;
+        int pos = 0;
+        while (pos + 10 <= tag.length && (artist == null || title == null)) {
+            if (tag[pos] == 0) {
+                break; // remplissage
+            }
+            String id = new String(tag, pos, 4, StandardCharsets.ISO_8859_1);
+            int size = version == 4 ? syncSafe(tag, pos + 4) : bigEndian(tag, pos + 4);
+            int dataStart = pos + 10;
+            if (size <= 0 || dataStart + size > tag.length) {
+                break;
+            }
+
+            if ("TPE1".equals(id)) {
+                artist = decodeText(tag, dataStart, size);
+            } else if ("TIT2".equals(id)) {
+                title = decodeText(tag, dataStart, size);
+            }
+            pos = dataStart + size;
+        }
+
+        if (title == null || title.isEmpty()) {
+            return null;
+        }
+        return new String[] {artist != null ? artist : "", title};
+    }
+
+    /**
+     * Décode une frame texte ID3 (premier octet = encodage).
+     */
+    private static String decodeText(byte[] data, int offset, int length) {
+        Charset charset;
+        switch (data[offset]) {
+            case 1: charset = StandardCharsets.UTF_16; break;
+            case 2: charset = StandardCharsets.UTF_16BE; break;
+            case 3: charset = StandardCharsets.UTF_8; break;
+            default: charset = StandardCharsets.ISO_8859_1; break;
+        }
+        String text = new String(data, offset + 1, length - 1, charset);
+        int end = text.indexOf('\0');
+        return (end >= 0 ? text.substring(0, end) : text).trim();
+    }
+
+    private static int syncSafe(byte[] data, int offset) {
+        return (data[offset] & 0x7F) << 21 | (data[offset + 1] & 0x7F) << 14
+            | (data[offset + 2] & 0x7F) << 7 | (data[offset + 3] & 0x7F);
+    }
+
+    private static int bigEndian(byte[] data, int offset) {
+        return (data[offset] & 0xFF) << 24 | (data[offset + 1] & 0xFF) << 16
+            | (data[offset + 2] & 0xFF) << 8 | (data[offset + 3] & 0xFF);
+    }
+}
@@ -0,0 +1,96 @@
+package com.blindtest.service;
+
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Lecteurs JavaFX inactifs conservés pour être réutilisés, indexés par source.
+ *
+ * <p>Un {@link MediaPlayer} reste lié à un seul média : seul un lecteur de la même source
+ * peut resservir (fichier de fallback, morceau rejoué, extrait préchargé non utilisé).
+ * Au-delà de la capacité, les lecteurs les moins récemment rendus sont libérés.</p>
+ */
+public class MediaPlayerPool {
+    private static final Logger LOGGER = Logger.getLogger(MediaPlayerPool.class.getName());
+
+    private final int capacity;
+    private final Map<String, MediaPlayer> idlePlayers = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Crée un pool vide.
+     * @param capacity Le nombre maximal de lecteurs inactifs conservés
+     */
+    public MediaPlayerPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Retourne un lecteur inactif pour cette source, ou en crée un.
+     * @param source L'URL du média
+     * @return Un lecteur arrêté, positionné au début du média
+     */
+    public MediaPlayer acquire(String source) {
+        MediaPlayer player;
+        synchronized (this) {
+            player = idlePlayers.remove(source);
+        }
+        if (player != null) {
+            LOGGER.fine("Lecteur réutilisé : " + source);
+            return player;
+        }
+        return new MediaPlayer(new Media(source));
+    }
+
+    /**
+     * Rend un lecteur au pool. Un lecteur en erreur est libéré immédiatement.
+     * @param player Le lecteur à rendre
+     */
+    public void release(MediaPlayer player) {
+        if (player == null) {
+            return;
+        }
+        player.stop();
+        if (player.getError() != null || player.getStatus() == MediaPlayer.Status.HALTED) {
+            player.dispose();
+            return;
+        }
+
+        MediaPlayer replaced;
+        synchronized (this) {
+            replaced = idlePlayers.put(player.getMedia().getSource(), player);
+            evictOverCapacity();
+        }
+        if (replaced != null && replaced != player) {
+            replaced.dispose();
+        }
+    }
+
+    private void evictOverCapacity() {
+        Iterator<MediaPlayer> eldest = idlePlayers.values().iterator();
+        while (idlePlayers.size() > capacity && eldest.hasNext()) {
+            eldest.next().dispose();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Libère tous les lecteurs inactifs.
+     */
+    public synchronized void clear() {
+        idlePlayers.values().forEach(MediaPlayer::dispose);
+        idlePlayers.clear();
+    }
+
+    /**
+     * Retourne le nombre de lecteurs inactifs.
+     * @return Le nombre de lecteurs conservés
+     */
+    public synchronized int size() {
+        return idlePlayers.size();
+    }
+}
@@ -3,39 +3,242 @@ package com.blindtest.service;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
 
 
 /**
  * Service général pour la persistance JSON.
  * Gère la sauvegarde et le chargement des données au format JSON.
+ *
+ * <p>Une sauvegarde n'écrase jamais le fichier en place : le contenu est écrit dans un fichier
+ * temporaire, synchronisé sur le disque, puis renommé atomiquement. Un arrêt brutal laisse donc
+ * l'ancienne ou la nouvelle version, jamais un fichier tronqué. Le CRC32 du contenu est conservé
+ * à côté ({@code fichier.crc}) et vérifié au chargement ; des copies de secours tournantes
+ * ({@code fichier.bak.1}, {@code .bak.2}...) peuvent être conservées. Si le fichier est
+ * corrompu, le chargement se rabat sur la plus récente copie de secours lisible, et le fichier
+ * corrompu est copié en {@code fichier.corrupt} avant d'être remplacé à la sauvegarde suivante.</p>
+ *
+ * <p>Le JSON est compact par défaut ; l'indentation est sur demande ({@code pretty}).
+ * Pour les longues listes, {@link #streamList} et {@link #openListWriter} lisent et écrivent
+ * un élément à la fois, en mémoire constante.</p>
+ *
+ * <p>Écriture différée : {@link #saveAsync} et {@link #appendAsync} ne font que mettre l'écriture
+ * en file. Les sauvegardes successives d'un même fichier sont fusionnées (seule la dernière
+ * version est écrite) et les ajouts sont regroupés en une seule écriture synchronisée par
+ * fichier. La file est vidée par un thread d'arrière-plan au plus tard {@value #FLUSH_INTERVAL_MS} ms
+ * après la première écriture en attente, dès {@link #requestFlush()} (fin de partie),
+ * par {@link #flush()} (tests) ou à l'arrêt de la JVM. Un chargement vide d'abord la file.</p>
  */
 public class PersistenceService {
     // Utilise l'adaptateur pour LocalDateTime pour gérer la date dans les scores
     private static final Gson gson = new GsonBuilder()
             .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter()) //
+            .create();
+    // Indentation sur demande, pour les fichiers destinés à être lus ou modifiés à la main
+    private static final Gson prettyGson = gson.newBuilder()
             .setPrettyPrinting()
             .create();
 
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String CHECKSUM_SUFFIX = ".crc";
+    private static final String BACKUP_SUFFIX = ".bak.";
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+    // Nombre maximal de copies de secours recherchées au chargement
+    private static final int MAX_BACKUPS = 5;
+
+    // Délai maximal avant l'écriture d'une sauvegarde ou d'un ajout en attente
+    static final long FLUSH_INTERVAL_MS = 500;
+
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "persistence-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Écritures en attente par fichier, dans l'ordre de leur première mise en file (protégé par QUEUE)
+    private static final Map<Path, PendingWrite> QUEUE = new LinkedHashMap<>();
+    private static boolean flushScheduled = false;
+    // Sérialise les vidages : un chargement attend la fin d'un vidage en cours
+    private static final Object FLUSH_LOCK = new Object();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(PersistenceService::flush, "persistence-flush"));
+    }
+
     /**
-     * Sauvegarde un objet au format JSON dans un fichier.
+     * Écriture en attente d'un fichier : remplacement complet (dernière version) et/ou
+     * octets à ajouter en fin de fichier.
+     */
+    private static class PendingWrite {
+        byte[] content;
+        int backups;
+        final ByteArrayOutputStream appended = new ByteArrayOutputStream();
+        final List<CompletableFuture<Void>> waiters = new ArrayList<>();
+    }
+
+    /**
+     * Sauvegarde un objet au format JSON dans un fichier, sans copie de secours.
      * @param object L'objet à sauvegarder
      * @param path Le chemin du fichier
      * @throws IOException En cas d'erreur d'écriture
      */
     public static void save(Object object, String path) throws IOException {
-        ensureDirectoryExists(path); // Assure que le dossier "data/" existe
-        try (FileWriter writer = new FileWriter(path)) {
-            gson.toJson(object, writer);
+        save(object, path, 0);
+    }
+
+    /**
+     * Sauvegarde un objet au format JSON dans un fichier (écriture atomique et durable).
+     * @param object L'objet à sauvegarder
+     * @param path Le chemin du fichier
+     * @param backups Le nombre de versions précédentes à conserver en copie de secours
+     * @throws IOException En cas d'erreur d'écriture (le fichier existant est alors intact)
+     */
+    public static void save(Object object, String path, int backups) throws IOException {
+        save(object, path, backups, false);
+    }
+
+    /**
+     * Sauvegarde un objet au format JSON dans un fichier (écriture atomique et durable).
+     * @param object L'objet à sauvegarder
+     * @param path Le chemin du fichier
+     * @param backups Le nombre de versions précédentes à conserver en copie de secours
+     * @param pretty true pour indenter le JSON (fichier lisible à la main)
+     * @throws IOException En cas d'erreur d'écriture (le fichier existant est alors intact)
+     */
+    public static void save(Object object, String path, int backups, boolean pretty) throws IOException {
+        CompletableFuture<Void> write = enqueue(path, serialize(object, pretty), backups, null);
+        flush();
+        try {
+            write.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Sauvegarde un objet en arrière-plan. L'objet est sérialisé immédiatement (il peut être
+     * modifié dès le retour) ; seule l'écriture disque est différée, et fusionnée avec
+     * les sauvegardes suivantes du même fichier.
+     * @param object L'objet à sauvegarder
+     * @param path Le chemin du fichier
+     * @param backups Le nombre de versions précédentes à conserver en copie de secours
+     * @return Une tâche terminée une fois le fichier remplacé, ou en échec avec l'erreur d'écriture
+     */
+    public static CompletableFuture<Void> saveAsync(Object object, String path, int backups) {
+        return saveAsync(object, path, backups, false);
+    }
+
+    /**
+     * Sauvegarde un objet en arrière-plan (voir {@link #saveAsync(Object, String, int)}).
+     * @param object L'objet à sauvegarder
+     * @param path Le chemin du fichier
+     * @param backups Le nombre de versions précédentes à conserver en copie de secours
+     * @param pretty true pour indenter le JSON (fichier lisible à la main)
+     * @return Une tâche terminée une fois le fichier remplacé, ou en échec avec l'erreur d'écriture
+     */
+    public static CompletableFuture<Void> saveAsync(Object object, String path, int backups, boolean pretty) {
+        return enqueue(path, serialize(object, pretty), backups, null);
+    }
+
+    /**
+     * Ajoute des octets en fin de fichier, en arrière-plan. Les ajouts en attente sur un même
+     * fichier sont écrits ensemble, avec une seule synchronisation disque.
+     * @param path Le chemin du fichier (créé au besoin)
+     * @param data Les octets à ajouter (par exemple une ligne JSON terminée par un saut de ligne)
+     * @return Une tâche terminée une fois les octets écrits, ou en échec avec l'erreur d'écriture
+     */
+    public static CompletableFuture<Void> appendAsync(String path, byte[] data) {
+        return enqueue(path, null, 0, data);
+    }
+
+    /**
+     * Demande l'écriture immédiate, en arrière-plan, de tout ce qui est en attente
+     * (par exemple les scores d'une partie qui vient de se terminer).
+     */
+    public static void requestFlush() {
+        FLUSHER.execute(PersistenceService::flush);
+    }
+
+    /**
+     * Écrit tout ce qui est en attente et ne rend la main qu'une fois les fichiers écrits
+     * (arrêt de l'application, tests). Les erreurs sont transmises aux tâches concernées.
+     */
+    public static void flush() {
+        Map<Path, PendingWrite> batch;
+        Map<CompletableFuture<Void>, IOException> results = new LinkedHashMap<>();
+        synchronized (FLUSH_LOCK) {
+            synchronized (QUEUE) {
+                batch = new LinkedHashMap<>(QUEUE);
+                QUEUE.clear();
+                flushScheduled = false;
+            }
+            for (Map.Entry<Path, PendingWrite> entry : batch.entrySet()) {
+                IOException error = null;
+                try {
+                    writePending(entry.getKey(), entry.getValue());
+                } catch (IOException e) {
+                    error = e;
+                    System.err.println("[PersistenceService] ERREUR: Écriture impossible de "
+                            + entry.getKey() + ": " + e.getMessage());
+                }
+                for (CompletableFuture<Void> waiter : entry.getValue().waiters) {
+                    results.put(waiter, error);
+                }
+            }
         }
+        // Hors du verrou : les suites des tâches peuvent prendre leurs propres verrous
+        results.forEach((waiter, error) -> {
+            if (error == null) {
+                waiter.complete(null);
+            } else {
+                waiter.completeExceptionally(error);
+            }
+        });
     }
 
     /**
@@ -43,47 +246,511 @@ public class PersistenceService {
      * @param path Le chemin du fichier
      * @param classOfT La classe de l'objet
      * @param <T> Le type de l'objet
-     * @return L'objet chargé, ou null si le fichier n'existe pas ou en cas d'erreur
+     * @return L'objet chargé (ou celui de la plus récente copie de secours lisible),
+     *         ou null si le fichier n'existe pas ou en cas d'erreur
      */
     public static <T> T load(String path, Class<T> classOfT) {
-        File file = new File(path);
-        if (!file.exists()) {
+        return loadVerified(path, false, json -> gson.fromJson(json, classOfT));
+    }
+
+    /**
+     * Charge un objet depuis un fichier JSON que l'utilisateur peut modifier à la main
+     * (paramètres). Une somme de contrôle qui ne correspond plus est tolérée si le fichier
+     * a été modifié après elle : c'est une modification manuelle, pas une écriture
+     * interrompue. Le fichier doit toutefois rester lisible, sinon même repli que
+     * {@link #load(String, Class)}.
+     * @param path Le chemin du fichier
+     * @param classOfT La classe de l'objet
+     * @param <T> Le type de l'objet
+     * @return L'objet chargé, ou null si le fichier n'existe pas ou en cas d'erreur
+     */
+    public static <T> T loadEditable(String path, Class<T> classOfT) {
+        return loadVerified(path, true, json -> gson.fromJson(json, classOfT));
+    }
+
+
+    /**
+     * Charge une liste d'objets depuis un fichier JSON.
+     * @param path Le chemin du fichier
+     * @param typeToken Le TypeToken pour la liste (ex: {@code new TypeToken<List<Score>>(){}})
+     * @param <T> Le type des éléments de la liste
+     * @return La liste chargée (ou celle de la plus récente copie de secours lisible),
+     *         ou une liste vide si le fichier n'existe pas ou en cas d'erreur
+     */
+    public static <T> List<T> loadList(String path, TypeToken<List<T>> typeToken) {
+        Type type = typeToken.getType();
+        // fromJson retourne null pour un fichier vide, d'où la liste vide par défaut
+        List<T> loadedList = loadVerified(path, false, json -> gson.fromJson(json, type));
+        return loadedList != null ? loadedList : new ArrayList<>();
+    }
+
+    /**
+     * Parcourt un tableau JSON élément par élément, sans le charger entièrement en mémoire.
+     * La somme de contrôle est vérifiée au préalable (lecture en flux) ; si elle échoue,
+     * la plus récente copie de secours est parcourue à la place. Le flux doit être fermé
+     * (try-with-resources). Un élément illisible en cours de lecture lève une
+     * {@link JsonParseException}, une erreur d'entrée/sortie une {@link UncheckedIOException}.
+     * @param path Le chemin du fichier
+     * @param type La classe des éléments
+     * @param <T> Le type des éléments
+     * @return Un flux paresseux des éléments, vide si le fichier n'existe pas
+     * @throws IOException En cas d'erreur à l'ouverture du fichier
+     */
+    public static <T> Stream<T> streamList(String path, Class<T> type) throws IOException {
+        flush();
+        Path source = verifiedSource(Paths.get(path));
+        if (source == null) {
+            return Stream.empty();
+        }
+
+        JsonReader reader = gson.newJsonReader(Files.newBufferedReader(source, StandardCharsets.UTF_8));
+        try {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.close();
+                return Stream.empty();
+            }
+            reader.beginArray();
+        } catch (IOException | IllegalStateException e) {
+            reader.close();
+            throw new IOException("Tableau JSON attendu dans " + source, e);
+        }
+
+        Iterator<T> elements = new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return reader.hasNext();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return gson.fromJson(reader, type);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Ouvre un tableau JSON en écriture, élément par élément. Le fichier n'est remplacé
+     * (atomiquement, avec somme de contrôle) qu'à la fermeture de l'écrivain.
+     * @param path Le chemin du fichier
+     * @param type La classe des éléments
+     * @param pretty true pour indenter le JSON
+     * @param <T> Le type des éléments
+     * @return L'écrivain, à fermer (try-with-resources)
+     * @throws IOException En cas d'erreur à la création du fichier temporaire
+     */
+    public static <T> ListWriter<T> openListWriter(String path, Class<T> type, boolean pretty) throws IOException {
+        return openListWriter(path, type, pretty, true);
+    }
+
+    /**
+     * Ouvre un tableau JSON en écriture, élément par élément, remplacé atomiquement à la fermeture.
+     * Sans somme de contrôle, aucun fichier annexe n'est écrit : c'est le cas des fichiers
+     * destinés à l'utilisateur (exports), que l'application ne relit pas.
+     * @param path Le chemin du fichier
+     * @param type La classe des éléments
+     * @param pretty true pour indenter le JSON
+     * @param checksum true pour écrire la somme de contrôle (.crc) vérifiée au chargement
+     * @param <T> Le type des éléments
+     * @return L'écrivain, à fermer (try-with-resources)
+     * @throws IOException En cas d'erreur à la création du fichier temporaire
+     */
+    public static <T> ListWriter<T> openListWriter(String path, Class<T> type, boolean pretty, boolean checksum)
+            throws IOException {
+        flush();
+        return new ListWriter<>(Paths.get(path), type, pretty, checksum);
+    }
+
+    /**
+     * Écrivain de tableau JSON : chaque élément est sérialisé directement dans le fichier
+     * temporaire, puis le fichier est validé à la fermeture. Si {@link #close()} n'est pas
+     * atteint (exception en cours d'écriture), {@link #abort()} supprime le fichier temporaire.
+     * @param <T> Le type des éléments
+     */
+    public static final class ListWriter<T> implements Closeable {
+        private final Path path;
+        private final Path tempPath;
+        private final Class<T> type;
+        private final Gson writerGson;
+        private final CRC32 crc = new CRC32();
+        private final boolean checksum;
+        private final FileChannel channel;
+        private final JsonWriter writer;
+        private boolean closed = false;
+
+        private ListWriter(Path path, Class<T> type, boolean pretty, boolean checksum) throws IOException {
+            ensureDirectoryExists(path.toString());
+            this.path = path;
+            this.checksum = checksum;
+            this.tempPath = sibling(path, TEMP_SUFFIX);
+            this.type = type;
+            this.writerGson = pretty ? prettyGson : gson;
+            this.channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            OutputStream out = new CheckedOutputStream(Channels.newOutputStream(channel), crc);
+            this.writer = writerGson.newJsonWriter(
+                    new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+            writer.beginArray();
+        }
+
+        /**
+         * Ajoute un élément en fin de tableau.
+         * @param element L'élément
+         * @throws IOException En cas d'erreur d'écriture
+         */
+        public void write(T element) throws IOException {
+            writerGson.toJson(element, type, writer);
+        }
+
+        /**
+         * Termine le tableau, synchronise le fichier et remplace l'ancien atomiquement.
+         * @throws IOException En cas d'erreur (l'ancien fichier est alors intact)
+         */
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            try {
+                writer.endArray();
+                writer.flush();
+                channel.force(true);
+                writer.close();
+                closed = true;
+            } catch (IOException e) {
+                abort();
+                throw e;
+            }
+            if (checksum) {
+                commit(tempPath, path, crc, 0);
+            } else {
+                // Une somme de contrôle laissée par une version précédente ne correspondrait plus
+                Files.deleteIfExists(sibling(path, CHECKSUM_SUFFIX));
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                syncDirectory(path);
+            }
+        }
+
+        /**
+         * Abandonne l'écriture : le fichier temporaire est supprimé, l'ancien fichier reste intact.
+         */
+        public void abort() {
+            closed = true;
+            try {
+                writer.close();
+            } catch (IOException e) {
+                // Fichier temporaire supprimé ci-dessous
+            }
+            try {
+                Files.deleteIfExists(tempPath);
+            } catch (IOException e) {
+                System.err.println("[PersistenceService] AVERTISSEMENT: Fichier temporaire non supprimé " + tempPath);
+            }
+        }
+    }
+
+    // ===============================
+    // ÉCRITURE
+    // ===============================
+
+    private static byte[] serialize(Object object, boolean pretty) {
+        return (pretty ? prettyGson : gson).toJson(object).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Met une écriture en file : un remplacement complet écarte tout ce qui l'a précédé
+     * pour ce fichier, un ajout se place après.
+     */
+    private static CompletableFuture<Void> enqueue(String path, byte[] content, int backups, byte[] appended) {
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        synchronized (QUEUE) {
+            PendingWrite pending = QUEUE.computeIfAbsent(Paths.get(path).toAbsolutePath().normalize(),
+                    k -> new PendingWrite());
+            if (content != null) {
+                pending.content = content;
+                pending.backups = backups;
+                pending.appended.reset();
+            }
+            if (appended != null) {
+                pending.appended.write(appended, 0, appended.length);
+            }
+            pending.waiters.add(waiter);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                FLUSHER.schedule(PersistenceService::flush, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+        return waiter;
+    }
+
+    private static void writePending(Path path, PendingWrite pending) throws IOException {
+        if (pending.content != null) {
+            byte[] content = pending.content;
+            if (pending.appended.size() > 0) {
+                ByteArrayOutputStream combined = new ByteArrayOutputStream(content.length + pending.appended.size());
+                combined.write(content, 0, content.length);
+                pending.appended.writeTo(combined);
+                content = combined.toByteArray();
+            }
+            write(content, path, pending.backups);
+        } else if (pending.appended.size() > 0) {
+            append(path, pending.appended.toByteArray());
+        }
+    }
+
+    /**
+     * Ajoute des octets en fin de fichier puis synchronise le fichier sur le disque.
+     * Pour un ajout de lignes (terminé par un saut de ligne), une dernière ligne laissée
+     * incomplète par un arrêt brutal est d'abord terminée : la nouvelle ligne ne s'y colle pas.
+     */
+    private static void append(Path path, byte[] data) throws IOException {
+        ensureDirectoryExists(path.toString());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            if (size > 0 && data.length > 0 && data[data.length - 1] == '\n' && !endsWithNewline(channel, size)) {
+                byte[] terminated = new byte[data.length + 1];
+                terminated[0] = '\n';
+                System.arraycopy(data, 0, terminated, 1, data.length);
+                buffer = ByteBuffer.wrap(terminated);
+            }
+            channel.position(size);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    private static boolean endsWithNewline(FileChannel channel, long size) throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        return last.get(0) == '\n';
+    }
+
+    /**
+     * Écrit le contenu dans un fichier temporaire synchronisé, fait tourner les copies de secours,
+     * écrit la somme de contrôle puis remplace le fichier par renommage atomique.
+     */
+    private static void write(byte[] content, Path path, int backups) throws IOException {
+        ensureDirectoryExists(path.toString());
+        Path tempPath = sibling(path, TEMP_SUFFIX);
+        writeDurably(tempPath, content);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        commit(tempPath, path, crc, backups);
+    }
+
+    /**
+     * Remplace le fichier par le fichier temporaire déjà synchronisé, après rotation
+     * des copies de secours et écriture de la somme de contrôle.
+     */
+    private static void commit(Path tempPath, Path path, CRC32 crc, int backups) throws IOException {
+        if (backups > 0 && Files.exists(path)) {
+            rotateBackups(path, backups);
+        }
+
+        // La somme de contrôle précède le renommage et garde celle de la version actuelle :
+        // après un arrêt brutal entre les deux, l'ancien fichier reste accepté
+        Path checksumPath = sibling(path, CHECKSUM_SUFFIX);
+        Path checksumTemp = sibling(checksumPath, TEMP_SUFFIX);
+        String checksums = Long.toHexString(crc.getValue());
+        List<String> previous = readChecksums(checksumPath);
+        if (!previous.isEmpty()) {
+            checksums += "\n" + previous.get(0);
+        }
+        writeDurably(checksumTemp, checksums.getBytes(StandardCharsets.US_ASCII));
+        Files.move(checksumTemp, checksumPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(path);
+    }
+
+    private static void writeDurably(Path path, byte[] content) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Décale les copies de secours (.bak.1 devient .bak.2...) et copie la version actuelle en .bak.1.
+     */
+    private static void rotateBackups(Path path, int backups) throws IOException {
+        Files.deleteIfExists(sibling(path, BACKUP_SUFFIX + backups));
+        for (int i = backups - 1; i >= 1; i--) {
+            Path backup = sibling(path, BACKUP_SUFFIX + i);
+            if (Files.exists(backup)) {
+                Files.move(backup, sibling(path, BACKUP_SUFFIX + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.copy(path, sibling(path, BACKUP_SUFFIX + 1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Synchronise le répertoire pour rendre le renommage durable (sans effet sur les systèmes
+     * qui ne permettent pas d'ouvrir un répertoire, comme Windows).
+     */
+    private static void syncDirectory(Path path) {
+        Path directory = path.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Non supporté sur cette plateforme : le renommage reste atomique
+        }
+    }
+
+    // ===============================
+    // LECTURE
+    // ===============================
+
+    /**
+     * Lit le fichier en vérifiant sa somme de contrôle, avec repli sur les copies de secours.
+     */
+    private static <T> T loadVerified(String path, boolean acceptEdits, Function<String, T> parser) {
+        flush();
+        Path file = Paths.get(path);
+        if (!Files.exists(file)) {
             return null;
         }
-        try (FileReader reader = new FileReader(file)) {
-            return gson.fromJson(reader, classOfT);
-        } catch (IOException | JsonSyntaxException e) {
+
+        try {
+            byte[] content = Files.readAllBytes(file);
+            if (checksumMatches(file, content)) {
+                return parser.apply(new String(content, StandardCharsets.UTF_8));
+            }
+            if (acceptEdits && modifiedAfterChecksum(file)) {
+                T value = parser.apply(new String(content, StandardCharsets.UTF_8));
+                if (value != null) {
+                    System.out.println("[PersistenceService] Fichier modifié hors de l'application : " + path);
+                    return value;
+                }
+            }
+            System.err.println("[PersistenceService] Somme de contrôle invalide : " + path);
+        } catch (IOException | JsonParseException e) {
             // Fichier corrompu ou erreur de lecture
             System.err.println("[PersistenceService] Erreur de chargement " + path + ": " + e.getMessage());
+        }
+
+        preserveCorrupted(file);
+        for (int i = 1; i <= MAX_BACKUPS; i++) {
+            Path backup = sibling(file, BACKUP_SUFFIX + i);
+            if (!Files.exists(backup)) {
+                continue;
+            }
+            try {
+                T value = parser.apply(new String(Files.readAllBytes(backup), StandardCharsets.UTF_8));
+                if (value != null) {
+                    System.err.println("[PersistenceService] Copie de secours utilisée : " + backup);
+                    return value;
+                }
+            } catch (IOException | JsonParseException e) {
+                System.err.println("[PersistenceService] Copie de secours illisible " + backup + ": " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Choisit le fichier à parcourir en flux : le fichier lui-même si sa somme de contrôle
+     * (calculée en flux) est valide, sinon la plus récente copie de secours.
+     */
+    private static Path verifiedSource(Path file) throws IOException {
+        if (!Files.exists(file)) {
             return null;
         }
+        List<String> expected = readChecksums(sibling(file, CHECKSUM_SUFFIX));
+        if (expected.isEmpty()) {
+            return file;
+        }
+        CRC32 crc = new CRC32();
+        try (InputStream in = new CheckedInputStream(Files.newInputStream(file), crc)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        if (expected.contains(Long.toHexString(crc.getValue()))) {
+            return file;
+        }
+
+        System.err.println("[PersistenceService] Somme de contrôle invalide : " + file);
+        preserveCorrupted(file);
+        for (int i = 1; i <= MAX_BACKUPS; i++) {
+            Path backup = sibling(file, BACKUP_SUFFIX + i);
+            if (Files.exists(backup)) {
+                System.err.println("[PersistenceService] Copie de secours utilisée : " + backup);
+                return backup;
+            }
+        }
+        throw new IOException("Fichier corrompu sans copie de secours : " + file);
     }
 
+    /**
+     * Vérifie le contenu contre les sommes de contrôle enregistrées (nouvelle version, puis
+     * précédente). Un fichier sans somme de contrôle (écrit avant son introduction) est accepté.
+     */
+    private static boolean checksumMatches(Path file, byte[] content) throws IOException {
+        List<String> expected = readChecksums(sibling(file, CHECKSUM_SUFFIX));
+        return expected.isEmpty() || expected.contains(checksum(content));
+    }
 
     /**
-     * Charge une liste d'objets depuis un fichier JSON.
-     * @param path Le chemin du fichier
-     * @param typeToken Le TypeToken pour la liste (ex: {@code new TypeToken<List<Score>>(){}})
-     * @param <T> Le type des éléments de la liste
-     * @return La liste chargée, ou une liste vide si le fichier n'existe pas ou en cas d'erreur
+     * Le fichier a-t-il été modifié après l'écriture de sa somme de contrôle ? Une écriture
+     * de l'application produit toujours le fichier avant sa somme de contrôle.
      */
-    public static <T> List<T> loadList(String path, TypeToken<List<T>> typeToken) {
-        File file = new File(path);
-        if (!file.exists()) {
-            return new ArrayList<>(); // Retourne une liste vide au lieu de null
-        }
-        try (FileReader reader = new FileReader(file)) {
-            Type type = typeToken.getType();
-            // L'appel à fromJson peut retourner null si le fichier est vide ou mal formaté,
-            // d'où l'utilisation de la liste vide par défaut.
-            List<T> loadedList = gson.fromJson(reader, type);
-            return loadedList != null ? loadedList : new ArrayList<>();
+    private static boolean modifiedAfterChecksum(Path file) throws IOException {
+        Path checksumPath = sibling(file, CHECKSUM_SUFFIX);
+        return Files.exists(checksumPath)
+                && Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(checksumPath)) > 0;
+    }
+
+    private static List<String> readChecksums(Path checksumPath) throws IOException {
+        List<String> checksums = new ArrayList<>();
+        if (Files.exists(checksumPath)) {
+            for (String line : Files.readAllLines(checksumPath, StandardCharsets.US_ASCII)) {
+                if (!line.isBlank()) {
+                    checksums.add(line.trim().toLowerCase());
+                }
+            }
+        }
+        return checksums;
+    }
+
+    private static String checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return Long.toHexString(crc.getValue());
+    }
+
+    private static void preserveCorrupted(Path file) {
+        try {
+            Files.copy(file, sibling(file, CORRUPT_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
-            System.err.println("[PersistenceService] Erreur de lecture de la liste " + path + ": " + e.getMessage());
-            return new ArrayList<>();
+            System.err.println("[PersistenceService] AVERTISSEMENT: Impossible de conserver le fichier corrompu " + file);
         }
     }
 
+    private static Path sibling(Path path, String suffix) {
+        return path.resolveSibling(path.getFileName() + suffix);
+    }
+
     /**
      * Assure que le répertoire parent du fichier existe.
      * Cette méthode est appelée par save().
@@ -30,7 +30,11 @@ public class PlaylistService {
      * @return La playlist chargée ou null si erreur
      */
     public Playlist loadPlaylist(String path) {
-        return PersistenceService.load(path, Playlist.class);
+        Playlist playlist = PersistenceService.load(path, Playlist.class);
+        if (playlist != null && playlist.getTracks() != null) {
+            AutocompleteService.registerTracks(playlist.getTracks());
+        }
+        return playlist;
     }
 
     /**
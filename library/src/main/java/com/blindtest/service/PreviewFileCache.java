@@ -0,0 +1,283 @@
+package com.blindtest.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Cache disque des extraits audio téléchargés.
+ *
+ * <p>Chaque extrait est stocké sous un nom dérivé du SHA-256 de son URL sans la partie requête :
+ * les URLs d'extraits Deezer portent une signature à durée limitée (hdnea, exp, hmac) qui change
+ * à chaque résolution, alors que le chemin désigne toujours le même extrait. Une nouvelle
+ * résolution du même morceau retombe ainsi sur le même fichier. La taille totale est bornée : au-delà, les fichiers les
+ * moins récemment lus sont supprimés. L'ordre d'utilisation survit aux redémarrages via la date
+ * de modification des fichiers, mise à jour à chaque lecture.</p>
+ */
+public class PreviewFileCache {
+    private static final Logger LOGGER = Logger.getLogger(PreviewFileCache.class.getName());
+
+    private static final String EXTENSION = ".mp3";
+    private static final String TEMP_EXTENSION = ".part";
+    // Un extrait de 30 secondes fait moins de 1 Mo : au-delà, ce n'est pas un extrait
+    private static final long MAX_FILE_BYTES = 5 * 1024 * 1024;
+    private static final int CONNECTION_TIMEOUT_MS = 5000;
+    private static final int READ_TIMEOUT_MS = 10000;
+
+    private static final int DOWNLOAD_THREADS = 2;
+    private static final AtomicInteger DOWNLOAD_THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService DOWNLOAD_EXECUTOR = Executors.newFixedThreadPool(DOWNLOAD_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "preview-download-" + DOWNLOAD_THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path directory;
+    private final long maxBytes;
+    // Nom de fichier -> taille, du moins au plus récemment utilisé
+    private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<String> downloads = ConcurrentHashMap.newKeySet();
+    private long totalBytes = 0;
+
+    /**
+     * Crée le cache et indexe les extraits déjà présents dans le dossier.
+     * @param directory Le dossier de stockage
+     * @param maxBytes La taille totale maximale en octets
+     */
+    public PreviewFileCache(String directory, long maxBytes) {
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+        loadIndex();
+    }
+
+    /**
+     * Reconstitue l'index depuis le dossier (ordre LRU = date de modification).
+     */
+    private void loadIndex() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        try (Stream<Path> entries = Files.list(directory)) {
+            entries.filter(Files::isRegularFile)
+                .sorted(Comparator.comparing(PreviewFileCache::lastModified))
+                .forEach(file -> {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(TEMP_EXTENSION)) {
+                        deleteQuietly(file); // téléchargement interrompu
+                    } else if (name.endsWith(EXTENSION)) {
+                        long size = file.toFile().length();
+                        files.put(name, size);
+                        totalBytes += size;
+                    }
+                });
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Erreur lecture cache d'extraits : " + e.getMessage(), e);
+        }
+        evictIfNeeded();
+        LOGGER.info("Cache d'extraits : " + files.size() + " fichiers, " + totalBytes / 1024 + " Ko");
+    }
+
+    /**
+     * Retourne la copie locale d'un extrait si elle existe, l'URL d'origine sinon.
+     * Les URLs déjà locales (file:) sont retournées telles quelles.
+     * @param url L'URL distante de l'extrait
+     * @return L'URL file: de la copie locale, ou l'URL d'origine
+     */
+    public URL resolve(URL url) {
+        if (url == null || "file".equals(url.getProtocol())) {
+            return url;
+        }
+
+        String name = fileName(url);
+        synchronized (this) {
+            if (files.get(name) == null) {
+                return url;
+            }
+        }
+
+        Path file = directory.resolve(name);
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return file.toUri().toURL();
+        } catch (IOException e) {
+            // Fichier supprimé de l'extérieur : on l'oublie et on repasse par le réseau
+            forget(name);
+            return url;
+        }
+    }
+
+    /**
+     * Vérifie si un extrait est déjà sur disque.
+     * @param url L'URL distante de l'extrait
+     * @return true si une copie locale existe
+     */
+    public synchronized boolean contains(URL url) {
+        return url != null && files.containsKey(fileName(url));
+    }
+
+    /**
+     * Télécharge l'extrait en tâche de fond s'il n'est pas déjà en cache ni en cours de téléchargement.
+     * @param url L'URL distante de l'extrait
+     * @return La tâche de téléchargement, ou null si rien n'est à faire
+     */
+    public Future<?> downloadAsync(URL url) {
+        if (url == null || "file".equals(url.getProtocol()) || contains(url)) {
+            return null;
+        }
+
+        String name = fileName(url);
+        if (!downloads.add(name)) {
+            return null;
+        }
+        return DOWNLOAD_EXECUTOR.submit(() -> {
+            try {
+                download(url, name);
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Téléchargement d'extrait impossible : " + e.getMessage(), e);
+            } finally {
+                downloads.remove(name);
+            }
+        });
+    }
+
+    /**
+     * Télécharge l'extrait dans un fichier temporaire puis le renomme atomiquement.
+     */
+    private void download(URL url, String name) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(name + TEMP_EXTENSION);
+        Path target = directory.resolve(name);
+
+        URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(CONNECTION_TIMEOUT_MS);
+        connection.setReadTimeout(READ_TIMEOUT_MS);
+        connection.setRequestProperty("User-Agent", "BlindTest/1.0");
+        if (connection instanceof HttpURLConnection
+                && ((HttpURLConnection) connection).getResponseCode() != HttpURLConnection.HTTP_OK) {
+            throw new IOException("HTTP error " + ((HttpURLConnection) connection).getResponseCode());
+        }
+
+        long size = 0;
+        try (InputStream in = connection.getInputStream();
+             OutputStream out = Files.newOutputStream(temp)) {
+            byte[] buffer = new byte[16 * 1024];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                size += read;
+                if (size > MAX_FILE_BYTES) {
+                    throw new IOException("Extrait trop volumineux : " + url);
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw e;
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        synchronized (this) {
+            Long previous = files.put(name, size);
+            totalBytes += size - (previous != null ? previous : 0);
+            evictIfNeeded();
+        }
+        LOGGER.fine("Extrait mis en cache disque : " + url);
+    }
+
+    /**
+     * Supprime les fichiers les moins récemment utilisés jusqu'à repasser sous la taille maximale.
+     */
+    private synchronized void evictIfNeeded() {
+        Iterator<Map.Entry<String, Long>> eldest = files.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            eldest.remove();
+            totalBytes -= entry.getValue();
+            deleteQuietly(directory.resolve(entry.getKey()));
+        }
+    }
+
+    private synchronized void forget(String name) {
+        Long size = files.remove(name);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    /**
+     * Supprime tous les extraits du disque.
+     */
+    public synchronized void clear() {
+        for (String name : files.keySet()) {
+            deleteQuietly(directory.resolve(name));
+        }
+        files.clear();
+        totalBytes = 0;
+    }
+
+    /**
+     * Retourne la taille totale des extraits en cache.
+     * @return La taille en octets
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Nom de fichier stable dérivé de l'URL, sans sa requête (signature temporaire) ni son ancre.
+     */
+    private static String fileName(URL url) {
+        String key = url.getProtocol() + "://" + url.getAuthority() + url.getPath();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2 + EXTENSION.length());
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.append(EXTENSION).toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Suppression impossible : " + file, e);
+        }
+    }
+}
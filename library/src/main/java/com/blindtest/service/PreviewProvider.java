@@ -0,0 +1,26 @@
+package com.blindtest.service;
+
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * Source d'extraits audio pour une requête "artiste titre".
+ * Les implémentations peuvent être chaînées avec {@link PreviewProviderChain}.
+ */
+public interface PreviewProvider {
+
+    /**
+     * Retourne le nom de la source (pour les logs).
+     * @return Le nom de la source
+     */
+    String getName();
+
+    /**
+     * Recherche l'extrait correspondant à la requête.
+     * @param query La requête de recherche
+     * @return L'URL de l'extrait, ou null si la source ne connaît pas ce morceau
+     * @throws IOException Si la source est injoignable ou répond en erreur
+     * @throws InterruptedException Si la recherche est annulée
+     */
+    URL findPreview(String query) throws IOException, InterruptedException;
+}
@@ -0,0 +1,108 @@
+package com.blindtest.service;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Interroge plusieurs sources d'extraits dans l'ordre, chacune avec son propre délai maximal.
+ * La première URL trouvée est retenue. Si aucune source ne trouve le morceau et qu'au moins
+ * une a échoué (erreur ou délai dépassé), l'échec est remonté plutôt qu'une absence de résultat.
+ */
+public class PreviewProviderChain implements PreviewProvider {
+    private static final Logger LOGGER = Logger.getLogger(PreviewProviderChain.class.getName());
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "preview-provider-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<PreviewProvider> providers = new ArrayList<>();
+    private final List<Long> timeoutsMs = new ArrayList<>();
+
+    /**
+     * Ajoute une source en fin de chaîne.
+     * @param provider La source
+     * @param timeoutMs Le délai maximal accordé à cette source, ou 0 pour l'appeler
+     *                  directement sur le thread courant (sources locales instantanées)
+     * @return Cette chaîne
+     */
+    public PreviewProviderChain add(PreviewProvider provider, long timeoutMs) {
+        providers.add(provider);
+        timeoutsMs.add(timeoutMs);
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        StringBuilder name = new StringBuilder();
+        for (PreviewProvider provider : providers) {
+            if (name.length() > 0) {
+                name.append(" > ");
+            }
+            name.append(provider.getName());
+        }
+        return name.toString();
+    }
+
+    @Override
+    public URL findPreview(String query) throws IOException, InterruptedException {
+        IOException failure = null;
+        for (int i = 0; i < providers.size(); i++) {
+            PreviewProvider provider = providers.get(i);
+            try {
+                URL preview = call(provider, query, timeoutsMs.get(i));
+                if (preview != null) {
+                    LOGGER.fine(provider.getName() + " : extrait trouvé pour " + query);
+                    return preview;
+                }
+            } catch (CircuitOpenException e) {
+                // Échec immédiat attendu tant que le disjoncteur est ouvert : son changement
+                // d'état est déjà journalisé, pas une alerte par recherche
+                LOGGER.log(Level.FINE, provider.getName() + " suspendu : " + e.getMessage());
+                failure = e;
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, provider.getName() + " indisponible : " + e.getMessage());
+                failure = e;
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+        return null;
+    }
+
+    private URL call(PreviewProvider provider, String query, long timeoutMs)
+            throws IOException, InterruptedException {
+        if (timeoutMs <= 0) {
+            return provider.findPreview(query);
+        }
+
+        Future<URL> task = EXECUTOR.submit(() -> provider.findPreview(query));
+        try {
+            return task.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            task.cancel(true);
+            throw new IOException("Délai de " + timeoutMs + "ms dépassé", e);
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.blindtest.service;
+
+import com.blindtest.model.Track;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Morceaux joués récemment, toutes parties confondues (en mémoire, le temps de la session).
+ *
+ * <p>Le choix des morceaux d'une partie les relègue après les autres : une partie relancée
+ * ne repropose pas ceux de la précédente tant que le genre en offre d'autres. Seuls les
+ * {@link #CAPACITY} derniers morceaux sont retenus.</p>
+ */
+public class RecentTracks {
+
+    /**
+     * Nombre de morceaux retenus (quelques parties).
+     */
+    public static final int CAPACITY = 50;
+
+    // Ordre d'insertion : le plus ancien en premier
+    private static final Set<Track> RECENT = new LinkedHashSet<>();
+
+    /**
+     * Enregistre un morceau comme joué ; il devient le plus récent.
+     * @param track Le morceau
+     */
+    public static synchronized void markPlayed(Track track) {
+        if (track == null) return;
+        RECENT.remove(track);
+        RECENT.add(track);
+        if (RECENT.size() > CAPACITY) {
+            RECENT.remove(RECENT.iterator().next());
+        }
+    }
+
+    /**
+     * Vérifie si un morceau a été joué récemment.
+     * @param track Le morceau
+     * @return true s'il fait partie des derniers morceaux joués
+     */
+    public static synchronized boolean contains(Track track) {
+        return RECENT.contains(track);
+    }
+
+    /**
+     * Oublie les morceaux joués (tests).
+     */
+    static synchronized void clear() {
+        RECENT.clear();
+    }
+}
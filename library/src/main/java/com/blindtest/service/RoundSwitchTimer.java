@@ -0,0 +1,88 @@
+package com.blindtest.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Mesure la latence d'enchaînement des manches : du changement de manche
+ * ({@link #start()}) au démarrage effectif du lecteur suivant ({@link #stop()}).
+ * Seul le premier démarrage après un changement est compté ; une reprise après pause
+ * ne l'est pas.
+ */
+public class RoundSwitchTimer {
+    // Aucun changement de manche en attente
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private final AtomicLong startNanos = new AtomicLong(IDLE);
+    private final LongAdder switches = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongSupplier clock;
+    private volatile long lastNanos = 0;
+
+    /**
+     * Crée un chronomètre sur l'horloge monotone du système.
+     */
+    public RoundSwitchTimer() {
+        this(System::nanoTime);
+    }
+
+    RoundSwitchTimer(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Marque le début d'un changement de manche.
+     */
+    public void start() {
+        startNanos.set(clock.getAsLong());
+    }
+
+    /**
+     * Abandonne le changement en cours (arrêt de la lecture).
+     */
+    public void cancel() {
+        startNanos.set(IDLE);
+    }
+
+    /**
+     * Marque le démarrage du lecteur et enregistre la latence du changement en cours.
+     * @return true si un changement était en cours (premier démarrage de la manche)
+     */
+    public boolean stop() {
+        long start = startNanos.getAndSet(IDLE);
+        if (start == IDLE) {
+            return false;
+        }
+        long elapsed = Math.max(0, clock.getAsLong() - start);
+        lastNanos = elapsed;
+        totalNanos.add(elapsed);
+        switches.increment();
+        return true;
+    }
+
+    /**
+     * Retourne la latence moyenne des changements de manche mesurés.
+     * @return La latence moyenne en millisecondes, ou 0 si aucune manche n'a démarré
+     */
+    public double getAverageMs() {
+        long count = switches.sum();
+        return count == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / count;
+    }
+
+    /**
+     * Retourne la latence du dernier changement de manche.
+     * @return La latence en millisecondes, ou 0 si aucune manche n'a démarré
+     */
+    public double getLastMs() {
+        return lastNanos / 1_000_000.0;
+    }
+
+    /**
+     * Retourne le nombre de changements de manche mesurés.
+     * @return Le nombre de changements
+     */
+    public long getCount() {
+        return switches.sum();
+    }
+}
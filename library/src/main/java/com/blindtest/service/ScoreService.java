@@ -1,43 +1,49 @@
 package com.blindtest.service;
 
 import com.blindtest.model.Score;
-import com.google.gson.reflect.TypeToken;
-import java.io.IOException;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Service pour la gestion des scores (leaderboard et historique).
- * Utilise PersistenceService pour sauvegarder et charger les scores au format JSON.
+ * Les scores sont conservés dans un {@link ScoreStore} : fichier JSON Lines en ajout seul
+ * et index en mémoire, pour que requêtes et insertions ne relisent pas tout l'historique.
  * 
  * 🆕 Sprint 4 : Ajout de filtres, statistiques et fonctionnalités avancées.
  */
 public class ScoreService {
-    private static final String SCORES_FILE = "data/scores.json";
+    private static final String SCORES_FILE = "data/scores.jsonl";
+    private static final String LEGACY_SCORES_FILE = "data/scores.json";
+    private static final ScoreStore STORE = new ScoreStore(SCORES_FILE, LEGACY_SCORES_FILE);
 
     /**
-     * Sauvegarde un score dans le fichier JSON.
+     * Ajoute un score : il est visible immédiatement dans le classement et écrit en fin de fichier
+     * en arrière-plan, avec les autres scores en attente.
      * @param score Le score à sauvegarder
      */
     public static void saveScore(Score score) {
-        List<Score> scores = loadScores();
-        scores.add(score);
-        try {
-            PersistenceService.save(scores, SCORES_FILE);
-        } catch (IOException e) {
+        STORE.add(score).exceptionally(e -> {
             System.err.println("[ScoreService] ERREUR: Impossible de sauvegarder les scores dans " 
                                + SCORES_FILE + ": " + e.getMessage());
-        }
+            return null;
+        });
+    }
+
+    /**
+     * Ajoute les scores d'une partie et lance aussitôt leur écriture groupée, en arrière-plan.
+     * @param scores Les scores à sauvegarder
+     */
+    public static void saveScores(List<Score> scores) {
+        scores.forEach(ScoreService::saveScore);
+        PersistenceService.requestFlush();
     }
 
     /**
-     * Charge la liste des scores depuis le fichier JSON.
+     * Retourne la liste des scores dans leur ordre d'enregistrement.
      * @return La liste des scores
      */
     public static List<Score> loadScores() {
-        return PersistenceService.loadList(SCORES_FILE, new TypeToken<List<Score>>(){});
+        return STORE.getAll();
     }
 
     /**
@@ -55,12 +61,7 @@ public class ScoreService {
      * @return La liste des scores du leaderboard
      */
     public static List<Score> getLeaderboard(int limit) {
-        List<Score> scores = loadScores();
-        return scores.stream()
-                .sorted(Comparator.comparing(Score::getScore).reversed()
-                        .thenComparing(Comparator.comparing(Score::getDate).reversed()))
-                .limit(limit)
-                .collect(Collectors.toList());
+        return STORE.getLeaderboard(limit);
     }
 
     // ========== 🆕 FILTRES (Sprint 4) ==========
@@ -72,13 +73,7 @@ public class ScoreService {
      * @return La liste des scores filtrés
      */
     public static List<Score> getLeaderboardByMode(String mode, int limit) {
-        List<Score> scores = loadScores();
-        return scores.stream()
-                .filter(score -> score.getMode() != null && score.getMode().equalsIgnoreCase(mode))
-                .sorted(Comparator.comparing(Score::getScore).reversed()
-                        .thenComparing(Comparator.comparing(Score::getDate).reversed()))
-                .limit(limit)
-                .collect(Collectors.toList());
+        return STORE.getLeaderboardByMode(mode, limit);
     }
 
     /**
@@ -88,13 +83,7 @@ public class ScoreService {
      * @return La liste des scores filtrés
      */
     public static List<Score> getLeaderboardByGenre(String genre, int limit) {
-        List<Score> scores = loadScores();
-        return scores.stream()
-                .filter(score -> score.getGenre() != null && score.getGenre().equalsIgnoreCase(genre))
-                .sorted(Comparator.comparing(Score::getScore).reversed()
-                        .thenComparing(Comparator.comparing(Score::getDate).reversed()))
-                .limit(limit)
-                .collect(Collectors.toList());
+        return STORE.getLeaderboardByGenre(genre, limit);
     }
 
     /**
@@ -105,14 +94,7 @@ public class ScoreService {
      * @return La liste des scores filtrés
      */
     public static List<Score> getLeaderboardByModeAndGenre(String mode, String genre, int limit) {
-        List<Score> scores = loadScores();
-        return scores.stream()
-                .filter(score -> score.getMode() != null && score.getMode().equalsIgnoreCase(mode))
-                .filter(score -> score.getGenre() != null && score.getGenre().equalsIgnoreCase(genre))
-                .sorted(Comparator.comparing(Score::getScore).reversed()
-                        .thenComparing(Comparator.comparing(Score::getDate).reversed()))
-                .limit(limit)
-                .collect(Collectors.toList());
+        return STORE.getLeaderboardByModeAndGenre(mode, genre, limit);
     }
 
     // ========== 🆕 STATISTIQUES (Sprint 4) ==========
@@ -122,8 +104,7 @@ public class ScoreService {
      * @return Un objet ScoreStatistics avec les statistiques calculées
      */
     public static ScoreStatistics getGlobalStatistics() {
-        List<Score> scores = loadScores();
-        return calculateStatistics(scores);
+        return STORE.getStatistics();
     }
 
     /**
@@ -132,63 +113,35 @@ public class ScoreService {
      * @return Un objet ScoreStatistics avec les statistiques calculées
      */
     public static ScoreStatistics getStatisticsByMode(String mode) {
-        List<Score> scores = loadScores().stream()
-                .filter(score -> score.getMode() != null && score.getMode().equalsIgnoreCase(mode))
-                .collect(Collectors.toList());
-        return calculateStatistics(scores);
+        return STORE.getStatisticsByMode(mode);
     }
 
     /**
-     * Calcule les statistiques d'un joueur spécifique.
-     * @param pseudo Le pseudo du joueur
+     * Calcule les statistiques filtrées par genre.
+     * @param genre Le genre musical
      * @return Un objet ScoreStatistics avec les statistiques calculées
      */
-    public static ScoreStatistics getPlayerStatistics(String pseudo) {
-        List<Score> scores = getPlayerHistory(pseudo);
-        return calculateStatistics(scores);
+    public static ScoreStatistics getStatisticsByGenre(String genre) {
+        return STORE.getStatisticsByGenre(genre);
     }
 
     /**
-     * Méthode privée pour calculer les statistiques à partir d'une liste de scores.
-     * @param scores La liste de scores
-     * @return Un objet ScoreStatistics
+     * Calcule les statistiques filtrées par mode et par genre.
+     * @param mode Le mode de jeu
+     * @param genre Le genre musical
+     * @return Un objet ScoreStatistics avec les statistiques calculées
      */
-    private static ScoreStatistics calculateStatistics(List<Score> scores) {
-        if (scores.isEmpty()) {
-            return new ScoreStatistics(0, 0, 0, 0, 0.0, 0.0, 0.0);
-        }
-
-        int totalGames = scores.size();
-        int totalScore = scores.stream().mapToInt(Score::getScore).sum();
-        int maxScore = scores.stream().mapToInt(Score::getScore).max().orElse(0);
-        int minScore = scores.stream().mapToInt(Score::getScore).min().orElse(0);
-        double averageScore = (double) totalScore / totalGames;
-
-        // Calcul des taux de réussite moyens
-        double avgSuccessRate = scores.stream()
-                .mapToDouble(Score::getSuccessRate)
-                .average()
-                .orElse(0.0);
-
-        double avgTitleSuccessRate = scores.stream()
-                .mapToDouble(Score::getTitleSuccessRate)
-                .average()
-                .orElse(0.0);
-
-        double avgArtistSuccessRate = scores.stream()
-                .mapToDouble(Score::getArtistSuccessRate)
-                .average()
-                .orElse(0.0);
+    public static ScoreStatistics getStatisticsByModeAndGenre(String mode, String genre) {
+        return STORE.getStatisticsByModeAndGenre(mode, genre);
+    }
 
-        return new ScoreStatistics(
-                totalGames,
-                maxScore,
-                minScore,
-                averageScore,
-                avgSuccessRate,
-                avgTitleSuccessRate,
-                avgArtistSuccessRate
-        );
+    /**
+     * Calcule les statistiques d'un joueur spécifique.
+     * @param pseudo Le pseudo du joueur
+     * @return Un objet ScoreStatistics avec les statistiques calculées
+     */
+    public static ScoreStatistics getPlayerStatistics(String pseudo) {
+        return STORE.getPlayerStatistics(pseudo);
     }
 
     /**
@@ -196,13 +149,7 @@ public class ScoreService {
      * @return Une map avec le nombre de parties par mode
      */
     public static Map<String, Long> getScoreDistributionByMode() {
-        List<Score> scores = loadScores();
-        return scores.stream()
-                .filter(score -> score.getMode() != null)
-                .collect(Collectors.groupingBy(
-                        Score::getMode,
-                        Collectors.counting()
-                ));
+        return STORE.getCountByMode();
     }
 
     /**
@@ -210,13 +157,7 @@ public class ScoreService {
      * @return Une map avec le nombre de parties par genre
      */
     public static Map<String, Long> getScoreDistributionByGenre() {
-        List<Score> scores = loadScores();
-        return scores.stream()
-                .filter(score -> score.getGenre() != null)
-                .collect(Collectors.groupingBy(
-                        Score::getGenre,
-                        Collectors.counting()
-                ));
+        return STORE.getCountByGenre();
     }
 
     // ========== MÉTHODES EXISTANTES ==========
@@ -227,11 +168,7 @@ public class ScoreService {
      * @return La liste des scores du joueur
      */
     public static List<Score> getPlayerHistory(String pseudo) {
-        List<Score> scores = loadScores();
-        return scores.stream()
-                .filter(score -> score.getPseudo().equals(pseudo))
-                .sorted(Comparator.comparing(Score::getDate).reversed())
-                .collect(Collectors.toList());
+        return STORE.getPlayerHistory(pseudo);
     }
 
     // ========== CLASSE INTERNE POUR LES STATISTIQUES ==========
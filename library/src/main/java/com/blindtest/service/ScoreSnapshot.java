@@ -0,0 +1,286 @@
+package com.blindtest.service;
+
+import com.blindtest.model.Score;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Instantané binaire en colonnes de l'historique des scores.
+ *
+ * <p>Le fichier JSON Lines reste la référence (lisible, exportable) ; l'instantané évite
+ * seulement de reparser tout l'historique au démarrage. Il couvre un préfixe du fichier
+ * JSON Lines, identifié par sa longueur et le CRC32 de ses derniers octets : seules les
+ * lignes ajoutées depuis sont relues en JSON. Un instantané qui ne correspond plus au
+ * fichier est ignoré.</p>
+ *
+ * <p>Format : {@code [int MAGIC][int nombre][long longueur couverte][int crc de fin][int crc du corps]},
+ * un dictionnaire {@code [int taille]([int octets][UTF-8])*} des pseudos, modes et genres,
+ * puis une colonne par champ : indices dans le dictionnaire (-1 pour null), dates en
+ * secondes et nanosecondes depuis l'époque (UTC), et valeurs entières. Le CRC32 du corps
+ * (tout ce qui suit l'en-tête) rejette un instantané altéré sur le disque, plutôt que
+ * d'indexer des scores faux.</p>
+ */
+public class ScoreSnapshot {
+    private static final Logger LOGGER = Logger.getLogger(ScoreSnapshot.class.getName());
+
+    private static final int MAGIC = 0x42535332; // "BSS2"
+    private static final int HEADER_BYTES = 24;
+    private static final int BODY_CHECKSUM_OFFSET = 20;
+    // Nombre d'octets en fin de préfixe comparés pour vérifier que le fichier source n'a pas changé
+    private static final int TAIL_CHECK_BYTES = 4096;
+
+    /**
+     * Contenu d'un instantané relu.
+     */
+    public static class Contents {
+        public final List<Score> scores;
+        public final long sourceLength;
+        public final int sourceChecksum;
+
+        public Contents(List<Score> scores, long sourceLength, int sourceChecksum) {
+            this.scores = scores;
+            this.sourceLength = sourceLength;
+            this.sourceChecksum = sourceChecksum;
+        }
+    }
+
+    private ScoreSnapshot() {
+    }
+
+    /**
+     * Écrit un instantané (fichier temporaire puis renommage atomique).
+     * @param path Le chemin de l'instantané
+     * @param scores Les scores, dans leur ordre d'enregistrement
+     * @param sourceLength La longueur du préfixe JSON Lines couvert par ces scores
+     * @param sourceChecksum Le CRC de fin de ce préfixe ({@link #sourceChecksum})
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public static void write(Path path, List<Score> scores, long sourceLength, int sourceChecksum) throws IOException {
+        int count = scores.size();
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] pseudos = new int[count];
+        int[] modes = new int[count];
+        int[] genres = new int[count];
+        for (int i = 0; i < count; i++) {
+            Score score = scores.get(i);
+            pseudos[i] = encode(score.getPseudo(), ids, dictionary);
+            modes[i] = encode(score.getMode(), ids, dictionary);
+            genres[i] = encode(score.getGenre(), ids, dictionary);
+        }
+
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32 bodyCrc = new CRC32();
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(tempPath))) {
+            DataOutputStream header = new DataOutputStream(file);
+            header.writeInt(MAGIC);
+            header.writeInt(count);
+            header.writeLong(sourceLength);
+            header.writeInt(sourceChecksum);
+            header.writeInt(0); // CRC du corps, connu une fois le corps écrit
+            header.flush();
+
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(file, bodyCrc));
+
+            out.writeInt(dictionary.size());
+            for (String value : dictionary) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            writeColumn(out, pseudos);
+            writeColumn(out, modes);
+            writeColumn(out, genres);
+            for (Score score : scores) {
+                out.writeLong(score.getDate().toEpochSecond(ZoneOffset.UTC));
+            }
+            for (Score score : scores) {
+                out.writeInt(score.getDate().getNano());
+            }
+            for (Score score : scores) {
+                out.writeInt(score.getScore());
+            }
+            for (Score score : scores) {
+                out.writeInt(score.getTotalTracks());
+            }
+            for (Score score : scores) {
+                out.writeInt(score.getCorrectTitles());
+            }
+            for (Score score : scores) {
+                out.writeInt(score.getCorrectArtists());
+            }
+            for (Score score : scores) {
+                out.writeInt(score.getHintsUsed());
+            }
+            out.flush();
+        }
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE)) {
+            ByteBuffer checksum = ByteBuffer.allocate(Integer.BYTES).putInt((int) bodyCrc.getValue());
+            checksum.flip();
+            while (checksum.hasRemaining()) {
+                channel.write(checksum, BODY_CHECKSUM_OFFSET + checksum.position());
+            }
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Relit un instantané.
+     * @param path Le chemin de l'instantané
+     * @return Son contenu, ou null s'il est absent ou illisible
+     */
+    public static Contents read(Path path) {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = readAll(channel, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                LOGGER.warning("Instantané des scores illisible, ignoré : " + path);
+                return null;
+            }
+            int count = buffer.getInt();
+            long sourceLength = buffer.getLong();
+            int sourceChecksum = buffer.getInt();
+            int bodyChecksum = buffer.getInt();
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if ((int) crc.getValue() != bodyChecksum) {
+                LOGGER.warning("Instantané des scores altéré (somme de contrôle), ignoré : " + path);
+                return null;
+            }
+
+            String[] dictionary = new String[buffer.getInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            // Taille exacte attendue : 9 colonnes de 4 octets et une de 8
+            if (count < 0 || buffer.remaining() != count * 44L) {
+                LOGGER.warning("Instantané des scores incomplet, ignoré : " + path);
+                return null;
+            }
+            int[] pseudos = readColumn(buffer, count);
+            int[] modes = readColumn(buffer, count);
+            int[] genres = readColumn(buffer, count);
+            long[] seconds = new long[count];
+            buffer.asLongBuffer().get(seconds);
+            buffer.position(buffer.position() + count * Long.BYTES);
+            int[] nanos = readColumn(buffer, count);
+            int[] values = readColumn(buffer, count);
+            int[] totalTracks = readColumn(buffer, count);
+            int[] correctTitles = readColumn(buffer, count);
+            int[] correctArtists = readColumn(buffer, count);
+            int[] hintsUsed = readColumn(buffer, count);
+
+            List<Score> scores = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Score score = new Score(decode(pseudos[i], dictionary), values[i],
+                        decode(modes[i], dictionary), decode(genres[i], dictionary),
+                        totalTracks[i], correctTitles[i], correctArtists[i], hintsUsed[i]);
+                score.setDate(LocalDateTime.ofEpochSecond(seconds[i], nanos[i], ZoneOffset.UTC));
+                scores.add(score);
+            }
+            return new Contents(scores, sourceLength, sourceChecksum);
+        } catch (IOException | RuntimeException e) {
+            // BufferUnderflowException, indice hors dictionnaire, date invalide...
+            LOGGER.log(Level.WARNING, "Instantané des scores illisible, ignoré : " + path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Calcule le CRC32 des derniers octets d'un préfixe du fichier source.
+     * @param source Le fichier JSON Lines
+     * @param length La longueur du préfixe
+     * @return Le CRC, qui change si le fichier est réécrit
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public static int sourceChecksum(Path source, long length) throws IOException {
+        int tail = (int) Math.min(length, TAIL_CHECK_BYTES);
+        ByteBuffer buffer = ByteBuffer.allocate(tail);
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            channel.position(length - tail);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // lecture jusqu'à la fin du préfixe
+            }
+        }
+        if (buffer.hasRemaining()) {
+            throw new EOFException("Fichier source plus court que le préfixe : " + source);
+        }
+        buffer.flip();
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        return (int) crc.getValue();
+    }
+
+    private static int encode(String value, Map<String, Integer> ids, List<String> dictionary) {
+        if (value == null) {
+            return -1;
+        }
+        return ids.computeIfAbsent(value, k -> {
+            dictionary.add(k);
+            return dictionary.size() - 1;
+        });
+    }
+
+    private static String decode(int id, String[] dictionary) {
+        return id < 0 ? null : dictionary[id];
+    }
+
+    private static void writeColumn(DataOutputStream out, int[] column) throws IOException {
+        for (int value : column) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readColumn(ByteBuffer buffer, int count) {
+        int[] column = new int[count];
+        buffer.asIntBuffer().get(column);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return column;
+    }
+
+    /**
+     * Lit l'intégralité de l'instantané en bloc sur le tas. Les colonnes sont aussitôt
+     * recopiées dans des {@link Score} : une projection mémoire n'apporterait rien et,
+     * tant que le ramasse-miettes ne l'a pas libérée, empêcherait sous Windows de remplacer
+     * ou de supprimer l'instantané.
+     */
+    private static ByteBuffer readAll(FileChannel channel, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Instantané des scores trop volumineux : " + size + " octets");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // lecture jusqu'à la fin du fichier
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
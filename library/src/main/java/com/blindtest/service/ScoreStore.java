@@ -0,0 +1,633 @@
+package com.blindtest.service;
+
+import com.blindtest.model.Score;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Magasin persistant des scores, en ajout seul, avec index en mémoire.
+ *
+ * <p>Chaque score est ajouté en fin de fichier sous forme d'une ligne JSON compacte
+ * (JSON Lines) : une insertion ne relit ni ne réécrit l'historique. L'écriture est différée
+ * ({@link PersistenceService#appendAsync}) et regroupée avec les autres scores en attente ;
+ * les index, eux, sont mis à jour immédiatement. Le fichier est relu une seule fois,
+ * au premier accès, puis les index sont tenus à jour à chaque ajout :</p>
+ * <ul>
+ *   <li>classements (score décroissant, puis date décroissante) global, par mode, par genre
+ *       et par mode et genre, bornés aux {@value #LEADERBOARD_CAPACITY} meilleurs scores
+ *       ({@link TopKRanking}) ; une limite plus grande est servie par un tri complet ;</li>
+ *   <li>historique par pseudo (date décroissante) ;</li>
+ *   <li>statistiques agrégées (nombre, somme, minimum, maximum, sommes des taux de réussite)
+ *       globales, par mode, par genre, par mode et genre et par pseudo : une statistique
+ *       se lit en O(1), sans reparcourir l'historique ;</li>
+ *   <li>décomptes par mode et par genre.</li>
+ * </ul>
+ *
+ * <p>Les filtres de mode et de genre ignorent la casse. Les scores retournés sont partagés
+ * avec les index et ne doivent pas être modifiés. Si le fichier est modifié ou supprimé
+ * par un autre moyen, il est relu au prochain accès. L'ancien format (tableau JSON)
+ * est converti au premier chargement.</p>
+ *
+ * <p>Pour un long historique, le chargement part d'un instantané binaire ({@link ScoreSnapshot},
+ * fichier {@code .snapshot} à côté du fichier des scores) et ne parse en JSON que les lignes
+ * ajoutées depuis. L'instantané est réécrit quand ces lignes deviennent nombreuses.</p>
+ */
+public class ScoreStore {
+    private static final Logger LOGGER = Logger.getLogger(ScoreStore.class.getName());
+
+    /**
+     * Ordre du classement : score décroissant, puis date décroissante.
+     */
+    private static final Comparator<Score> RANKING = Comparator.comparing(Score::getScore).reversed()
+            .thenComparing(Comparator.comparing(Score::getDate).reversed());
+
+    /**
+     * Ordre de l'historique : date décroissante.
+     */
+    private static final Comparator<Score> HISTORY = Comparator.comparing(Score::getDate).reversed();
+
+    /**
+     * Taille des classements tenus à jour (plus grande page demandée par l'interface).
+     */
+    public static final int LEADERBOARD_CAPACITY = 1000;
+
+    /**
+     * Nombre de lignes JSON parsées au chargement à partir duquel l'instantané est réécrit.
+     */
+    static final int SNAPSHOT_MIN_LINES = 256;
+
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+            .create();
+
+    private final Path path;
+    private final Path legacyPath;
+    private final Path snapshotPath;
+
+    // État du fichier lors du dernier chargement ou ajout : une différence impose une relecture
+    private boolean loaded = false;
+    private long knownLength = -1;
+    private long knownModified = -1;
+    // Ajouts mis en file mais pas encore écrits : le fichier est alors en retard sur les index
+    private int pendingWrites = 0;
+
+    private final List<Score> scores = new ArrayList<>();
+    private TopKRanking<Score> ranking = newRanking();
+    private final Map<String, TopKRanking<Score>> rankingByMode = new HashMap<>();
+    private final Map<String, TopKRanking<Score>> rankingByGenre = new HashMap<>();
+    private final Map<String, TopKRanking<Score>> rankingByModeAndGenre = new HashMap<>();
+    private final Map<String, List<Score>> historyByPseudo = new HashMap<>();
+    private final Map<String, Long> countByMode = new HashMap<>();
+    private final Map<String, Long> countByGenre = new HashMap<>();
+    private Totals totals = new Totals();
+    private final Map<String, Totals> totalsByMode = new HashMap<>();
+    private final Map<String, Totals> totalsByGenre = new HashMap<>();
+    private final Map<String, Totals> totalsByModeAndGenre = new HashMap<>();
+    private final Map<String, Totals> totalsByPseudo = new HashMap<>();
+
+    /**
+     * Agrégats incrémentaux d'un ensemble de scores.
+     */
+    private static class Totals {
+        int count;
+        long sum;
+        int max = Integer.MIN_VALUE;
+        int min = Integer.MAX_VALUE;
+        double successRateSum;
+        double titleSuccessRateSum;
+        double artistSuccessRateSum;
+
+        void add(Score score) {
+            count++;
+            sum += score.getScore();
+            max = Math.max(max, score.getScore());
+            min = Math.min(min, score.getScore());
+            successRateSum += score.getSuccessRate();
+            titleSuccessRateSum += score.getTitleSuccessRate();
+            artistSuccessRateSum += score.getArtistSuccessRate();
+        }
+
+        ScoreService.ScoreStatistics toStatistics() {
+            if (count == 0) {
+                return new ScoreService.ScoreStatistics(0, 0, 0, 0, 0.0, 0.0, 0.0);
+            }
+            return new ScoreService.ScoreStatistics(count, max, min, (double) sum / count,
+                    successRateSum / count, titleSuccessRateSum / count, artistSuccessRateSum / count);
+        }
+    }
+
+    /**
+     * Crée un magasin adossé à un fichier JSON Lines.
+     * @param path Le chemin du fichier des scores
+     * @param legacyPath L'ancien fichier (tableau JSON) à convertir s'il existe, ou null
+     */
+    public ScoreStore(String path, String legacyPath) {
+        this.path = Paths.get(path);
+        this.legacyPath = legacyPath != null ? Paths.get(legacyPath) : null;
+        String name = this.path.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        this.snapshotPath = this.path.resolveSibling((extension > 0 ? name.substring(0, extension) : name) + ".snapshot");
+    }
+
+    /**
+     * Indexe un score et met sa ligne en file pour l'ajout en fin de fichier.
+     * @param score Le score à ajouter
+     * @return Une tâche terminée une fois la ligne écrite, ou en échec avec l'erreur d'écriture
+     */
+    public synchronized CompletableFuture<Void> add(Score score) {
+        ensureFresh();
+
+        String line = GSON.toJson(score);
+        // Copie indépendante de l'objet de l'appelant, qui peut encore le modifier
+        index(GSON.fromJson(line, Score.class), true);
+
+        pendingWrites++;
+        return PersistenceService.appendAsync(path.toString(), (line + "\n").getBytes(StandardCharsets.UTF_8))
+                .whenComplete((result, error) -> writeCompleted(error));
+    }
+
+    private synchronized void writeCompleted(Throwable error) {
+        if (error != null) {
+            LOGGER.log(Level.WARNING, "Écriture d'un score impossible : " + path, error);
+        }
+        if (--pendingWrites == 0) {
+            rememberFileState();
+        }
+    }
+
+    /**
+     * Retourne tous les scores dans leur ordre d'enregistrement.
+     * @return Une copie de la liste des scores
+     */
+    public synchronized List<Score> getAll() {
+        ensureFresh();
+        return new ArrayList<>(scores);
+    }
+
+    /**
+     * Retourne les meilleurs scores.
+     * @param limit Le nombre maximum de scores
+     * @return Les scores classés
+     */
+    public synchronized List<Score> getLeaderboard(int limit) {
+        ensureFresh();
+        return top(ranking, limit, score -> true);
+    }
+
+    /**
+     * Retourne les meilleurs scores d'un mode de jeu.
+     * @param mode Le mode de jeu (casse ignorée)
+     * @param limit Le nombre maximum de scores
+     * @return Les scores classés
+     */
+    public synchronized List<Score> getLeaderboardByMode(String mode, int limit) {
+        ensureFresh();
+        String modeKey = key(mode);
+        return top(rankingByMode.get(modeKey), limit, score -> modeKey.equals(key(score.getMode())));
+    }
+
+    /**
+     * Retourne les meilleurs scores d'un genre musical.
+     * @param genre Le genre (casse ignorée)
+     * @param limit Le nombre maximum de scores
+     * @return Les scores classés
+     */
+    public synchronized List<Score> getLeaderboardByGenre(String genre, int limit) {
+        ensureFresh();
+        String genreKey = key(genre);
+        return top(rankingByGenre.get(genreKey), limit, score -> genreKey.equals(key(score.getGenre())));
+    }
+
+    /**
+     * Retourne les meilleurs scores d'un mode et d'un genre.
+     * @param mode Le mode de jeu (casse ignorée)
+     * @param genre Le genre (casse ignorée)
+     * @param limit Le nombre maximum de scores
+     * @return Les scores classés
+     */
+    public synchronized List<Score> getLeaderboardByModeAndGenre(String mode, String genre, int limit) {
+        ensureFresh();
+        String modeAndGenreKey = modeAndGenreKey(mode, genre);
+        return top(rankingByModeAndGenre.get(modeAndGenreKey), limit,
+                score -> modeAndGenreKey.equals(modeAndGenreKey(score.getMode(), score.getGenre())));
+    }
+
+    /**
+     * Retourne l'historique d'un joueur, du plus récent au plus ancien.
+     * @param pseudo Le pseudo exact du joueur
+     * @return Les scores du joueur
+     */
+    public synchronized List<Score> getPlayerHistory(String pseudo) {
+        ensureFresh();
+        List<Score> history = historyByPseudo.get(pseudo);
+        return history != null ? new ArrayList<>(history) : new ArrayList<>();
+    }
+
+    /**
+     * Retourne les statistiques de tous les scores.
+     * @return Les statistiques agrégées
+     */
+    public synchronized ScoreService.ScoreStatistics getStatistics() {
+        ensureFresh();
+        return totals.toStatistics();
+    }
+
+    /**
+     * Retourne les statistiques d'un mode de jeu.
+     * @param mode Le mode de jeu (casse ignorée)
+     * @return Les statistiques agrégées
+     */
+    public synchronized ScoreService.ScoreStatistics getStatisticsByMode(String mode) {
+        ensureFresh();
+        return statistics(totalsByMode.get(key(mode)));
+    }
+
+    /**
+     * Retourne les statistiques d'un genre musical.
+     * @param genre Le genre (casse ignorée)
+     * @return Les statistiques agrégées
+     */
+    public synchronized ScoreService.ScoreStatistics getStatisticsByGenre(String genre) {
+        ensureFresh();
+        return statistics(totalsByGenre.get(key(genre)));
+    }
+
+    /**
+     * Retourne les statistiques d'un mode et d'un genre.
+     * @param mode Le mode de jeu (casse ignorée)
+     * @param genre Le genre (casse ignorée)
+     * @return Les statistiques agrégées
+     */
+    public synchronized ScoreService.ScoreStatistics getStatisticsByModeAndGenre(String mode, String genre) {
+        ensureFresh();
+        return statistics(totalsByModeAndGenre.get(modeAndGenreKey(mode, genre)));
+    }
+
+    /**
+     * Retourne les statistiques d'un joueur.
+     * @param pseudo Le pseudo exact du joueur
+     * @return Les statistiques agrégées
+     */
+    public synchronized ScoreService.ScoreStatistics getPlayerStatistics(String pseudo) {
+        ensureFresh();
+        return statistics(totalsByPseudo.get(pseudo));
+    }
+
+    /**
+     * Retourne le nombre de parties par mode (valeurs exactes, scores sans mode ignorés).
+     * @return Une copie du décompte
+     */
+    public synchronized Map<String, Long> getCountByMode() {
+        ensureFresh();
+        return new HashMap<>(countByMode);
+    }
+
+    /**
+     * Retourne le nombre de parties par genre (valeurs exactes, scores sans genre ignorés).
+     * @return Une copie du décompte
+     */
+    public synchronized Map<String, Long> getCountByGenre() {
+        ensureFresh();
+        return new HashMap<>(countByGenre);
+    }
+
+    // ===============================
+    // INDEX
+    // ===============================
+
+    /**
+     * Ajoute un score à tous les index.
+     * @param score Le score
+     * @param keepSorted true pour une insertion triée, false pendant un chargement (tri final)
+     */
+    private void index(Score score, boolean keepSorted) {
+        scores.add(score);
+        ranking.add(score);
+        totals.add(score);
+
+        String mode = key(score.getMode());
+        String genre = key(score.getGenre());
+        if (mode != null) {
+            rankingByMode.computeIfAbsent(mode, k -> newRanking()).add(score);
+            totalsByMode.computeIfAbsent(mode, k -> new Totals()).add(score);
+            countByMode.merge(score.getMode(), 1L, Long::sum);
+        }
+        if (genre != null) {
+            rankingByGenre.computeIfAbsent(genre, k -> newRanking()).add(score);
+            totalsByGenre.computeIfAbsent(genre, k -> new Totals()).add(score);
+            countByGenre.merge(score.getGenre(), 1L, Long::sum);
+        }
+        if (mode != null && genre != null) {
+            String modeAndGenre = modeAndGenreKey(mode, genre);
+            rankingByModeAndGenre.computeIfAbsent(modeAndGenre, k -> newRanking()).add(score);
+            totalsByModeAndGenre.computeIfAbsent(modeAndGenre, k -> new Totals()).add(score);
+        }
+        if (score.getPseudo() != null) {
+            totalsByPseudo.computeIfAbsent(score.getPseudo(), k -> new Totals()).add(score);
+            insert(historyByPseudo.computeIfAbsent(score.getPseudo(), k -> new ArrayList<>()),
+                    score, HISTORY, keepSorted);
+        }
+    }
+
+    /**
+     * Insère un score après ses égaux (ordre d'enregistrement conservé en cas d'égalité).
+     */
+    private static void insert(List<Score> list, Score score, Comparator<Score> order, boolean keepSorted) {
+        if (!keepSorted) {
+            list.add(score);
+            return;
+        }
+        int low = 0;
+        int high = list.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(list.get(mid), score) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        list.add(low, score);
+    }
+
+    /**
+     * Trie les historiques après un chargement (tri stable : égalités dans l'ordre du fichier).
+     */
+    private void sortIndexes() {
+        historyByPseudo.values().forEach(list -> list.sort(HISTORY));
+    }
+
+    private void clearIndexes() {
+        scores.clear();
+        ranking = newRanking();
+        rankingByMode.clear();
+        rankingByGenre.clear();
+        rankingByModeAndGenre.clear();
+        historyByPseudo.clear();
+        countByMode.clear();
+        countByGenre.clear();
+        totals = new Totals();
+        totalsByMode.clear();
+        totalsByGenre.clear();
+        totalsByModeAndGenre.clear();
+        totalsByPseudo.clear();
+    }
+
+    private static ScoreService.ScoreStatistics statistics(Totals totals) {
+        return (totals != null ? totals : new Totals()).toStatistics();
+    }
+
+    private static TopKRanking<Score> newRanking() {
+        return new TopKRanking<>(RANKING, LEADERBOARD_CAPACITY);
+    }
+
+    /**
+     * Lit un classement ; au-delà de sa capacité, trie l'ensemble des scores concernés.
+     */
+    private List<Score> top(TopKRanking<Score> ranking, int limit, Predicate<Score> filter) {
+        if (ranking == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        if (ranking.covers(limit)) {
+            return ranking.top(limit);
+        }
+        return scores.stream()
+                .filter(filter)
+                .sorted(RANKING)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static String key(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static String modeAndGenreKey(String mode, String genre) {
+        return mode == null || genre == null ? null : key(mode) + '\u0000' + key(genre);
+    }
+
+    // ===============================
+    // FICHIER
+    // ===============================
+
+    /**
+     * Charge le fichier au premier accès, ou le relit s'il a changé depuis. Tant que des ajouts
+     * sont en attente d'écriture, les index font foi.
+     */
+    private void ensureFresh() {
+        File file = path.toFile();
+        if (loaded && (pendingWrites > 0
+                || (file.length() == knownLength && file.lastModified() == knownModified))) {
+            return;
+        }
+        reload();
+    }
+
+    private void reload() {
+        clearIndexes();
+        migrateLegacyFile();
+
+        if (Files.exists(path)) {
+            loadLines(loadSnapshot());
+        } else {
+            deleteSnapshot();
+        }
+
+        sortIndexes();
+        rememberFileState();
+        loaded = true;
+        LOGGER.fine("Scores chargés : " + scores.size());
+    }
+
+    /**
+     * Indexe les scores de l'instantané s'il correspond encore au début du fichier.
+     * @return La position dans le fichier à partir de laquelle lire les lignes JSON
+     */
+    private long loadSnapshot() {
+        ScoreSnapshot.Contents snapshot = ScoreSnapshot.read(snapshotPath);
+        if (snapshot == null) {
+            return 0;
+        }
+        try {
+            if (snapshot.sourceLength > Files.size(path)
+                    || ScoreSnapshot.sourceChecksum(path, snapshot.sourceLength) != snapshot.sourceChecksum) {
+                LOGGER.info("Instantané des scores périmé, relecture complète de " + path);
+                return 0;
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Vérification de l'instantané des scores impossible", e);
+            return 0;
+        }
+        snapshot.scores.forEach(score -> index(score, false));
+        return snapshot.sourceLength;
+    }
+
+    /**
+     * Parse les lignes JSON à partir d'une position du fichier, puis réécrit l'instantané
+     * si elles sont nombreuses.
+     * @param offset La position de départ (début d'une ligne)
+     */
+    private void loadLines(long offset) {
+        int firstParsed = scores.size();
+        long end = offset;
+        int skipped = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.position(offset);
+            InputStream in = Channels.newInputStream(channel);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            byte[] buffer = new byte[64 * 1024];
+            long position = offset;
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                int start = 0;
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] != '\n') {
+                        continue;
+                    }
+                    line.write(buffer, start, i - start);
+                    start = i + 1;
+                    end = position + start;
+                    if (!indexLine(line.toString(StandardCharsets.UTF_8))) {
+                        skipped++;
+                    }
+                    line.reset();
+                }
+                line.write(buffer, start, read - start);
+                position += read;
+            }
+            // Seules les lignes complètes (terminées par un saut de ligne) entrent dans l'instantané
+            if (end > offset && scores.size() - firstParsed >= SNAPSHOT_MIN_LINES) {
+                saveSnapshot(end);
+            }
+            if (line.size() > 0 && !indexLine(line.toString(StandardCharsets.UTF_8))) {
+                skipped++;
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Lecture des scores impossible : " + path, e);
+        }
+        if (skipped > 0) {
+            LOGGER.warning(skipped + " ligne(s) de scores illisible(s) ignorée(s) dans " + path);
+        }
+    }
+
+    private boolean indexLine(String line) {
+        if (line.isBlank()) {
+            return true;
+        }
+        Score score = parse(line);
+        if (score == null) {
+            return false;
+        }
+        index(score, false);
+        return true;
+    }
+
+    /**
+     * Réécrit l'instantané avec les scores indexés, qui couvrent le fichier jusqu'à {@code end}.
+     */
+    private void saveSnapshot(long end) {
+        try {
+            ScoreSnapshot.write(snapshotPath, scores, end, ScoreSnapshot.sourceChecksum(path, end));
+            LOGGER.fine("Instantané des scores écrit : " + scores.size() + " scores");
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Écriture de l'instantané des scores impossible : " + snapshotPath, e);
+        }
+    }
+
+    private static Score parse(String line) {
+        try {
+            Score score = GSON.fromJson(line, Score.class);
+            return score != null && score.getDate() != null ? score : null;
+        } catch (JsonParseException e) {
+            return null; // Ligne tronquée par un arrêt brutal
+        }
+    }
+
+    /**
+     * Convertit l'ancien fichier (tableau JSON réécrit à chaque score) en JSON Lines,
+     * un score à la fois. En cas d'erreur, l'ancien fichier est conservé tel quel.
+     */
+    private void migrateLegacyFile() {
+        if (legacyPath == null || Files.exists(path) || !Files.exists(legacyPath)) {
+            return;
+        }
+
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        int converted = 0;
+        try {
+            PersistenceService.ensureDirectoryExists(path.toString());
+            try (Stream<Score> legacy = PersistenceService.streamList(legacyPath.toString(), Score.class);
+                 BufferedWriter writer = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                for (Score score : (Iterable<Score>) legacy::iterator) {
+                    if (score != null && score.getDate() != null) {
+                        writer.write(GSON.toJson(score));
+                        writer.newLine();
+                        converted++;
+                    }
+                }
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(legacyPath);
+            LOGGER.info(converted + " scores convertis depuis " + legacyPath);
+        } catch (IOException | UncheckedIOException | JsonParseException e) {
+            LOGGER.log(Level.WARNING, "Conversion de l'ancien fichier de scores impossible", e);
+            try {
+                Files.deleteIfExists(tempPath);
+            } catch (IOException ignored) {
+                // Fichier temporaire réécrit à la prochaine tentative
+            }
+        }
+    }
+
+    private void deleteSnapshot() {
+        try {
+            Files.deleteIfExists(snapshotPath);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Suppression de l'instantané des scores impossible : " + snapshotPath, e);
+        }
+    }
+
+    private void rememberFileState() {
+        File file = path.toFile();
+        knownLength = file.length();
+        knownModified = file.lastModified();
+    }
+
+    /**
+     * Retourne le nombre de scores (diagnostic).
+     * @return Le nombre de scores chargés
+     */
+    public synchronized int size() {
+        ensureFresh();
+        return scores.size();
+    }
+}
@@ -1,37 +1,235 @@
 package com.blindtest.service;
 
 import com.blindtest.model.Settings;
+
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service pour la gestion des paramètres de configuration.
  * Utilise PersistenceService pour sauvegarder et charger les settings au format JSON.
+ *
+ * <p>Les paramètres sont lus une seule fois puis gardés en mémoire sous forme de copie figée
+ * ({@link #getSettings()}), partagée par tous les services sans accès disque. Une sauvegarde
+ * remplace cette copie immédiatement ; une modification du fichier par un autre moyen
+ * (édition à la main) est détectée par un {@link WatchService} et rechargée. Dans les deux cas
+ * les écouteurs enregistrés sont prévenus.</p>
  */
 public class SettingsService {
     private static final String SETTINGS_FILE = "data/settings.json";
+    // Versions précédentes conservées en copie de secours (settings.json.bak.1, .bak.2) ;
+    // le fichier reste indenté pour pouvoir être modifié à la main
+    private static final int SETTINGS_BACKUPS = 2;
+    // Délai sans nouvelle modification du fichier avant de le relire
+    private static final long RELOAD_DELAY_MS = 200;
+
+    /**
+     * Écouteur des changements de paramètres.
+     * Appelé sur le thread à l'origine du changement (thread JavaFX pour une sauvegarde,
+     * thread de surveillance pour un rechargement) : une mise à jour de l'interface doit
+     * passer par {@code Platform.runLater}.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * @param previous Les paramètres précédents (figés)
+         * @param current Les nouveaux paramètres (figés)
+         */
+        void settingsChanged(Settings previous, Settings current);
+    }
+
+    private static final Object LOCK = new Object();
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+    // Sauvegardes pas encore écrites : le fichier sur disque est en retard sur le cache
+    private static final AtomicInteger PENDING_SAVES = new AtomicInteger();
+    private static volatile Settings current;
+    private static Thread watcher;
 
     /**
-     * Sauvegarde les paramètres dans le fichier JSON.
+     * Retourne les paramètres courants, sans accès disque après le premier appel.
+     * La copie retournée est figée : la modifier lève {@link UnsupportedOperationException}.
+     * @return Les paramètres courants
+     */
+    public static Settings getSettings() {
+        Settings settings = current;
+        if (settings == null) {
+            synchronized (LOCK) {
+                if (current == null) {
+                    current = readFile().frozenCopy();
+                    startWatcher();
+                }
+                settings = current;
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * Sauvegarde les paramètres dans le fichier JSON, en arrière-plan : l'appelant
+     * (thread JavaFX) ne patiente pas pendant l'écriture sur le disque.
+     * Les paramètres courants et les écouteurs sont mis à jour immédiatement.
      * @param settings Les paramètres à sauvegarder
      */
     public static void saveSettings(Settings settings) {
-        try {
-            PersistenceService.save(settings, SETTINGS_FILE);
-        } catch (IOException e) {
-            // 🔥 MODIFICATION : Meilleure gestion d'erreur
-            System.err.println("[SettingsService] ERREUR: Impossible de sauvegarder les paramètres dans " + SETTINGS_FILE + ": " + e.getMessage());
-        }
+        getSettings();
+        Settings saved = settings.frozenCopy();
+        PENDING_SAVES.incrementAndGet();
+        publish(saved);
+        PersistenceService.saveAsync(saved, SETTINGS_FILE, SETTINGS_BACKUPS, true)
+                .whenComplete((ignored, e) -> PENDING_SAVES.decrementAndGet())
+                .exceptionally(e -> {
+                    System.err.println("[SettingsService] ERREUR: Impossible de sauvegarder les paramètres dans "
+                            + SETTINGS_FILE + ": " + e.getMessage());
+                    return null;
+                });
     }
 
     /**
-     * Charge les paramètres depuis le fichier JSON.
+     * Retourne une copie modifiable des paramètres courants (écran de configuration),
+     * à repasser à {@link #saveSettings(Settings)}.
      * @return Les paramètres chargés, ou des paramètres par défaut si le fichier n'existe pas
      */
     public static Settings loadSettings() {
-        Settings settings = PersistenceService.load(SETTINGS_FILE, Settings.class);
+        return new Settings(getSettings());
+    }
+
+    /**
+     * Enregistre un écouteur des changements de paramètres.
+     * @param listener L'écouteur
+     */
+    public static void addListener(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Retire un écouteur précédemment enregistré.
+     * @param listener L'écouteur
+     */
+    public static void removeListener(Listener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * Relit le fichier et publie son contenu s'il diffère des paramètres courants.
+     * Ignoré tant qu'une sauvegarde est en attente : le fichier n'est alors pas à jour.
+     */
+    static void reload() {
+        if (PENDING_SAVES.get() > 0) {
+            return;
+        }
+        if (!Files.exists(Paths.get(SETTINGS_FILE))) {
+            return; // fichier supprimé : on garde les paramètres en mémoire
+        }
+        publish(readFile().frozenCopy());
+    }
+
+    /**
+     * Oublie les paramètres en mémoire (tests) : le prochain accès relit le fichier.
+     * Les écouteurs restent enregistrés.
+     */
+    static void invalidate() {
+        synchronized (LOCK) {
+            current = null;
+        }
+    }
+
+    private static Settings readFile() {
+        Settings settings = PersistenceService.loadEditable(SETTINGS_FILE, Settings.class);
         if (settings == null) {
             settings = new Settings();
         }
         return settings;
     }
-}
\ No newline at end of file
+
+    /**
+     * Remplace les paramètres courants et prévient les écouteurs, hors verrou.
+     */
+    private static void publish(Settings next) {
+        Settings previous;
+        synchronized (LOCK) {
+            previous = current;
+            if (next.equals(previous)) {
+                return;
+            }
+            current = next;
+        }
+        for (Listener listener : LISTENERS) {
+            try {
+                listener.settingsChanged(previous, next);
+            } catch (RuntimeException e) {
+                System.err.println("[SettingsService] ERREUR: Écouteur de paramètres en échec : " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Démarre la surveillance du dossier des paramètres (appelé sous verrou, une seule fois).
+     */
+    private static void startWatcher() {
+        if (watcher != null) {
+            return;
+        }
+        Path file = Paths.get(SETTINGS_FILE).toAbsolutePath();
+        Path directory = file.getParent();
+        WatchService watchService;
+        try {
+            Files.createDirectories(directory);
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("[SettingsService] Surveillance de " + SETTINGS_FILE + " indisponible : " + e.getMessage());
+            return;
+        }
+        watcher = new Thread(() -> watch(watchService, file.getFileName()), "settings-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static void watch(WatchService watchService, Path fileName) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = drainEvents(key, fileName);
+                // Un éditeur écrit souvent en plusieurs fois : on attend la fin des modifications
+                while ((key = watchService.poll(RELOAD_DELAY_MS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drainEvents(key, fileName);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("[SettingsService] ERREUR: Surveillance des paramètres arrêtée : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Consomme les événements d'une clé.
+     * @return true si le fichier des paramètres a pu changer
+     */
+    private static boolean drainEvents(WatchKey key, Path fileName) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // OVERFLOW : des événements ont été perdus, le fichier a pu changer
+            changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context());
+        }
+        if (!key.reset()) {
+            throw new IllegalStateException("dossier des paramètres supprimé");
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,307 @@
+package com.blindtest.service;
+
+import com.blindtest.util.InputValidator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Index de suggestions pour la saisie des réponses (titres ou artistes), pondérées par popularité.
+ *
+ * <p>Chaque suggestion est indexée sous sa forme normalisée ({@link InputValidator#normalize}),
+ * à partir de chacun de ses mots : "rhap" trouve "Bohemian Rhapsody". Les points d'entrée
+ * (suggestion, position du mot) sont triés dans l'ordre du texte qui suit, si bien que les
+ * entrées commençant par un préfixe donné forment un intervalle contigu, trouvé par
+ * dichotomie, comme un nœud de trie. Un arbre de segments des poids donne la meilleure
+ * entrée d'un intervalle en O(log n) : les K meilleures suggestions s'obtiennent en
+ * O(K log n), quelle que soit la taille du catalogue.</p>
+ *
+ * <p>L'index est immuable ; {@link Builder} accumule les suggestions et en construit un nouveau.</p>
+ */
+public class SuggestionIndex {
+
+    /**
+     * Accumule les suggestions, fusionnées par forme normalisée (poids additionnés).
+     */
+    public static class Builder {
+        private final Map<String, Candidate> candidates = new LinkedHashMap<>();
+
+        /**
+         * Ajoute une suggestion, ou augmente le poids d'une suggestion déjà connue.
+         * @param text Le texte affiché (titre ou artiste d'origine)
+         * @param weight Le poids à ajouter (popularité)
+         * @return true si la suggestion est nouvelle
+         */
+        public boolean add(String text, int weight) {
+            if (text == null) return false;
+            String key = InputValidator.normalize(text);
+            if (key.isEmpty()) return false;
+            Candidate candidate = candidates.get(key);
+            if (candidate != null) {
+                candidate.weight += weight;
+                return false;
+            }
+            candidates.put(key, new Candidate(text, weight));
+            return true;
+        }
+
+        /**
+         * Vérifie si une suggestion est déjà connue (même forme normalisée).
+         * @param text Le texte
+         * @return true si elle est déjà accumulée
+         */
+        public boolean contains(String text) {
+            return text != null && candidates.containsKey(InputValidator.normalize(text));
+        }
+
+        /**
+         * Retourne le nombre de suggestions distinctes.
+         * @return Le nombre de suggestions
+         */
+        public int size() {
+            return candidates.size();
+        }
+
+        /**
+         * Construit l'index des suggestions accumulées ; le builder reste utilisable.
+         * @return L'index
+         */
+        public SuggestionIndex build() {
+            int count = candidates.size();
+            String[] keys = new String[count];
+            String[] texts = new String[count];
+            int[] weights = new int[count];
+            int i = 0;
+            for (Map.Entry<String, Candidate> candidate : candidates.entrySet()) {
+                keys[i] = candidate.getKey();
+                texts[i] = candidate.getValue().text;
+                weights[i] = candidate.getValue().weight;
+                i++;
+            }
+            return new SuggestionIndex(keys, texts, weights);
+        }
+    }
+
+    /**
+     * Suggestion en cours d'accumulation : premier texte rencontré et poids cumulé.
+     */
+    private static class Candidate {
+        final String text;
+        int weight;
+
+        Candidate(String text, int weight) {
+            this.text = text;
+            this.weight = weight;
+        }
+    }
+
+    private final String[] keys;
+    private final String[] texts;
+    private final int[] weights;
+
+    // Points d'entrée triés : suggestion et position du mot dans sa forme normalisée
+    private final int[] entrySuggestion;
+    private final int[] entryOffset;
+
+    // Arbre de segments (feuilles à partir de leafBase) : indice de l'entrée de poids maximal
+    private final int leafBase;
+    private final int[] bestEntry;
+
+    private SuggestionIndex(String[] keys, String[] texts, int[] weights) {
+        this.keys = keys;
+        this.texts = texts;
+        this.weights = weights;
+
+        int entryCount = 0;
+        for (String key : keys) {
+            entryCount += wordCount(key);
+        }
+        // Suggestion et position codées sur un long pour le tri
+        Long[] entries = new Long[entryCount];
+        int e = 0;
+        for (int s = 0; s < keys.length; s++) {
+            int offset = 0;
+            while (true) {
+                entries[e++] = ((long) s << 32) | offset;
+                int space = keys[s].indexOf(' ', offset);
+                if (space < 0) break;
+                offset = space + 1;
+            }
+        }
+        Arrays.sort(entries, (a, b) -> compareSuffixes((int) (a >>> 32), a.intValue(), (int) (b >>> 32), b.intValue()));
+
+        entrySuggestion = new int[entryCount];
+        entryOffset = new int[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            entrySuggestion[i] = (int) (entries[i] >>> 32);
+            entryOffset[i] = entries[i].intValue();
+        }
+
+        int base = 1;
+        while (base < Math.max(1, entryCount)) {
+            base <<= 1;
+        }
+        leafBase = base;
+        bestEntry = new int[2 * base];
+        Arrays.fill(bestEntry, -1);
+        for (int i = 0; i < entryCount; i++) {
+            bestEntry[base + i] = i;
+        }
+        for (int node = base - 1; node >= 1; node--) {
+            bestEntry[node] = better(bestEntry[2 * node], bestEntry[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Retourne le nombre de suggestions indexées.
+     * @return Le nombre de suggestions
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Retourne les suggestions les plus populaires dont un mot commence par la saisie.
+     * @param query La saisie du joueur (le dernier mot peut être incomplet)
+     * @param limit Le nombre maximal de suggestions
+     * @return Les textes suggérés, du plus populaire au moins populaire
+     */
+    public List<String> suggest(String query, int limit) {
+        String prefix = normalizeQuery(query);
+        if (prefix.isEmpty() || limit <= 0 || entrySuggestion.length == 0) {
+            return Collections.emptyList();
+        }
+        int from = lowerBound(prefix, false);
+        int to = lowerBound(prefix, true);
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+
+        // Meilleur-d'abord : chaque intervalle est représenté par sa meilleure entrée
+        List<String> suggestions = new ArrayList<>(limit);
+        int[] chosen = new int[limit];
+        PriorityQueue<int[]> ranges = new PriorityQueue<>(
+            (a, b) -> compareEntries(a[2], b[2]));
+        ranges.add(new int[]{from, to, rangeBest(from, to)});
+        while (!ranges.isEmpty() && suggestions.size() < limit) {
+            int[] range = ranges.poll();
+            int entry = range[2];
+            int suggestion = entrySuggestion[entry];
+            if (!contains(chosen, suggestions.size(), suggestion)) {
+                chosen[suggestions.size()] = suggestion;
+                suggestions.add(texts[suggestion]);
+            }
+            if (range[0] < entry) {
+                ranges.add(new int[]{range[0], entry, rangeBest(range[0], entry)});
+            }
+            if (entry + 1 < range[1]) {
+                ranges.add(new int[]{entry + 1, range[1], rangeBest(entry + 1, range[1])});
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Normalise la saisie ; le dernier mot est gardé même s'il ressemble à un mot-outil
+     * ("le" peut être le début de "Lemon").
+     */
+    static String normalizeQuery(String query) {
+        if (query == null) return "";
+        String normalized = InputValidator.normalize(query);
+        String folded = InputValidator.sanitize(query).toLowerCase();
+        if (folded.isEmpty() || Character.isWhitespace(query.charAt(query.length() - 1))) {
+            return normalized;
+        }
+        String lastWord = folded.substring(folded.lastIndexOf(' ') + 1);
+        if (normalized.equals(lastWord) || normalized.endsWith(" " + lastWord)) {
+            return normalized;
+        }
+        return normalized.isEmpty() ? lastWord : normalized + " " + lastWord;
+    }
+
+    /**
+     * Premier point d'entrée dont le texte est, sur la longueur du préfixe, supérieur ou égal
+     * (ou strictement supérieur si {@code after}) au préfixe.
+     */
+    private int lowerBound(String prefix, boolean after) {
+        int low = 0;
+        int high = entrySuggestion.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int cmp = comparePrefix(entrySuggestion[middle], entryOffset[middle], prefix);
+            if (cmp < 0 || (after && cmp == 0)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int comparePrefix(int suggestion, int offset, String prefix) {
+        String key = keys[suggestion];
+        int length = Math.min(key.length() - offset, prefix.length());
+        for (int i = 0; i < length; i++) {
+            int diff = key.charAt(offset + i) - prefix.charAt(i);
+            if (diff != 0) return diff;
+        }
+        return key.length() - offset < prefix.length() ? -1 : 0;
+    }
+
+    private int compareSuffixes(int s1, int o1, int s2, int o2) {
+        String k1 = keys[s1];
+        String k2 = keys[s2];
+        int length = Math.min(k1.length() - o1, k2.length() - o2);
+        for (int i = 0; i < length; i++) {
+            int diff = k1.charAt(o1 + i) - k2.charAt(o2 + i);
+            if (diff != 0) return diff;
+        }
+        return (k1.length() - o1) - (k2.length() - o2);
+    }
+
+    private int rangeBest(int from, int to) {
+        int best = -1;
+        for (int low = from + leafBase, high = to + leafBase; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) best = better(best, bestEntry[low++]);
+            if ((high & 1) == 1) best = better(best, bestEntry[--high]);
+        }
+        return best;
+    }
+
+    /**
+     * Ordre des entrées : poids décroissant, puis texte le plus court, puis ordre de l'index.
+     */
+    private int compareEntries(int a, int b) {
+        int sa = entrySuggestion[a];
+        int sb = entrySuggestion[b];
+        if (weights[sa] != weights[sb]) return Integer.compare(weights[sb], weights[sa]);
+        if (keys[sa].length() != keys[sb].length()) return Integer.compare(keys[sa].length(), keys[sb].length());
+        return Integer.compare(a, b);
+    }
+
+    private int better(int a, int b) {
+        if (a < 0) return b;
+        if (b < 0) return a;
+        return compareEntries(a, b) <= 0 ? a : b;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    private static int wordCount(String key) {
+        int count = 1;
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) == ' ') count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,83 @@
+package com.blindtest.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Limiteur de débit à seau de jetons : autorise des rafales jusqu'à la capacité du seau,
+ * puis un débit moyen égal au rythme de remplissage.
+ * Le seau peut être suspendu jusqu'à une date donnée (ex. en-tête Retry-After).
+ */
+public class TokenBucket {
+    private final long capacity;
+    private final long nanosPerToken;
+    private final LongSupplier clock;
+
+    private double tokens;
+    private long lastRefill;
+    private long pausedUntil;
+
+    /**
+     * Crée un seau plein.
+     * @param capacity Le nombre maximal de jetons (taille des rafales)
+     * @param tokensPerSecond Le rythme de remplissage
+     */
+    public TokenBucket(int capacity, double tokensPerSecond) {
+        this(capacity, tokensPerSecond, System::nanoTime);
+    }
+
+    TokenBucket(int capacity, double tokensPerSecond, LongSupplier clock) {
+        if (capacity < 1 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Capacité et débit doivent être strictement positifs");
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond);
+        this.clock = clock;
+        this.tokens = capacity;
+        this.lastRefill = clock.getAsLong();
+        this.pausedUntil = lastRefill;
+    }
+
+    /**
+     * Prend un jeton, en attendant si nécessaire.
+     * @throws InterruptedException Si l'attente est interrompue
+     */
+    public void acquire() throws InterruptedException {
+        long wait;
+        while ((wait = tryAcquire()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /**
+     * Prend un jeton s'il y en a un.
+     * @return 0 si un jeton a été pris, sinon le temps d'attente estimé en nanosecondes
+     */
+    synchronized long tryAcquire() {
+        long now = clock.getAsLong();
+        if (now < pausedUntil) {
+            return pausedUntil - now;
+        }
+
+        tokens = Math.min(capacity, tokens + (double) (now - lastRefill) / nanosPerToken);
+        lastRefill = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) ((1 - tokens) * nanosPerToken);
+    }
+
+    /**
+     * Suspend la distribution de jetons pendant la durée donnée et vide le seau.
+     * @param millis La durée de suspension en millisecondes
+     */
+    public synchronized void pause(long millis) {
+        long until = clock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(millis);
+        if (until > pausedUntil) {
+            pausedUntil = until;
+            lastRefill = until;
+            tokens = 0;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.blindtest.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Classement borné aux K meilleurs éléments, tenu à jour incrémentalement.
+ *
+ * <p>Les éléments sont rangés selon l'ordre donné, puis par ordre d'ajout en cas d'égalité
+ * (comme un tri stable). Un ajout coûte O(log K) ; lire les n premiers coûte O(n),
+ * quel que soit le nombre total d'éléments vus.</p>
+ *
+ * @param <T> Le type des éléments classés
+ */
+public class TopKRanking<T> {
+
+    /**
+     * Élément classé avec son numéro d'ajout (départage des égalités).
+     */
+    private static class Entry<T> {
+        final T value;
+        final long sequence;
+
+        Entry(T value, long sequence) {
+            this.value = value;
+            this.sequence = sequence;
+        }
+    }
+
+    private final int capacity;
+    private final Comparator<Entry<T>> order;
+    private final TreeSet<Entry<T>> entries;
+    private long seen = 0;
+
+    /**
+     * Crée un classement vide.
+     * @param order L'ordre du classement (meilleur en premier)
+     * @param capacity Le nombre maximal d'éléments conservés (K)
+     */
+    public TopKRanking(Comparator<? super T> order, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La capacité doit être strictement positive");
+        }
+        this.capacity = capacity;
+        this.order = Comparator.<Entry<T>, T>comparing(entry -> entry.value, order)
+                .thenComparingLong(entry -> entry.sequence);
+        this.entries = new TreeSet<>(this.order);
+    }
+
+    /**
+     * Propose un élément : il est conservé s'il fait partie des K meilleurs.
+     * @param value L'élément
+     */
+    public void add(T value) {
+        Entry<T> entry = new Entry<>(value, seen++);
+        if (entries.size() >= capacity) {
+            if (order.compare(entry, entries.last()) >= 0) {
+                return;
+            }
+            entries.pollLast();
+        }
+        entries.add(entry);
+    }
+
+    /**
+     * Retourne les meilleurs éléments.
+     * @param limit Le nombre maximum d'éléments
+     * @return Les éléments classés, au plus {@code min(limit, K)}
+     */
+    public List<T> top(int limit) {
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(limit, entries.size())));
+        Iterator<Entry<T>> it = entries.iterator();
+        while (result.size() < limit && it.hasNext()) {
+            result.add(it.next().value);
+        }
+        return result;
+    }
+
+    /**
+     * Indique si le classement peut répondre exactement pour cette limite : c'est le cas
+     * si elle ne dépasse pas K, ou si aucun élément n'a encore été écarté.
+     * @param limit Le nombre d'éléments demandés
+     * @return true si {@link #top(int)} donne le résultat complet
+     */
+    public boolean covers(int limit) {
+        return limit <= capacity || seen <= capacity;
+    }
+
+    /**
+     * Retourne le nombre d'éléments conservés.
+     * @return La taille du classement, au plus K
+     */
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,278 @@
+package com.blindtest.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Comparaison tolérante d'une réponse à une réponse attendue, toutes deux normalisées
+ * par {@link InputValidator#normalize}.
+ *
+ * <p>La réponse attendue est préparée une fois ({@link #of}, {@link #ofArtist}) en variantes
+ * acceptées : la réponse complète, la partie avant un featuring ("feat", "ft", "featuring",
+ * et "x" pour un artiste seulement : "Malcolm X Speaks" est un titre entier) et les alias
+ * connus ("maitre gims" / "gims"). Une réponse est acceptée si elle est à distance de
+ * Levenshtein au plus {@link #maxEdits} d'une variante. Un filtre par trigrammes écarte
+ * d'abord les réponses trop différentes ; la distance est ensuite calculée dans une bande
+ * de largeur {@code 2 * maxEdits + 1} (Ukkonen), sur deux lignes réutilisées, et abandonnée
+ * dès que le seuil est dépassé.</p>
+ */
+public final class AnswerMatcher {
+
+    // Une faute tolérée tous les CHARS_PER_EDIT caractères, au plus MAX_EDITS
+    private static final int CHARS_PER_EDIT = 5;
+    private static final int MAX_EDITS = 3;
+    private static final int GRAM = 3;
+
+    // Mots introduisant un artiste invité (jamais en dernière position) : ce qui suit est facultatif.
+    // "x" ne sépare deux artistes que dans un nom d'artiste ("Niska x Ninho")
+    private static final Set<String> FEATURING_TOKENS = Set.of("feat", "ft", "featuring");
+    private static final Set<String> ARTIST_FEATURING_TOKENS = Set.of("feat", "ft", "featuring", "x");
+
+    // Groupes de noms équivalents, sous forme normalisée
+    private static final String[][] ALIAS_GROUPS = {
+        {"maitre gims", "gims"},
+        {"m pokora", "matt pokora", "pokora"},
+        {"jay-z", "jay z"},
+        {"dr dre", "dre"},
+        {"50 cent", "fifty cent"},
+        {"tyler creator", "tyler"}
+    };
+    private static final Map<String, List<String>> ALIASES = new HashMap<>();
+
+    static {
+        for (String[] group : ALIAS_GROUPS) {
+            for (String name : group) {
+                List<String> others = new ArrayList<>(Arrays.asList(group));
+                others.remove(name);
+                ALIASES.put(name, others);
+            }
+        }
+    }
+
+    /**
+     * Lignes de calcul et trigrammes de la réponse, réutilisés par thread.
+     */
+    private static final class Scratch {
+        int[] previous = new int[64];
+        int[] current = new int[64];
+        long[] grams = new long[64];
+
+        void ensureRows(int length) {
+            if (previous.length < length) {
+                previous = new int[Math.max(length, previous.length * 2)];
+                current = new int[previous.length];
+            }
+        }
+
+        long[] grams(int count) {
+            if (grams.length < count) {
+                grams = new long[Math.max(count, grams.length * 2)];
+            }
+            return grams;
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final String expected;
+    private final String[] variants;
+    private final long[][] variantGrams;
+
+    private AnswerMatcher(String expected, String[] variants) {
+        this.expected = expected;
+        this.variants = variants;
+        this.variantGrams = new long[variants.length][];
+        for (int i = 0; i < variants.length; i++) {
+            variantGrams[i] = grams(variants[i], new long[Math.max(0, variants[i].length() - GRAM + 1)]);
+        }
+    }
+
+    /**
+     * Prépare la comparaison à une réponse attendue (titre).
+     * @param normalizedExpected La réponse attendue, normalisée
+     * @return Le comparateur
+     */
+    public static AnswerMatcher of(String normalizedExpected) {
+        return of(normalizedExpected, FEATURING_TOKENS);
+    }
+
+    /**
+     * Prépare la comparaison à un nom d'artiste, où "x" sépare aussi deux artistes.
+     * @param normalizedExpected L'artiste attendu, normalisé
+     * @return Le comparateur
+     */
+    public static AnswerMatcher ofArtist(String normalizedExpected) {
+        return of(normalizedExpected, ARTIST_FEATURING_TOKENS);
+    }
+
+    private static AnswerMatcher of(String normalizedExpected, Set<String> featuringTokens) {
+        Set<String> variants = new LinkedHashSet<>();
+        variants.add(normalizedExpected);
+
+        String[] tokens = normalizedExpected.isEmpty() ? new String[0] : normalizedExpected.split(" ");
+        for (int i = 1; i < tokens.length - 1; i++) {
+            if (featuringTokens.contains(tokens[i])) {
+                variants.add(String.join(" ", Arrays.copyOf(tokens, i)));
+                break;
+            }
+        }
+        for (String variant : new ArrayList<>(variants)) {
+            addAliases(variant, variants);
+        }
+        return new AnswerMatcher(normalizedExpected, variants.toArray(new String[0]));
+    }
+
+    /**
+     * Ajoute les variantes où un alias connu, pris mot à mot, est remplacé par ses équivalents.
+     */
+    private static void addAliases(String variant, Set<String> variants) {
+        String padded = " " + variant + " ";
+        for (Map.Entry<String, List<String>> alias : ALIASES.entrySet()) {
+            String name = " " + alias.getKey() + " ";
+            int index = padded.indexOf(name);
+            if (index < 0) continue;
+            for (String other : alias.getValue()) {
+                String replaced = padded.substring(0, index) + " " + other + " " + padded.substring(index + name.length());
+                variants.add(replaced.trim().replaceAll(" +", " "));
+            }
+        }
+    }
+
+    /**
+     * Retourne la réponse attendue.
+     * @return La réponse attendue, normalisée
+     */
+    public String getExpected() {
+        return expected;
+    }
+
+    /**
+     * Vérifie une réponse, en tolérant les fautes de frappe et les alias.
+     * @param normalizedAnswer La réponse du joueur, normalisée
+     * @return true si la réponse correspond à l'une des variantes
+     */
+    public boolean matches(String normalizedAnswer) {
+        if (normalizedAnswer.equals(expected)) return true;
+        if (normalizedAnswer.isEmpty()) return false;
+
+        Scratch scratch = SCRATCH.get();
+        int answerGramCount = Math.max(0, normalizedAnswer.length() - GRAM + 1);
+        long[] answerGrams = null;
+        for (int i = 0; i < variants.length; i++) {
+            String variant = variants[i];
+            if (variant.isEmpty()) continue;
+            int maxEdits = maxEdits(variant.length());
+            if (Math.abs(variant.length() - normalizedAnswer.length()) > maxEdits) continue;
+
+            // Lemme des q-grammes : chaque faute détruit au plus GRAM trigrammes communs
+            int minShared = Math.max(variant.length(), normalizedAnswer.length()) - GRAM + 1 - GRAM * maxEdits;
+            if (minShared > 0) {
+                if (answerGrams == null) {
+                    answerGrams = grams(normalizedAnswer, scratch.grams(answerGramCount));
+                }
+                if (sharedCount(answerGrams, answerGramCount, variantGrams[i]) < minShared) continue;
+            }
+            if (boundedDistance(normalizedAnswer, variant, maxEdits, scratch) <= maxEdits) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Nombre de fautes tolérées pour une réponse attendue de cette longueur.
+     * @param length La longueur de la réponse attendue
+     * @return Le nombre maximal de modifications
+     */
+    public static int maxEdits(int length) {
+        return Math.min(MAX_EDITS, length / CHARS_PER_EDIT);
+    }
+
+    /**
+     * Distance de Levenshtein bornée.
+     * @param s1 Première chaîne
+     * @param s2 Seconde chaîne
+     * @param max La distance au-delà de laquelle le calcul s'arrête
+     * @return La distance si elle est au plus {@code max}, {@code max + 1} sinon
+     */
+    public static int distance(String s1, String s2, int max) {
+        return boundedDistance(s1, s2, max, SCRATCH.get());
+    }
+
+    private static int boundedDistance(String s1, String s2, int max, Scratch scratch) {
+        // s1 la plus courte : la bande suit les lignes de s1, les colonnes de s2
+        if (s1.length() > s2.length()) {
+            String swap = s1;
+            s1 = s2;
+            s2 = swap;
+        }
+        int n = s1.length();
+        int m = s2.length();
+        if (max < 0 || m - n > max) return max + 1;
+        if (n == 0) return m;
+
+        int outside = max + 1;
+        scratch.ensureRows(m + 1);
+        int[] previous = scratch.previous;
+        int[] current = scratch.current;
+        for (int j = 0; j <= Math.min(m, max); j++) previous[j] = j;
+        if (max < m) previous[max + 1] = outside;
+
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            current[from - 1] = from == 1 ? Math.min(i, outside) : outside;
+            int rowMin = current[from - 1];
+            char c = s1.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = c == s2.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j - 1] + cost, previous[j] + 1), current[j - 1] + 1);
+                current[j] = Math.min(value, outside);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) current[to + 1] = outside;
+            if (rowMin > max) return outside; // toute la bande dépasse le seuil
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[m];
+    }
+
+    /**
+     * Trigrammes d'une chaîne (trois caractères de 16 bits par long), triés.
+     */
+    private static long[] grams(String text, long[] into) {
+        int count = Math.max(0, text.length() - GRAM + 1);
+        for (int i = 0; i < count; i++) {
+            into[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(into, 0, count);
+        return into;
+    }
+
+    /**
+     * Nombre de trigrammes communs (avec multiplicité) entre deux listes triées.
+     */
+    private static int sharedCount(long[] a, int aCount, long[] b) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < aCount && j < b.length) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return shared;
+    }
+}
@@ -1,6 +1,7 @@
 package com.blindtest.util;
 
 import java.text.Normalizer;
+import java.util.Arrays;
 import java.util.regex.Pattern;
 
 /**
@@ -15,6 +16,76 @@ public class InputValidator {
     private static final Pattern SPECIAL_CHARS_PATTERN = Pattern.compile("[<>\"'&;{}()]");
     private static final Pattern UNSAFE_CHARS_PATTERN = Pattern.compile("[^a-zA-Z0-9\\s-_]");
 
+    // Mots-outils ignorés par la comparaison, retirés dans cet ordre
+    private static final String[] STOP_WORDS = {
+        "the", "a", "an", "le", "la", "les", "un", "une", "des",
+        "of", "de", "du", "d", "l", "&", "and", "et"
+    };
+    private static final int STOP_WORD_MAX_LENGTH = 3;
+    // Mots-outils codés par stopWordKey, triés pour la recherche dichotomique, et leur rang
+    private static final int[] STOP_WORD_KEYS = new int[STOP_WORDS.length];
+    private static final byte[] STOP_WORD_RANKS = new byte[STOP_WORDS.length];
+
+    // Repli des caractères pour normalize : caractère ASCII en minuscule, espace (séparateur)
+    // ou DROP (marque combinante). Calculé d'avance pour les alphabets latins, à la demande
+    // au-delà (écritures concurrentes sans danger : la valeur calculée est toujours la même)
+    private static final char DROP = 0;
+    private static final char UNKNOWN = '\uFFFF';
+    private static final int EAGER_FOLD_LIMIT = 0x0250; // fin de Latin étendu B
+    private static final char[] FOLD = new char[Character.MAX_VALUE + 1];
+
+    static {
+        long[] sorted = new long[STOP_WORDS.length];
+        for (int rank = 0; rank < STOP_WORDS.length; rank++) {
+            char[] word = STOP_WORDS[rank].toCharArray();
+            sorted[rank] = ((long) stopWordKey(word, 0, word.length) << 8) | rank;
+        }
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            STOP_WORD_KEYS[i] = (int) (sorted[i] >> 8);
+            STOP_WORD_RANKS[i] = (byte) sorted[i];
+        }
+
+        Arrays.fill(FOLD, UNKNOWN);
+        for (char c = 0; c < EAGER_FOLD_LIMIT; c++) {
+            FOLD[c] = computeFold(c);
+        }
+    }
+
+    /**
+     * Tampons réutilisés par normalize, un jeu par thread (interface et résolution d'extraits).
+     */
+    private static final class Scratch {
+        char[] chars = new char[128];
+        int[] starts = new int[32];
+        int[] ends = new int[32];
+        int[] ranks = new int[32];
+        boolean[] removed = new boolean[32];
+
+        char[] chars(int length) {
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            return chars;
+        }
+
+        void addToken(int index, int start, int end, int rank) {
+            if (index == starts.length) {
+                int capacity = starts.length * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                ranks = Arrays.copyOf(ranks, capacity);
+                removed = Arrays.copyOf(removed, capacity);
+            }
+            starts[index] = start;
+            ends[index] = end;
+            ranks[index] = rank;
+            removed[index] = false;
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
     /**
      * Nettoie et normalise une entrée utilisateur (pseudo, réponse).
      */
@@ -30,34 +101,142 @@ public class InputValidator {
     }
 
     /**
-     * Normalise une réponse pour comparaison stricte ou approximative.
+     * Normalise une réponse pour comparaison stricte ou approximative : accents retirés,
+     * minuscules, caractères hors {@code [a-z0-9_-]} remplacés par des espaces, mots-outils
+     * supprimés et espaces réduits.
+     *
+     * <p>Même résultat que {@link #sanitize}, {@code toLowerCase()} puis le retrait des
+     * mots-outils par expressions régulières, mais en une passe sur les caractères : repli
+     * par la table {@link #FOLD}, découpage en mots dans un tampon propre au thread et
+     * recherche des mots-outils sans allocation.</p>
      */
     public static String normalize(String input) {
         if (input == null) return "";
 
-        String normalized = sanitize(input).toLowerCase();
+        Scratch scratch = SCRATCH.get();
+        char[] chars = scratch.chars(input.length());
+        int length = 0;
+        int tokens = 0;
+        int tokenStart = -1;
+        int ranksPresent = 0;
+
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            char folded;
+            if (Character.isHighSurrogate(c) && i + 1 < input.length() && Character.isLowSurrogate(input.charAt(i + 1))) {
+                folded = computeFold(Character.toCodePoint(c, input.charAt(++i)));
+            } else {
+                folded = FOLD[c];
+                if (folded == UNKNOWN) {
+                    folded = computeFold(c);
+                    FOLD[c] = folded;
+                }
+            }
+
+            if (folded == DROP) {
+                continue; // accent ou autre marque combinante
+            }
+            if (folded == ' ') {
+                if (tokenStart >= 0) {
+                    int rank = stopWordRank(chars, tokenStart, length);
+                    scratch.addToken(tokens++, tokenStart, length, rank);
+                    if (rank >= 0) ranksPresent |= 1 << rank;
+                    tokenStart = -1;
+                }
+                continue;
+            }
+            if (tokenStart < 0) {
+                if (tokens > 0) chars[length++] = ' ';
+                tokenStart = length;
+            }
+            chars[length++] = folded;
+        }
+        if (tokenStart >= 0) {
+            int rank = stopWordRank(chars, tokenStart, length);
+            scratch.addToken(tokens++, tokenStart, length, rank);
+            if (rank >= 0) ranksPresent |= 1 << rank;
+        }
+        if (ranksPresent == 0) {
+            return new String(chars, 0, length);
+        }
+
+        // Une passe par mot-outil présent, dans l'ordre de STOP_WORDS : comme l'ancien
+        // replaceAll("\\s" + mot + "\\s", " "), deux occurrences adjacentes du même mot
+        // partagent un espace et la seconde est conservée
+        boolean[] removed = scratch.removed;
+        for (int rank = 0; rank < STOP_WORDS.length; rank++) {
+            if ((ranksPresent & (1 << rank)) == 0) continue;
+            boolean removedPrevious = false;
+            for (int t = 0; t < tokens; t++) {
+                if (removed[t]) continue;
+                removedPrevious = scratch.ranks[t] == rank && !removedPrevious;
+                removed[t] = removedPrevious;
+            }
+        }
 
-        // Supprime les mots-outils pour comparaison plus tolérante
-        normalized = removeCommonWords(normalized);
+        // Compactage sur place des mots conservés, séparés par un espace
+        int written = 0;
+        for (int t = 0; t < tokens; t++) {
+            if (removed[t]) continue;
+            if (written > 0) chars[written++] = ' ';
+            int start = scratch.starts[t];
+            int tokenLength = scratch.ends[t] - start;
+            System.arraycopy(chars, start, chars, written, tokenLength);
+            written += tokenLength;
+        }
+        return new String(chars, 0, written);
+    }
 
-        return normalized.replaceAll("\\s+", " ").trim();
+    /**
+     * Rang d'un mot dans {@link #STOP_WORDS}, ou -1 si ce n'est pas un mot-outil.
+     */
+    private static int stopWordRank(char[] chars, int start, int end) {
+        if (end - start > STOP_WORD_MAX_LENGTH) return -1;
+        int index = Arrays.binarySearch(STOP_WORD_KEYS, stopWordKey(chars, start, end));
+        return index >= 0 ? STOP_WORD_RANKS[index] : -1;
     }
 
     /**
-     * Supprime les mots-outils courants d'un texte.
+     * Code un mot court (caractères ASCII) sur un int, un octet par caractère.
      */
-    private static String removeCommonWords(String text) {
-        String[] stopWords = {
-            "the", "a", "an", "le", "la", "les", "un", "une", "des",
-            "of", "de", "du", "d", "l", "&", "and", "et"
-        };
+    private static int stopWordKey(char[] chars, int start, int end) {
+        int key = 0;
+        for (int i = start; i < end; i++) {
+            key = (key << 8) | chars[i];
+        }
+        return key;
+    }
 
-        String result = " " + text + " ";
-        for (String word : stopWords) {
-            result = result.replaceAll("(?i)\\s" + word + "\\s", " ");
+    /**
+     * Repli d'un caractère (ou d'un point de code hors BMP) tel que le faisait {@link #sanitize} :
+     * décomposition NFD, marques combinantes retirées, caractère restant conservé (en minuscule)
+     * s'il est autorisé, espace sinon. Aucune décomposition ne mêle caractère autorisé et espace.
+     */
+    private static char computeFold(int codePoint) {
+        if (isMark(Character.getType(codePoint))) return DROP;
+
+        String decomposed = Normalizer.normalize(new String(Character.toChars(codePoint)), Normalizer.Form.NFD);
+        char folded = ' ';
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (!isMark(Character.getType(c)) && isAnswerChar(c)) {
+                folded = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+            }
         }
+        return folded;
+    }
+
+    private static boolean isMark(int type) {
+        return type == Character.NON_SPACING_MARK
+            || type == Character.ENCLOSING_MARK
+            || type == Character.COMBINING_SPACING_MARK;
+    }
 
-        return result.trim();
+    /**
+     * Caractères conservés par {@link #sanitize} (complément de UNSAFE_CHARS_PATTERN, hors espaces).
+     */
+    private static boolean isAnswerChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
     }
 
     /**
@@ -109,8 +288,8 @@ public class InputValidator {
         String normUser = normalize(userAnswer);
         String normCorrect = normalize(correctAnswer);
 
-        int distance = levenshteinDistance(normUser, normCorrect);
-        return distance <= threshold;
+        // Calcul abandonné dès que le seuil est dépassé
+        return AnswerMatcher.distance(normUser, normCorrect, threshold) <= threshold;
     }
 
     /**
@@ -123,31 +302,10 @@ public class InputValidator {
         int maxLength = Math.max(s1.length(), s2.length());
         if (maxLength == 0) return 1.0;
 
-        int distance = levenshteinDistance(s1, s2);
+        int distance = AnswerMatcher.distance(s1, s2, maxLength);
         return 1.0 - ((double) distance / maxLength);
     }
 
-    /**
-     * Distance de Levenshtein.
-     */
-    private static int levenshteinDistance(String s1, String s2) {
-        int len1 = s1.length();
-        int len2 = s2.length();
-
-        int[][] dp = new int[len1 + 1][len2 + 1];
-        for (int i = 0; i <= len1; i++) dp[i][0] = i;
-        for (int j = 0; j <= len2; j++) dp[0][j] = j;
-
-        for (int i = 1; i <= len1; i++) {
-            for (int j = 1; j <= len2; j++) {
-                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
-                dp[i][j] = Math.min(Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1), dp[i - 1][j - 1] + cost);
-            }
-        }
-
-        return dp[len1][len2];
-    }
-
     /**
      * Valide un entier dans une plage.
      */
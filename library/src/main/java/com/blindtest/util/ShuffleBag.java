@@ -0,0 +1,103 @@
+package com.blindtest.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Sac de tirage sans remise : chaque élément sort une fois par tour, en temps constant.
+ *
+ * <p>Les positions des éléments sont mélangées au fil des tirages (Fisher-Yates incrémental) :
+ * un tirage échange la position courante avec une position restante choisie au hasard, puis
+ * avance le curseur. Les éléments "différés" (morceaux joués récemment) sont rangés en fin
+ * de tableau et ne sortent qu'une fois les autres épuisés. À la fin d'un tour, le sac peut
+ * recommencer ; le dernier élément tiré ne peut alors pas sortir en premier, si bien qu'un
+ * élément ne sort jamais deux fois de suite.</p>
+ *
+ * @param <T> Le type des éléments
+ */
+public final class ShuffleBag<T> {
+
+    private final List<T> items;
+    private final int[] order;
+    private final boolean reshuffle;
+    private final Random random;
+
+    // Positions [0, freshCount) : éléments tirés en priorité lors du premier tour
+    private int freshCount;
+    private int cursor;
+
+    /**
+     * Crée un sac qui recommence un nouveau tour quand il est épuisé.
+     * @param items Les éléments
+     * @param random Le générateur aléatoire
+     */
+    public ShuffleBag(List<? extends T> items, Random random) {
+        this(items, item -> false, true, random);
+    }
+
+    /**
+     * Crée un sac.
+     * @param items Les éléments
+     * @param deferred Les éléments à ne tirer qu'après tous les autres, au premier tour
+     * @param reshuffle true pour recommencer un tour quand le sac est épuisé, false pour s'arrêter
+     * @param random Le générateur aléatoire
+     */
+    public ShuffleBag(List<? extends T> items, Predicate<? super T> deferred, boolean reshuffle, Random random) {
+        this.items = new ArrayList<>(items);
+        this.reshuffle = reshuffle;
+        this.random = random;
+        this.order = new int[this.items.size()];
+        int front = 0;
+        int back = order.length;
+        for (int i = 0; i < order.length; i++) {
+            if (deferred.test(this.items.get(i))) {
+                order[--back] = i;
+            } else {
+                order[front++] = i;
+            }
+        }
+        this.freshCount = front;
+    }
+
+    /**
+     * Tire l'élément suivant.
+     * @return L'élément, ou null si le sac est vide ou épuisé sans nouveau tour
+     */
+    public T next() {
+        int size = order.length;
+        if (size == 0) return null;
+        int excluded = 0;
+        if (cursor == size) {
+            if (!reshuffle) return null;
+            cursor = 0;
+            freshCount = size;
+            // Le dernier élément tiré est en dernière position : on l'écarte du premier tirage
+            excluded = size > 1 ? 1 : 0;
+        }
+        int end = cursor < freshCount ? freshCount : size;
+        int pick = cursor + random.nextInt(end - excluded - cursor);
+        int swap = order[pick];
+        order[pick] = order[cursor];
+        order[cursor] = swap;
+        cursor++;
+        return items.get(swap);
+    }
+
+    /**
+     * Retourne le nombre d'éléments restant à tirer dans le tour en cours.
+     * @return Le nombre d'éléments restants
+     */
+    public int remaining() {
+        return order.length - cursor;
+    }
+
+    /**
+     * Retourne le nombre d'éléments du sac.
+     * @return Le nombre d'éléments
+     */
+    public int size() {
+        return order.length;
+    }
+}
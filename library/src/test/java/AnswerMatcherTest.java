@@ -0,0 +1,123 @@
+package com.blindtest.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour AnswerMatcher.
+ * Vérifie la distance bornée contre un calcul complet, le filtre par trigrammes
+ * et les variantes acceptées (featuring, alias).
+ */
+public class AnswerMatcherTest {
+
+    /**
+     * Distance de Levenshtein de référence (matrice complète).
+     */
+    private static int fullDistance(String s1, String s2) {
+        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
+        for (int i = 0; i <= s1.length(); i++) dp[i][0] = i;
+        for (int j = 0; j <= s2.length(); j++) dp[0][j] = j;
+        for (int i = 1; i <= s1.length(); i++) {
+            for (int j = 1; j <= s2.length(); j++) {
+                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
+                dp[i][j] = Math.min(Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1), dp[i - 1][j - 1] + cost);
+            }
+        }
+        return dp[s1.length()][s2.length()];
+    }
+
+    private static String randomWord(Random random, int maxLength) {
+        StringBuilder word = new StringBuilder();
+        int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+
+    /**
+     * Teste la distance bornée contre la matrice complète, pour plusieurs seuils.
+     */
+    @Test
+    public void testBoundedDistanceMatchesFullMatrix() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            String a = randomWord(random, 12);
+            String b = randomWord(random, 12);
+            int expected = fullDistance(a, b);
+            for (int max = 0; max <= 5; max++) {
+                int bounded = AnswerMatcher.distance(a, b, max);
+                assertEquals(Math.min(expected, max + 1), bounded, a + " / " + b + " max=" + max);
+            }
+            assertEquals(expected, AnswerMatcher.distance(a, b, Math.max(a.length(), b.length())));
+        }
+    }
+
+    /**
+     * Teste qu'une réponse à moins de maxEdits fautes n'est jamais écartée par le filtre.
+     */
+    @Test
+    public void testTyposWithinToleranceAccepted() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            String expected = randomWord(random, 60);
+            StringBuilder answer = new StringBuilder(expected);
+            int edits = random.nextInt(AnswerMatcher.maxEdits(expected.length()) + 1);
+            for (int e = 0; e < edits && answer.length() > 0; e++) {
+                int position = random.nextInt(answer.length());
+                switch (random.nextInt(3)) {
+                    case 0 -> answer.setCharAt(position, 'z');
+                    case 1 -> answer.deleteCharAt(position);
+                    default -> answer.insert(position, 'z');
+                }
+            }
+            if (answer.length() == 0) continue;
+            assertTrue(AnswerMatcher.of(expected).matches(answer.toString()), expected + " / " + answer);
+        }
+    }
+
+    /**
+     * Teste la tolérance selon la longueur de la réponse attendue.
+     */
+    @Test
+    public void testTypoTolerance() {
+        assertTrue(AnswerMatcher.of("bohemian rhapsody").matches("bohemian rapsody"));
+        assertTrue(AnswerMatcher.of("stromae").matches("stromay"));
+        assertFalse(AnswerMatcher.of("u2").matches("u3"), "Aucune faute tolérée sur un nom court");
+        assertFalse(AnswerMatcher.of("bohemian rhapsody").matches("bohemian"));
+        assertFalse(AnswerMatcher.of("queen").matches(""));
+        assertTrue(AnswerMatcher.of("").matches(""));
+    }
+
+    /**
+     * Teste les variantes : artiste invité facultatif et alias connus.
+     */
+    @Test
+    public void testFeaturingAndAliases() {
+        assertTrue(AnswerMatcher.ofArtist("dua lipa feat dababy").matches("dua lipa"));
+        assertTrue(AnswerMatcher.of("levitating feat dababy").matches("levitating"));
+        assertTrue(AnswerMatcher.ofArtist("niska x ninho").matches("niska"));
+        assertTrue(AnswerMatcher.ofArtist("niska x ninho").matches("niska x ninho"));
+        assertFalse(AnswerMatcher.ofArtist("lil nas x").matches("lil nas"), "x final : partie du nom");
+        assertFalse(AnswerMatcher.of("malcolm x speaks").matches("malcolm"), "x dans un titre : partie du titre");
+        assertTrue(AnswerMatcher.of("maitre gims").matches("gims"));
+        assertTrue(AnswerMatcher.of("gims").matches("maitre gims"));
+        assertTrue(AnswerMatcher.of("m pokora").matches("matt pokora"));
+        assertTrue(AnswerMatcher.of("tyler creator").matches("tyler"));
+        assertFalse(AnswerMatcher.of("maitre gims").matches("maitre"));
+    }
+
+    /**
+     * Teste la comparaison de bout en bout avec des réponses normalisées.
+     */
+    @Test
+    public void testWithNormalizedAnswers() {
+        AnswerMatcher artist = AnswerMatcher.ofArtist(InputValidator.normalize("Maître Gims"));
+        assertTrue(artist.matches(InputValidator.normalize("Gims")));
+        AnswerMatcher title = AnswerMatcher.of(InputValidator.normalize("Sweet Child O' Mine"));
+        assertTrue(title.matches(InputValidator.normalize("Sweet Child of Mine")));
+    }
+}
@@ -0,0 +1,174 @@
+package com.blindtest.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour AudioCacheLog.
+ * Vérifie le rejeu du journal, les suppressions, la tolérance aux fins tronquées et la compaction.
+ */
+public class AudioCacheLogTest {
+
+    private static final String TEST_LOG = "data/test_audio_cache.log";
+
+    /**
+     * Supprime le journal de test avant et après chaque test.
+     */
+    @BeforeEach
+    @AfterEach
+    public void cleanUp() {
+        new File(TEST_LOG).delete();
+        new File(TEST_LOG + ".tmp").delete();
+    }
+
+    /**
+     * Teste qu'une insertion est relue par une nouvelle instance.
+     */
+    @Test
+    public void testAppendAndReload() {
+        AudioCacheLog log = new AudioCacheLog(TEST_LOG);
+        log.appendPut("queen bohemian rhapsody", "https://cdn.example/1.mp3", 1000L);
+        log.appendPut("europe final countdown", "https://cdn.example/2.mp3", 2000L);
+
+        Map<String, AudioCacheLog.Record> live = new AudioCacheLog(TEST_LOG).load();
+
+        assertEquals(2, live.size());
+        assertEquals("https://cdn.example/1.mp3", live.get("queen bohemian rhapsody").url);
+        assertEquals(2000L, live.get("europe final countdown").timestamp);
+    }
+
+    /**
+     * Teste qu'une suppression et un remplacement sont rejoués dans l'ordre.
+     */
+    @Test
+    public void testRemoveAndOverwrite() {
+        AudioCacheLog log = new AudioCacheLog(TEST_LOG);
+        log.appendPut("a", "https://cdn.example/a1.mp3", 1L);
+        log.appendPut("b", "https://cdn.example/b.mp3", 2L);
+        log.appendRemove("b");
+        log.appendPut("a", "https://cdn.example/a2.mp3", 3L);
+
+        Map<String, AudioCacheLog.Record> live = new AudioCacheLog(TEST_LOG).load();
+
+        assertEquals(1, live.size());
+        assertFalse(live.containsKey("b"));
+        assertEquals("https://cdn.example/a2.mp3", live.get("a").url);
+    }
+
+    /**
+     * Teste qu'un enregistrement partiellement écrit (arrêt brutal) est ignoré puis coupé.
+     */
+    @Test
+    public void testTornTailIsTruncated() throws IOException {
+        AudioCacheLog log = new AudioCacheLog(TEST_LOG);
+        log.appendPut("a", "https://cdn.example/a.mp3", 1L);
+        log.appendPut("b", "https://cdn.example/b.mp3", 2L);
+
+        File file = new File(TEST_LOG);
+        long fullLength = file.length();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(fullLength - 5);
+        }
+
+        Map<String, AudioCacheLog.Record> live = new AudioCacheLog(TEST_LOG).load();
+
+        assertEquals(1, live.size());
+        assertTrue(live.containsKey("a"));
+        assertTrue(file.length() < fullLength - 5, "La fin incomplète devrait être coupée");
+    }
+
+    /**
+     * Teste la coupure d'une fin incomplète sur un gros journal (plus d'1 Mo), puis qu'un ajout
+     * ultérieur est bien relu au chargement suivant.
+     */
+    @Test
+    public void testTornTailIsTruncated_largeLog() throws IOException {
+        AudioCacheLog log = new AudioCacheLog(TEST_LOG);
+        ArrayList<AudioCacheLog.Record> records = new ArrayList<>();
+        String padding = "x".repeat(100);
+        for (int i = 0; i < 12000; i++) {
+            records.add(new AudioCacheLog.Record("query " + i, "https://cdn.example/" + padding + i + ".mp3", i));
+        }
+        log.compact(records);
+        log.appendPut("torn", "https://cdn.example/torn.mp3", 1L);
+
+        File file = new File(TEST_LOG);
+        long fullLength = file.length();
+        assertTrue(fullLength > 1 << 20, "Le journal de test devrait dépasser 1 Mo");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(fullLength - 5);
+        }
+
+        AudioCacheLog reloaded = new AudioCacheLog(TEST_LOG);
+        assertEquals(records.size(), reloaded.load().size());
+        assertTrue(file.length() < fullLength - 5, "La fin incomplète devrait être coupée");
+
+        reloaded.appendPut("after", "https://cdn.example/after.mp3", 2L);
+        Map<String, AudioCacheLog.Record> live = new AudioCacheLog(TEST_LOG).load();
+
+        assertEquals(records.size() + 1, live.size());
+        assertEquals("https://cdn.example/after.mp3", live.get("after").url);
+    }
+
+    /**
+     * Teste qu'un enregistrement corrompu (CRC invalide) arrête le rejeu.
+     */
+    @Test
+    public void testCorruptedRecordIsRejected() throws IOException {
+        AudioCacheLog log = new AudioCacheLog(TEST_LOG);
+        log.appendPut("a", "https://cdn.example/a.mp3", 1L);
+
+        File file = new File(TEST_LOG);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(file.length() - 1);
+            raf.write('X');
+        }
+
+        assertTrue(new AudioCacheLog(TEST_LOG).load().isEmpty());
+    }
+
+    /**
+     * Teste que la compaction ne conserve que les entrées vivantes.
+     */
+    @Test
+    public void testCompaction() {
+        AudioCacheLog log = new AudioCacheLog(TEST_LOG);
+        for (int i = 0; i < 1500; i++) {
+            log.appendPut("key", "https://cdn.example/" + i + ".mp3", i);
+        }
+        long sizeBefore = new File(TEST_LOG).length();
+
+        Map<String, AudioCacheLog.Record> live = log.load();
+        log.compactIfNeeded(live.size(), () -> new ArrayList<>(live.values()));
+
+        assertTrue(new File(TEST_LOG).length() < sizeBefore / 100, "Le journal compacté devrait être bien plus petit");
+        Map<String, AudioCacheLog.Record> reloaded = new AudioCacheLog(TEST_LOG).load();
+        assertEquals(1, reloaded.size());
+        assertEquals("https://cdn.example/1499.mp3", reloaded.get("key").url);
+    }
+
+    /**
+     * Teste que clear supprime le journal et qu'un ajout ultérieur le recrée.
+     */
+    @Test
+    public void testClearThenAppend() {
+        AudioCacheLog log = new AudioCacheLog(TEST_LOG);
+        log.appendPut("a", "https://cdn.example/a.mp3", 1L);
+        log.clear();
+        assertFalse(new File(TEST_LOG).exists());
+
+        log.appendPut("b", "https://cdn.example/b.mp3", 2L);
+        Map<String, AudioCacheLog.Record> live = new AudioCacheLog(TEST_LOG).load();
+        assertEquals(1, live.size());
+        assertTrue(live.containsKey("b"));
+    }
+}
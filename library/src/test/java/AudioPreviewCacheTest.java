@@ -0,0 +1,103 @@
+package com.blindtest.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour AudioPreviewCache.
+ * Vérifie l'éviction LRU, l'expiration, la notification des retraits et les statistiques.
+ */
+public class AudioPreviewCacheTest {
+
+    private static final long ONE_HOUR_MS = 60 * 60 * 1000;
+
+    /**
+     * Teste que l'entrée la moins récemment utilisée est évincée quand le cache est plein.
+     */
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        List<String> removed = new ArrayList<>();
+        AudioPreviewCache cache = new AudioPreviewCache(2, ONE_HOUR_MS, removed::add);
+        long now = System.currentTimeMillis();
+
+        cache.put("a", "https://cdn.example/a.mp3", now);
+        cache.put("b", "https://cdn.example/b.mp3", now);
+        cache.get("a"); // "b" devient la moins récemment utilisée
+        cache.put("c", "https://cdn.example/c.mp3", now);
+
+        assertEquals(List.of("b"), removed);
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.stats().evictions);
+    }
+
+    /**
+     * Teste qu'une entrée expirée est retirée à la lecture.
+     */
+    @Test
+    public void testExpiredEntryIsRemovedOnGet() {
+        List<String> removed = new ArrayList<>();
+        AudioPreviewCache cache = new AudioPreviewCache(10, ONE_HOUR_MS, removed::add);
+
+        cache.put("old", "https://cdn.example/old.mp3", System.currentTimeMillis() - 2 * ONE_HOUR_MS);
+
+        assertNull(cache.get("old"));
+        assertEquals(List.of("old"), removed);
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.stats().expirations);
+    }
+
+    /**
+     * Teste le balayage explicite des entrées expirées.
+     */
+    @Test
+    public void testRemoveExpired() {
+        AudioPreviewCache cache = new AudioPreviewCache(10, ONE_HOUR_MS, key -> { });
+        long now = System.currentTimeMillis();
+
+        cache.put("fresh", "https://cdn.example/fresh.mp3", now);
+        cache.put("old1", "https://cdn.example/old1.mp3", now - 2 * ONE_HOUR_MS);
+        cache.put("old2", "https://cdn.example/old2.mp3", now - 3 * ONE_HOUR_MS);
+
+        assertEquals(2, cache.removeExpired());
+        assertEquals(1, cache.size());
+        assertTrue(cache.snapshot().containsKey("fresh"));
+    }
+
+    /**
+     * Teste le décompte des succès, échecs et chargements.
+     */
+    @Test
+    public void testStats() {
+        AudioPreviewCache cache = new AudioPreviewCache(10, ONE_HOUR_MS, key -> { });
+        cache.put("a", "https://cdn.example/a.mp3", System.currentTimeMillis());
+
+        cache.get("a");
+        cache.get("a");
+        cache.get("missing");
+        cache.recordLoad(4_000_000, true);
+        cache.recordLoad(2_000_000, false);
+
+        AudioPreviewCache.Stats stats = cache.stats();
+        assertEquals(2, stats.hits);
+        assertEquals(1, stats.misses);
+        assertEquals(1, stats.loads);
+        assertEquals(1, stats.loadFailures);
+        assertEquals(3.0, stats.getAverageLoadMs(), 0.001);
+        assertEquals(200.0 / 3, stats.getHitRate(), 0.001);
+    }
+
+    /**
+     * Teste le refus d'une configuration invalide.
+     */
+    @Test
+    public void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new AudioPreviewCache(0, ONE_HOUR_MS, key -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new AudioPreviewCache(10, 0, key -> { }));
+    }
+}
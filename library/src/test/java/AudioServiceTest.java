@@ -1,9 +1,12 @@
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -12,7 +15,10 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.blindtest.service.AudioPreviewCache;
 import com.blindtest.service.AudioService;
+import com.blindtest.service.PreviewProvider;
+import com.blindtest.service.StubPreviewServer;
 
 /**
  * Tests unitaires complets pour AudioService.
@@ -21,7 +27,7 @@ import com.blindtest.service.AudioService;
 public class AudioServiceTest {
     private AudioService audioService;
     private static boolean javaFXInitialized = false;
-    private static final String CACHE_FILE = "data/audio_cache.dat";
+    private static final String CACHE_FILE = "data/audio_cache.log";
 
     /**
      * Initialise JavaFX pour les tests nécessitant des composants audio.
@@ -127,6 +133,23 @@ public class AudioServiceTest {
         });
     }
 
+    /**
+     * Teste la résolution via une source injectée (serveur Deezer simulé, sans réseau).
+     */
+    @Test
+    public void testFetchPreview_stubProvider() throws Exception {
+        try (StubPreviewServer server = new StubPreviewServer()) {
+            String query = "Stub Artist Stub Title " + System.nanoTime();
+            server.addPreview(query, "https://cdn.example/stub.mp3");
+            AudioService service = new AudioService(server.provider());
+
+            assertEquals("https://cdn.example/stub.mp3", service.fetchPreviewFromDeezer(query).toString());
+            assertEquals("https://cdn.example/stub.mp3", service.fetchPreviewFromDeezer(query).toString());
+            assertEquals(1, server.getRequestCount(), "Le second appel devrait venir du cache");
+            service.stop();
+        }
+    }
+
     // ========== TESTS CACHE ==========
 
     /**
@@ -194,6 +217,112 @@ public class AudioServiceTest {
         assertDoesNotThrow(() -> audioService.cleanExpiredCache());
     }
 
+    /**
+     * Source simulée qui compte ses appels par requête ; les requêtes connues renvoient une URL.
+     */
+    private static class CountingProvider implements PreviewProvider {
+        private final java.util.Map<String, AtomicInteger> calls = new java.util.concurrent.ConcurrentHashMap<>();
+        private final java.util.Set<String> known;
+
+        CountingProvider(String... known) {
+            this.known = java.util.Set.of(known);
+        }
+
+        @Override
+        public String getName() {
+            return "Simulée";
+        }
+
+        @Override
+        public URL findPreview(String query) throws IOException {
+            calls.computeIfAbsent(query, q -> new AtomicInteger()).incrementAndGet();
+            return known.contains(query) ? new URL("https://cdn.example/" + Math.abs(query.hashCode()) + ".mp3") : null;
+        }
+
+        int calls(String query) {
+            AtomicInteger count = calls.get(query);
+            return count == null ? 0 : count.get();
+        }
+
+        int totalCalls() {
+            return calls.values().stream().mapToInt(AtomicInteger::get).sum();
+        }
+    }
+
+    /**
+     * Teste qu'une requête sans résultat n'est pas rejouée auprès de la source juste après.
+     */
+    @Test
+    public void testCache_negativeResultIsCached() {
+        String query = "zzqxjv no such track " + System.nanoTime();
+        CountingProvider provider = new CountingProvider();
+        AudioService service = new AudioService(provider);
+
+        assertNull(service.fetchPreviewFromDeezer(query));
+        assertNull(service.fetchPreviewFromDeezer(query.toUpperCase()));
+        assertNull(service.fetchPreviewFromDeezer(query));
+
+        // La variante en majuscules partage la clé normalisée : un seul appel en tout
+        assertEquals(1, provider.totalCalls(), "L'échec récent devrait venir du cache");
+        service.stop();
+    }
+
+    /**
+     * Teste que le cache négatif est borné : au-delà de sa capacité, l'échec le plus ancien
+     * est oublié et la requête repart vers la source.
+     */
+    @Test
+    public void testCache_negativeCacheIsBounded() {
+        String prefix = "zzqxjv bounded " + System.nanoTime() + " ";
+        CountingProvider provider = new CountingProvider();
+        AudioService service = new AudioService(provider);
+
+        service.fetchPreviewFromDeezer(prefix + "first");
+        for (int i = 0; i < 1000; i++) {
+            service.fetchPreviewFromDeezer(prefix + i);
+        }
+        service.fetchPreviewFromDeezer(prefix + 999);
+        service.fetchPreviewFromDeezer(prefix + "first");
+
+        assertEquals(1, provider.calls(prefix + 999), "Échec récent encore en cache");
+        assertEquals(2, provider.calls(prefix + "first"), "Échec le plus ancien évincé");
+        service.stop();
+    }
+
+    /**
+     * Teste que deux recherches simultanées de la même requête partagent un seul appel réseau.
+     */
+    @Test
+    public void testConcurrentSameQuery_coalesced() throws Exception {
+        String query = "Coalesced Test " + System.nanoTime();
+        AtomicInteger calls = new AtomicInteger();
+        // Source lente : la seconde recherche démarre pendant que la première est en cours
+        AudioService service = new AudioService(new PreviewProvider() {
+            @Override
+            public String getName() {
+                return "Lente";
+            }
+
+            @Override
+            public URL findPreview(String q) throws IOException, InterruptedException {
+                calls.incrementAndGet();
+                Thread.sleep(300);
+                return new URL("https://cdn.example/coalesced.mp3");
+            }
+        });
+
+        CompletableFuture<URL> first = service.fetchPreviewAsync(query);
+        CompletableFuture<URL> second = service.fetchPreviewAsync(query);
+        URL result1 = first.get(30, TimeUnit.SECONDS);
+        URL result2 = second.get(30, TimeUnit.SECONDS);
+
+        assertEquals(String.valueOf(result1), String.valueOf(result2));
+        assertEquals(1, calls.get(), "Un seul appel réseau attendu");
+        AudioPreviewCache.Stats stats = service.getCacheStats();
+        assertEquals(1, stats.loads + stats.loadFailures, "Un seul chargement attendu");
+        service.stop();
+    }
+
     /**
      * Teste la suppression complète du cache.
      */
@@ -212,6 +341,81 @@ public class AudioServiceTest {
         assertFalse(cacheFile.exists(), "Le fichier de cache devrait être supprimé");
     }
 
+    /**
+     * Teste que l'instance partagée est unique (effets et cache chargés une seule fois).
+     */
+    @Test
+    public void testGetInstance_shared() {
+        assertSame(AudioService.getInstance(), AudioService.getInstance());
+    }
+
+    /**
+     * Teste que la latence d'enchaînement est nulle tant qu'aucune manche n'a démarré.
+     */
+    @Test
+    public void testRoundSwitchMetric_initiallyZero() {
+        assertEquals(0, audioService.getAverageRoundSwitchMs());
+        assertEquals(0, audioService.getLastRoundSwitchMs());
+    }
+
+    /**
+     * Retourne un extrait livré avec le jeu, ou null s'il est introuvable.
+     */
+    private static File shippedPreview() {
+        for (String dir : new String[] {"data/local_playlist", "../app/data/local_playlist"}) {
+            File[] clips = new File(dir).listFiles((d, name) -> name.endsWith(".mp3"));
+            if (clips != null && clips.length > 0) {
+                return clips[0];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Teste l'enchaînement sur un lecteur préchargé : la manche démarre sans attendre
+     * la résolution ni le tampon, et la latence de l'enchaînement est mesurée.
+     */
+    @Test
+    public void testLoadWithFallbackAsync_swapsPreloadedPlayer() throws Exception {
+        Assumptions.assumeTrue(javaFXInitialized, "JavaFX non disponible");
+        File clip = shippedPreview();
+        Assumptions.assumeTrue(clip != null, "Aucun extrait livré");
+        String query = "Preloaded Test " + System.nanoTime();
+        URL clipUrl = clip.toURI().toURL();
+        AudioService service = new AudioService(new PreviewProvider() {
+            @Override
+            public String getName() {
+                return "Simulée";
+            }
+
+            @Override
+            public URL findPreview(String q) {
+                return query.equals(q) ? clipUrl : null;
+            }
+        });
+
+        service.preloadPlayer(query);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!service.isPlayerPreloaded(query) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(service.isPlayerPreloaded(query), "Le lecteur devrait être préchargé");
+
+        CompletableFuture<Boolean> load = service.loadWithFallbackAsync(query);
+        assertTrue(load.isDone(), "Le lecteur préchargé devrait être attaché immédiatement");
+        assertTrue(load.get());
+        assertFalse(service.isPlayerPreloaded(query), "Le lecteur préchargé devrait être consommé");
+
+        service.play();
+        deadline = System.currentTimeMillis() + 10_000;
+        while (service.getLastRoundSwitchMs() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(service.getLastRoundSwitchMs() > 0, "La latence de l'enchaînement devrait être mesurée");
+        assertEquals(service.getLastRoundSwitchMs(), service.getAverageRoundSwitchMs(), 0.001);
+        service.stop();
+    }
+
     /**
      * Teste l'affichage des statistiques du cache.
      */
@@ -270,6 +474,82 @@ public class AudioServiceTest {
         assertDoesNotThrow(() -> audioService.loadWithFallback(""));
     }
 
+    // ========== TESTS RÉSOLUTION ASYNCHRONE ==========
+
+    /**
+     * Teste que la résolution asynchrone d'une requête vide se termine avec null.
+     */
+    @Test
+    public void testFetchPreviewAsync_emptyQuery() throws Exception {
+        URL result = audioService.fetchPreviewAsync("").get(5, TimeUnit.SECONDS);
+        assertNull(result, "Une requête vide devrait être résolue à null");
+    }
+
+    /**
+     * Teste que le chargement asynchrone rend la main immédiatement.
+     */
+    @Test
+    public void testLoadWithFallbackAsync_returnsImmediately() {
+        Assumptions.assumeTrue(javaFXInitialized, "JavaFX non disponible");
+
+        long start = System.currentTimeMillis();
+        CompletableFuture<Boolean> load = audioService.loadWithFallbackAsync("Async Test " + System.nanoTime());
+        long duration = System.currentTimeMillis() - start;
+
+        assertNotNull(load);
+        assertTrue(duration < 200, "L'appel ne devrait pas attendre le réseau (" + duration + "ms)");
+        audioService.cancelPendingLoad();
+    }
+
+    /**
+     * Teste qu'un nouveau chargement remplace le précédent sans attacher l'ancien média.
+     */
+    @Test
+    public void testLoadWithFallbackAsync_supersededLoad() throws Exception {
+        Assumptions.assumeTrue(javaFXInitialized, "JavaFX non disponible");
+
+        CompletableFuture<Boolean> first = audioService.loadWithFallbackAsync("Superseded Test " + System.nanoTime());
+        CompletableFuture<Boolean> second = audioService.loadWithFallbackAsync("");
+
+        Boolean firstLoaded = first.handle((loaded, error) -> error == null && loaded)
+            .get(30, TimeUnit.SECONDS);
+        assertFalse(firstLoaded, "Le chargement remplacé ne devrait pas attacher de média");
+        assertDoesNotThrow(() -> second.handle((loaded, error) -> loaded).get(30, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Teste le préchargement d'une partie : chaque extrait est résolu une seule fois d'avance,
+     * puis la manche suivante trouve son URL en cache sans interroger la source.
+     */
+    @Test
+    public void testPrefetchPreviews_resolvedOnceThenCached() throws Exception {
+        String prefix = "Prefetch Test " + System.nanoTime() + " ";
+        java.util.List<String> queries = java.util.List.of(prefix + "one", prefix + "two", prefix + "three");
+        CountingProvider provider = new CountingProvider(queries.toArray(new String[0]));
+        AudioService service = new AudioService(provider);
+
+        service.prefetchPreviews(queries);
+        service.prefetchPreviews(queries);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!queries.stream().allMatch(service::isPreviewCached) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        for (String query : queries) {
+            assertTrue(service.isPreviewCached(query), "Extrait résolu d'avance : " + query);
+            assertEquals(1, provider.calls(query), "Une seule résolution par requête : " + query);
+        }
+
+        // Manche suivante : l'URL vient du cache
+        String next = queries.get(0);
+        URL preview = service.fetchPreviewAsync(next).get(5, TimeUnit.SECONDS);
+        assertNotNull(preview);
+        assertEquals(1, provider.calls(next), "La manche ne devrait pas rappeler la source");
+        assertEquals(queries.size(), provider.totalCalls());
+
+        service.clearPrefetch();
+        service.stop();
+    }
+
     // ========== TESTS CHARGEMENT MEDIA ==========
 
     /**
@@ -0,0 +1,100 @@
+package com.blindtest.service;
+
+import com.blindtest.model.Track;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour CacheWarmupService, avec un serveur Deezer simulé.
+ */
+public class CacheWarmupServiceTest {
+
+    private StubPreviewServer server;
+    private AudioService audioService;
+    private List<Track> tracks;
+
+    /**
+     * Démarre le serveur simulé et enregistre un petit catalogue.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new StubPreviewServer();
+        audioService = new AudioService(server.provider());
+
+        String suffix = String.valueOf(System.nanoTime());
+        tracks = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Track track = new Track("Title" + i + " " + suffix, "Artist", 30);
+            tracks.add(track);
+            if (i < 5) {
+                server.addPreview(track.getSearchQuery(), "https://cdn.example/" + i + ".mp3");
+            }
+        }
+        tracks.add(tracks.get(0)); // doublon ignoré
+    }
+
+    /**
+     * Arrête le serveur simulé.
+     */
+    @AfterEach
+    public void tearDown() {
+        server.close();
+        audioService.stop();
+    }
+
+    /**
+     * Teste le bilan et la progression d'un préremplissage complet.
+     */
+    @Test
+    public void testWarmUp_resolvesCatalogue() throws Exception {
+        AtomicInteger progressCalls = new AtomicInteger();
+        CacheWarmupService warmup = new CacheWarmupService(audioService, 3, 1000);
+
+        CacheWarmupService.Progress result = warmup.warmUp(tracks, false, progress -> progressCalls.incrementAndGet());
+
+        assertEquals(6, result.total);
+        assertEquals(6, result.done);
+        assertEquals(5, result.resolved);
+        assertEquals(1, result.notFound);
+        assertEquals(6, progressCalls.get());
+        assertTrue(audioService.isPreviewCached(tracks.get(0).getSearchQuery()));
+    }
+
+    /**
+     * Teste qu'un second passage ne sollicite plus le réseau.
+     */
+    @Test
+    public void testWarmUp_secondPassUsesCache() throws Exception {
+        CacheWarmupService warmup = new CacheWarmupService(audioService, 3, 1000);
+        warmup.warmUp(tracks, false, progress -> { });
+        int requests = server.getRequestCount();
+
+        CacheWarmupService.Progress second = warmup.warmUp(tracks, false, progress -> { });
+
+        assertEquals(5, second.alreadyCached);
+        assertEquals(requests, server.getRequestCount(), "Aucune nouvelle requête attendue");
+    }
+
+    /**
+     * Teste que le débit maximal espace les requêtes réseau.
+     */
+    @Test
+    public void testWarmUp_rateLimited() throws Exception {
+        CacheWarmupService warmup = new CacheWarmupService(audioService, 6, 20);
+
+        long start = System.currentTimeMillis();
+        warmup.warmUp(tracks, false, progress -> { });
+        long duration = System.currentTimeMillis() - start;
+
+        // 6 requêtes à 20/s : au moins 5 intervalles de 50ms
+        assertTrue(duration >= 240, "Les requêtes devraient être espacées (" + duration + "ms)");
+    }
+}
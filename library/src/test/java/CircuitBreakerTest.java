@@ -0,0 +1,140 @@
+package com.blindtest.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le disjoncteur et le seau de jetons (horloge simulée).
+ */
+public class CircuitBreakerTest {
+
+    private long now;
+
+    /**
+     * Remet l'horloge simulée à zéro.
+     */
+    @BeforeEach
+    public void setUp() {
+        now = 0;
+    }
+
+    private void advanceMillis(long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    // ========== TESTS DISJONCTEUR ==========
+
+    /**
+     * Teste l'ouverture après le seuil d'échecs consécutifs.
+     */
+    @Test
+    public void testOpensAfterThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, 1000, () -> now);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertTrue(breaker.allowRequest());
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+    }
+
+    /**
+     * Teste qu'un succès remet le compteur d'échecs à zéro.
+     */
+    @Test
+    public void testSuccessResetsFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 1000, () -> now);
+
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    /**
+     * Teste le passage en semi-ouvert : un seul appel d'essai, qui referme en cas de succès.
+     */
+    @Test
+    public void testHalfOpenSingleProbe() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 1000, () -> now);
+        breaker.recordFailure();
+
+        advanceMillis(1000);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.allowRequest(), "Appel d'essai autorisé");
+        assertFalse(breaker.allowRequest(), "Un seul appel d'essai à la fois");
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+    }
+
+    /**
+     * Teste qu'un échec de l'appel d'essai rouvre le disjoncteur.
+     */
+    @Test
+    public void testHalfOpenFailureReopens() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, 1000, () -> now);
+        breaker.openFor(0);
+
+        advanceMillis(1000);
+        assertTrue(breaker.allowRequest());
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    /**
+     * Teste qu'une ouverture imposée (Retry-After) prolonge la durée par défaut.
+     */
+    @Test
+    public void testOpenForRetryAfter() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, 1000, () -> now);
+        breaker.openFor(5000);
+
+        advanceMillis(4999);
+        assertFalse(breaker.allowRequest());
+        advanceMillis(1);
+        assertTrue(breaker.allowRequest());
+    }
+
+    // ========== TESTS SEAU DE JETONS ==========
+
+    /**
+     * Teste la rafale initiale puis l'attente d'un nouveau jeton.
+     */
+    @Test
+    public void testTokenBucket_burstThenRate() {
+        TokenBucket bucket = new TokenBucket(2, 10, () -> now);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        long wait = bucket.tryAcquire();
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+
+        advanceMillis(100);
+        assertEquals(0, bucket.tryAcquire());
+    }
+
+    /**
+     * Teste que la pause bloque la distribution puis repart d'un seau vide.
+     */
+    @Test
+    public void testTokenBucket_pause() {
+        TokenBucket bucket = new TokenBucket(5, 10, () -> now);
+        bucket.pause(1000);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1000), bucket.tryAcquire());
+        advanceMillis(1000);
+        assertTrue(bucket.tryAcquire() > 0, "Le seau repart vide après la pause");
+        advanceMillis(100);
+        assertEquals(0, bucket.tryAcquire());
+    }
+}
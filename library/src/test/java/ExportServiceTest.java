@@ -22,7 +22,7 @@ public class ExportServiceTest {
     private static final String TEST_CSV_FILE = "data/test_export.csv";
     private static final String TEST_JSON_FILE = "data/test_export.json";
     private static final String TEST_STATS_FILE = "data/test_stats.txt";
-    private static final String SCORES_FILE = "data/scores.json";
+    private static final String SCORES_FILE = "data/scores.jsonl";
 
     private List<Score> testScores;
 
@@ -43,9 +43,13 @@ public class ExportServiceTest {
      */
     @AfterEach
     public void tearDown() {
+        // Écrire les scores en attente avant de supprimer le fichier
+        PersistenceService.flush();
+
         // Nettoyer les fichiers de test
         deleteFile(TEST_CSV_FILE);
         deleteFile(TEST_JSON_FILE);
+        deleteFile(TEST_JSON_FILE + ".crc");
         deleteFile(TEST_STATS_FILE);
         deleteFile(SCORES_FILE);
         
@@ -166,6 +170,7 @@ public class ExportServiceTest {
         assertTrue(content.contains("\"pseudo\""));
         assertTrue(content.contains("\"score\""));
         assertTrue(content.contains("\"mode\""));
+        assertFalse(new File(TEST_JSON_FILE + ".crc").exists(), "Un export ne doit pas avoir de somme de contrôle");
     }
 
     /**
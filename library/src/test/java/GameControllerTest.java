@@ -66,6 +66,24 @@ public class GameControllerTest {
     }
 
 
+    /**
+     * Teste que le démarrage de la partie n'attend pas la résolution réseau de l'extrait.
+     */
+    @Test
+    void startGame_doesNotBlockOnPreviewLookup() {
+        Assumptions.assumeTrue(javaFXInitialized, "JavaFX n'est pas disponible");
+
+        List<Player> players = Arrays.asList(new Player("Test"));
+        GameController gc = new GameController(players);
+
+        long start = System.currentTimeMillis();
+        gc.startGame();
+        long duration = System.currentTimeMillis() - start;
+
+        assertTrue(duration < 1000, "startGame ne devrait pas bloquer sur le réseau (" + duration + "ms)");
+        assertNotNull(gc.getCurrentRound().getTrack());
+    }
+
     /**
      * Teste que nextRound lance une exception si le jeu n'est pas démarré.
      */
@@ -0,0 +1,117 @@
+package com.blindtest.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour InputValidator.
+ * Compare la normalisation en une passe à l'ancienne implémentation par expressions régulières.
+ */
+public class InputValidatorTest {
+
+    private static final String[] FRAGMENTS = {
+        "the", "The", "THE", "a", "an", "le", "La", "les", "un", "une", "des", "of", "de", "du",
+        "d", "l", "&", "and", "et", "l'", "d'", "qu'", "x", "Beyoncé", "Sigur Rós", "Straße", "AC/DC",
+        "œuvre", "Ǆ", "Å", "K", "é", "́", "⃝", "🎵", "𝅥",
+        "\uD800", "\uDC00", "あ", "가", "Привет", "-", "_", "--", "42", ",", ".", "!", "?", "(", ")",
+        " ", "  ", "\t", "\n", "\u000B", " ", " ", "\u0001", "￿"
+    };
+
+    /**
+     * Ancienne implémentation, référence des tests différentiels.
+     */
+    private static String legacyNormalize(String input) {
+        if (input == null) return "";
+        String normalized = InputValidator.sanitize(input).toLowerCase();
+        String[] stopWords = {
+            "the", "a", "an", "le", "la", "les", "un", "une", "des",
+            "of", "de", "du", "d", "l", "&", "and", "et"
+        };
+        String result = " " + normalized + " ";
+        for (String word : stopWords) {
+            result = result.replaceAll("(?i)\\s" + word + "\\s", " ");
+        }
+        return result.trim().replaceAll("\\s+", " ").trim();
+    }
+
+    private static void assertSameAsLegacy(String input) {
+        assertEquals(legacyNormalize(input), InputValidator.normalize(input),
+            () -> "Entrée : " + input.codePoints().mapToObj(Integer::toHexString).toList());
+    }
+
+    /**
+     * Teste des titres et artistes réels (accents, mots-outils, ponctuation).
+     */
+    @Test
+    public void testNormalizeMatchesLegacyOnTrackNames() {
+        String[] inputs = {
+            null, "", "   ", "Beyoncé", "  Sigur   Rós ", "The The", "Les Rita Mitsouko", "L'Amour Toujours",
+            "Earth, Wind & Fire", "AC/DC", "D'Angelo", "la la la", "the the the the", "la le la",
+            "the the la la", "Guns N' Roses", "Sweet Child O' Mine", "Édith Piaf", "Ça plane pour moi",
+            "Motörhead", "Mötley Crüe", "Björk", "Måneskin", "Straße", "Dŵr", "a-ha", "Take on Me",
+            "blink_182", "Tainted Love (Remix)", "Dies Irae ÅK", "été",
+            "🎵 Music 🎵", "𝅥a", "The\tBeatles\nAnd Co"
+        };
+        for (String input : inputs) {
+            if (input == null) {
+                assertEquals("", InputValidator.normalize(null));
+            } else {
+                assertSameAsLegacy(input);
+            }
+        }
+        assertEquals("beyonce", InputValidator.normalize("Beyoncé"));
+        assertEquals("amour toujours", InputValidator.normalize("L'Amour Toujours"));
+        assertEquals("the", InputValidator.normalize("the the"));
+    }
+
+    /**
+     * Teste chaque caractère du BMP, seul et entouré de lettres et de mots-outils.
+     */
+    @Test
+    public void testNormalizeMatchesLegacyOnEveryBmpChar() {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            String ch = String.valueOf((char) c);
+            assertSameAsLegacy("A" + ch + "b le" + ch + "la");
+        }
+    }
+
+    /**
+     * Teste des combinaisons aléatoires (graine fixe) de fragments, dont des mots-outils
+     * adjacents et des caractères hors BMP.
+     */
+    @Test
+    public void testNormalizeMatchesLegacyOnRandomInputs() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder input = new StringBuilder();
+            int parts = random.nextInt(12);
+            for (int p = 0; p < parts; p++) {
+                if (random.nextInt(10) == 0) {
+                    input.appendCodePoint(random.nextInt(Character.MAX_CODE_POINT + 1));
+                } else {
+                    input.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+                }
+                if (random.nextBoolean()) input.append(' ');
+            }
+            assertSameAsLegacy(input.toString());
+        }
+    }
+
+    /**
+     * Teste la comparaison tolérante aux accents, à la casse et aux mots-outils.
+     */
+    @Test
+    public void testCompareAnswers() {
+        assertTrue(InputValidator.compareAnswers("beyonce", "Beyoncé"));
+        assertTrue(InputValidator.compareAnswers("beatles", "The Beatles"));
+        assertTrue(InputValidator.compareAnswers(Normalizer.normalize("Édith Piaf", Normalizer.Form.NFD), "edith piaf"));
+        assertFalse(InputValidator.compareAnswers("queen", "Europe"));
+        assertTrue(InputValidator.isFuzzyMatch("bohemian rapsody", "Bohemian Rhapsody", 2));
+        assertFalse(InputValidator.isFuzzyMatch("bohemian", "Bohemian Rhapsody", 2));
+        assertEquals(0.75, InputValidator.similarity("abcd", "abce"), 1e-9);
+    }
+}
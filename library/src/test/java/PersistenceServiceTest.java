@@ -9,14 +9,21 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Tests unitaires pour PersistenceService.
- * Vérifie la sauvegarde et le chargement de différents types de données.
+ * Vérifie la sauvegarde et le chargement de différents types de données,
+ * ainsi que l'écriture atomique, la somme de contrôle et les copies de secours.
  */
 public class PersistenceServiceTest {
     
@@ -45,8 +52,11 @@ public class PersistenceServiceTest {
      * Supprime les fichiers de test utilisés.
      */
     private void deleteTestFiles() {
-        new File(TEST_FILE).delete();
-        new File(TEST_LIST_FILE).delete();
+        for (String path : new String[]{TEST_FILE, TEST_LIST_FILE}) {
+            for (String suffix : new String[]{"", ".tmp", ".crc", ".corrupt", ".bak.1", ".bak.2"}) {
+                new File(path + suffix).delete();
+            }
+        }
     }
 
     // ========== TESTS POUR SAVE/LOAD OBJET SIMPLE ==========
@@ -292,6 +302,167 @@ public class PersistenceServiceTest {
         assertNull(loadedScore, "Devrait retourner null pour un fichier corrompu");
     }
 
+    /**
+     * Teste qu'un fichier altéré est détecté par la somme de contrôle, conservé en .corrupt,
+     * et que la copie de secours la plus récente est chargée à sa place.
+     */
+    @Test
+    public void testChecksumMismatchFallsBackToBackup() throws IOException {
+        PersistenceService.save(new Player("Version1"), TEST_FILE, 2);
+        PersistenceService.save(new Player("Version2"), TEST_FILE, 2);
+        PersistenceService.save(new Player("Version3"), TEST_FILE, 2);
+        assertEquals("Version2", PersistenceService.load(TEST_FILE + ".bak.1", Player.class).getName());
+        assertEquals("Version1", PersistenceService.load(TEST_FILE + ".bak.2", Player.class).getName());
+
+        // JSON valide mais différent de ce qui a été écrit
+        Files.write(Paths.get(TEST_FILE), "{\"name\":\"Altéré\"}".getBytes(StandardCharsets.UTF_8));
+
+        Player loaded = PersistenceService.load(TEST_FILE, Player.class);
+        assertNotNull(loaded);
+        assertEquals("Version2", loaded.getName());
+        assertTrue(new File(TEST_FILE + ".corrupt").exists(), "Le fichier altéré devrait être conservé");
+    }
+
+    /**
+     * Teste qu'une modification manuelle lisible, postérieure à la somme de contrôle, est
+     * acceptée par loadEditable, mais qu'une modification illisible retombe sur la copie de secours.
+     */
+    @Test
+    public void testLoadEditableAcceptsManualEdit() throws Exception {
+        PersistenceService.save(new Player("Version1"), TEST_FILE, 1);
+        PersistenceService.save(new Player("Version2"), TEST_FILE, 1);
+        Thread.sleep(20); // date de modification distincte de celle de la somme de contrôle
+
+        Files.write(Paths.get(TEST_FILE), "{\"name\":\"Édité\"}".getBytes(StandardCharsets.UTF_8));
+        assertEquals("Édité", PersistenceService.loadEditable(TEST_FILE, Player.class).getName());
+
+        Files.write(Paths.get(TEST_FILE), "{\"name\":".getBytes(StandardCharsets.UTF_8));
+        assertEquals("Version1", PersistenceService.loadEditable(TEST_FILE, Player.class).getName());
+    }
+
+    /**
+     * Teste qu'après un arrêt entre l'écriture de la somme de contrôle et le renommage,
+     * l'ancienne version du fichier reste acceptée.
+     */
+    @Test
+    public void testPreviousVersionAcceptedAfterInterruptedSave() throws IOException {
+        PersistenceService.save(new Player("Ancien"), TEST_FILE);
+        byte[] previous = Files.readAllBytes(Paths.get(TEST_FILE));
+        PersistenceService.save(new Player("Nouveau"), TEST_FILE);
+
+        Files.write(Paths.get(TEST_FILE), previous);
+
+        Player loaded = PersistenceService.load(TEST_FILE, Player.class);
+        assertNotNull(loaded);
+        assertEquals("Ancien", loaded.getName());
+        assertFalse(new File(TEST_FILE + ".tmp").exists(), "Aucun fichier temporaire ne devrait subsister");
+    }
+
+    /**
+     * Teste qu'un chargement lancé juste après une sauvegarde asynchrone voit la nouvelle version.
+     */
+    @Test
+    public void testSaveAsyncVisibleToLoad() throws Exception {
+        Player player = new Player("Async");
+        CompletableFuture<Void> write = PersistenceService.saveAsync(player, TEST_FILE, 1);
+        player.addScore(999); // Sérialisé avant le retour : sans effet sur le fichier
+
+        Player loaded = PersistenceService.load(TEST_FILE, Player.class);
+        assertNotNull(loaded);
+        assertEquals("Async", loaded.getName());
+        assertEquals(0, loaded.getScore());
+        write.get(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Teste que des sauvegardes asynchrones successives d'un même fichier sont fusionnées
+     * en une seule écriture, et que les ajouts en attente sont écrits dans l'ordre.
+     */
+    @Test
+    public void testWriteBehindCoalescesPendingWrites() throws Exception {
+        CompletableFuture<Void> first = PersistenceService.saveAsync(new Player("V1"), TEST_FILE, 2);
+        PersistenceService.saveAsync(new Player("V2"), TEST_FILE, 2);
+        CompletableFuture<Void> last = PersistenceService.saveAsync(new Player("V3"), TEST_FILE, 2);
+        PersistenceService.appendAsync(TEST_LIST_FILE, "a\n".getBytes(StandardCharsets.UTF_8));
+        PersistenceService.appendAsync(TEST_LIST_FILE, "b\n".getBytes(StandardCharsets.UTF_8));
+
+        PersistenceService.flush();
+
+        assertTrue(first.isDone() && last.isDone(), "Toutes les sauvegardes fusionnées sont terminées");
+        assertEquals("V3", PersistenceService.load(TEST_FILE, Player.class).getName());
+        assertFalse(new File(TEST_FILE + ".bak.1").exists(), "Une seule écriture : aucune version précédente");
+        assertEquals(List.of("a", "b"), Files.readAllLines(Paths.get(TEST_LIST_FILE)));
+    }
+
+    // ========== TESTS POUR LA LECTURE/ÉCRITURE EN FLUX ==========
+
+    /**
+     * Teste l'écriture élément par élément puis la lecture en flux, filtrée sans tout charger.
+     */
+    @Test
+    public void testListWriterAndStreamList() throws IOException {
+        try (PersistenceService.ListWriter<Score> writer =
+                     PersistenceService.openListWriter(TEST_LIST_FILE, Score.class, false)) {
+            for (int i = 0; i < 500; i++) {
+                writer.write(new Score("P" + i, i));
+            }
+        }
+
+        try (Stream<Score> scores = PersistenceService.streamList(TEST_LIST_FILE, Score.class)) {
+            assertEquals(50, scores.filter(score -> score.getScore() >= 450).count());
+        }
+        List<Score> loaded = PersistenceService.loadList(TEST_LIST_FILE, new TypeToken<List<Score>>(){});
+        assertEquals(500, loaded.size(), "Fichier compatible avec loadList (somme de contrôle comprise)");
+        assertEquals("P499", loaded.get(499).getPseudo());
+        assertNotNull(loaded.get(0).getDate());
+    }
+
+    /**
+     * Teste la lecture en flux d'un fichier absent, et l'erreur sur un élément illisible.
+     */
+    @Test
+    public void testStreamListMissingAndMalformed() throws IOException {
+        try (Stream<Score> scores = PersistenceService.streamList("nonexistent.json", Score.class)) {
+            assertEquals(0, scores.count());
+        }
+
+        new File(TEST_LIST_FILE).getParentFile().mkdirs();
+        Files.write(Paths.get(TEST_LIST_FILE), "[{\"pseudo\":\"Alice\",\"score\":1},{\"pseudo\":".getBytes(StandardCharsets.UTF_8));
+        try (Stream<Score> scores = PersistenceService.streamList(TEST_LIST_FILE, Score.class)) {
+            assertThrows(RuntimeException.class, () -> scores.count());
+        }
+    }
+
+    /**
+     * Teste qu'un écrivain abandonné laisse l'ancien fichier intact.
+     */
+    @Test
+    public void testListWriterAbortKeepsPreviousFile() throws IOException {
+        PersistenceService.save(List.of(new Score("Ancien", 1)), TEST_LIST_FILE);
+
+        PersistenceService.ListWriter<Score> writer = PersistenceService.openListWriter(TEST_LIST_FILE, Score.class, false);
+        writer.write(new Score("Nouveau", 2));
+        writer.abort();
+
+        List<Score> loaded = PersistenceService.loadList(TEST_LIST_FILE, new TypeToken<List<Score>>(){});
+        assertEquals(1, loaded.size());
+        assertEquals("Ancien", loaded.get(0).getPseudo());
+        assertFalse(new File(TEST_LIST_FILE + ".tmp").exists());
+    }
+
+    /**
+     * Teste que le JSON est compact par défaut et indenté seulement sur demande.
+     */
+    @Test
+    public void testPrettyPrintingOptIn() throws IOException {
+        PersistenceService.save(new Player("Compact"), TEST_FILE);
+        assertFalse(new String(Files.readAllBytes(Paths.get(TEST_FILE)), StandardCharsets.UTF_8).contains("\n"));
+
+        PersistenceService.save(new Player("Indenté"), TEST_FILE, 0, true);
+        assertTrue(new String(Files.readAllBytes(Paths.get(TEST_FILE)), StandardCharsets.UTF_8).contains("\n"));
+        assertEquals("Indenté", PersistenceService.load(TEST_FILE, Player.class).getName());
+    }
+
     /**
      * Teste la sauvegarde et le chargement de plusieurs types d'objets.
      */
@@ -323,6 +494,8 @@ public class PersistenceServiceTest {
         // Cleanup
         new File("data/test_player.json").delete();
         new File("data/test_scores.json").delete();
+        new File("data/test_player.json.crc").delete();
+        new File("data/test_scores.json.crc").delete();
     }
 
     // ========== HELPER METHODS ==========
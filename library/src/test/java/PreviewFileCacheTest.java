@@ -0,0 +1,152 @@
+package com.blindtest.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour PreviewFileCache.
+ * Vérifie le téléchargement, la lecture depuis le disque, l'éviction LRU et la reprise au redémarrage.
+ */
+public class PreviewFileCacheTest {
+
+    private static final String TEST_DIR = "data/test_previews";
+
+    private StubPreviewServer server;
+
+    /**
+     * Démarre le serveur simulé et vide le dossier de test.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        deleteTestDir();
+        server = new StubPreviewServer();
+    }
+
+    /**
+     * Arrête le serveur et supprime le dossier de test.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.close();
+        deleteTestDir();
+    }
+
+    private void deleteTestDir() throws IOException {
+        Path dir = Paths.get(TEST_DIR);
+        if (Files.exists(dir)) {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Teste qu'un extrait téléchargé est ensuite servi depuis le disque, sans réseau.
+     */
+    @Test
+    public void testDownloadThenResolveLocally() throws Exception {
+        URL remote = server.addAudio("a.mp3", new byte[1000]);
+        PreviewFileCache cache = new PreviewFileCache(TEST_DIR, 10_000);
+
+        assertEquals(remote, cache.resolve(remote), "Pas encore en cache : URL d'origine");
+        cache.downloadAsync(remote).get(5, TimeUnit.SECONDS);
+
+        URL local = cache.resolve(remote);
+        assertEquals("file", local.getProtocol());
+        assertEquals(1000, Files.size(Paths.get(local.toURI())));
+        assertNull(cache.downloadAsync(remote), "Déjà en cache : pas de nouveau téléchargement");
+        assertEquals(1, server.getRequestCount());
+    }
+
+    /**
+     * Teste qu'une URL re-signée (nouvelle requête, même chemin) retombe sur la copie locale.
+     */
+    @Test
+    public void testSignedUrlVariantsShareFile() throws Exception {
+        URL base = server.addAudio("a.mp3", new byte[1000]);
+        URL first = new URL(base + "?hdnea=exp=1700000000~acl=*~hmac=aaaa");
+        URL resigned = new URL(base + "?hdnea=exp=1700003600~acl=*~hmac=bbbb");
+        PreviewFileCache cache = new PreviewFileCache(TEST_DIR, 10_000);
+
+        cache.downloadAsync(first).get(5, TimeUnit.SECONDS);
+
+        assertTrue(cache.contains(resigned));
+        assertEquals("file", cache.resolve(resigned).getProtocol());
+        assertNull(cache.downloadAsync(resigned), "Même extrait : pas de second téléchargement");
+        assertEquals(1000, cache.getTotalBytes());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    /**
+     * Teste que les extraits les moins récemment lus sont supprimés au-delà de la taille maximale.
+     */
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws Exception {
+        URL a = server.addAudio("a.mp3", new byte[400]);
+        URL b = server.addAudio("b.mp3", new byte[400]);
+        URL c = server.addAudio("c.mp3", new byte[400]);
+        PreviewFileCache cache = new PreviewFileCache(TEST_DIR, 1000);
+
+        cache.downloadAsync(a).get(5, TimeUnit.SECONDS);
+        cache.downloadAsync(b).get(5, TimeUnit.SECONDS);
+        cache.resolve(a); // "b" devient le moins récemment lu
+        cache.downloadAsync(c).get(5, TimeUnit.SECONDS);
+
+        assertTrue(cache.contains(a));
+        assertFalse(cache.contains(b));
+        assertTrue(cache.contains(c));
+        assertEquals(800, cache.getTotalBytes());
+    }
+
+    /**
+     * Teste qu'un nouveau cache retrouve les extraits déjà sur disque.
+     */
+    @Test
+    public void testReloadFromDisk() throws Exception {
+        URL remote = server.addAudio("a.mp3", new byte[500]);
+        new PreviewFileCache(TEST_DIR, 10_000).downloadAsync(remote).get(5, TimeUnit.SECONDS);
+
+        PreviewFileCache reloaded = new PreviewFileCache(TEST_DIR, 10_000);
+
+        assertTrue(reloaded.contains(remote));
+        assertEquals(500, reloaded.getTotalBytes());
+    }
+
+    /**
+     * Teste qu'un téléchargement en erreur ne laisse rien en cache.
+     */
+    @Test
+    public void testFailedDownloadIsNotCached() throws Exception {
+        URL missing = new URL(server.addAudio("a.mp3", new byte[10]).toExternalForm().replace("a.mp3", "absent.mp3"));
+        PreviewFileCache cache = new PreviewFileCache(TEST_DIR, 10_000);
+
+        cache.downloadAsync(missing).get(5, TimeUnit.SECONDS);
+
+        assertFalse(cache.contains(missing));
+        assertEquals(missing, cache.resolve(missing));
+    }
+
+    /**
+     * Teste que les URLs locales ne sont ni copiées ni modifiées.
+     */
+    @Test
+    public void testFileUrlIsPassedThrough() throws Exception {
+        URL local = Paths.get("data/fallback.mp3").toUri().toURL();
+        PreviewFileCache cache = new PreviewFileCache(TEST_DIR, 10_000);
+
+        assertSame(local, cache.resolve(local));
+        assertNull(cache.downloadAsync(local));
+    }
+}
@@ -0,0 +1,347 @@
+package com.blindtest.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour les sources d'extraits (Deezer simulé, bibliothèque locale, chaîne).
+ */
+public class PreviewProviderTest {
+
+    private Path libraryDir;
+    private StubPreviewServer server;
+
+    /**
+     * Crée un dossier de bibliothèque temporaire et démarre le serveur simulé.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        libraryDir = Files.createTempDirectory("blindtest-library");
+        server = new StubPreviewServer();
+    }
+
+    /**
+     * Arrête le serveur et supprime la bibliothèque temporaire.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.close();
+        try (Stream<Path> files = Files.walk(libraryDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    // ========== TESTS DEEZER (SERVEUR LOCAL) ==========
+
+    /**
+     * Teste la résolution d'un extrait via le serveur simulé.
+     */
+    @Test
+    public void testDeezer_stubServerResult() throws Exception {
+        server.addPreview("Queen Bohemian Rhapsody", "https://cdn.example/queen.mp3");
+
+        URL preview = server.provider().findPreview("Queen Bohemian Rhapsody");
+
+        assertEquals("https://cdn.example/queen.mp3", preview.toString());
+    }
+
+    /**
+     * Teste qu'une recherche sans résultat retourne null sans erreur.
+     */
+    @Test
+    public void testDeezer_noResult() throws Exception {
+        assertNull(server.provider().findPreview("Unknown Track"));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    /**
+     * Teste la lecture en flux : champs inconnus ignorés, choix parmi les premiers résultats.
+     */
+    @Test
+    public void testDeezer_streamingParseSkipsUnusedFields() throws Exception {
+        server.setSearchBody("{\"data\":["
+            + "{\"id\":1,\"title\":\"Song (Remix)\",\"album\":{\"title\":\"X\"},\"preview\":\"https://cdn.example/remix.mp3\"},"
+            + "{\"id\":2,\"title\":\"Song\",\"artist\":{\"name\":\"A\"},\"preview\":\"https://cdn.example/song.mp3\"}"
+            + "],\"total\":2,\"next\":\"https://api.example/next\"}");
+
+        URL preview = server.provider().findPreview("Song");
+
+        assertEquals("https://cdn.example/song.mp3", preview.toString());
+    }
+
+    /**
+     * Teste que l'erreur de quota Deezer (renvoyée avec un statut 200) ouvre le disjoncteur.
+     */
+    @Test
+    public void testDeezer_quotaErrorOpensCircuit() {
+        server.setSearchBody("{\"error\":{\"type\":\"Exception\",\"message\":\"Quota limit exceeded\",\"code\":4}}");
+        DeezerPreviewProvider provider = server.provider();
+
+        assertThrows(IOException.class, () -> provider.findPreview("Any Track"));
+        assertEquals(1, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.OPEN, provider.getCircuitState());
+    }
+
+    /**
+     * Teste qu'un 429 n'est pas retenté et ouvre le disjoncteur pour la durée Retry-After.
+     */
+    @Test
+    public void testDeezer_rateLimitedOpensCircuit() {
+        server.setStatusCode(429);
+        server.setRetryAfter("60");
+        DeezerPreviewProvider provider = server.provider();
+
+        assertThrows(IOException.class, () -> provider.findPreview("Any Track"));
+        assertEquals(1, server.getRequestCount(), "Un 429 ne doit pas être retenté");
+        assertEquals(CircuitBreaker.State.OPEN, provider.getCircuitState());
+
+        assertThrows(CircuitOpenException.class, () -> provider.findPreview("Other Track"));
+        assertEquals(1, server.getRequestCount(), "Disjoncteur ouvert : aucun appel réseau");
+    }
+
+    /**
+     * Teste qu'une erreur client (4xx) n'est ni retentée ni comptée comme une panne.
+     */
+    @Test
+    public void testDeezer_clientErrorNotRetried() {
+        server.setStatusCode(404);
+        DeezerPreviewProvider provider = server.provider();
+
+        assertThrows(IOException.class, () -> provider.findPreview("Any Track"));
+        assertEquals(1, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.CLOSED, provider.getCircuitState());
+    }
+
+    /**
+     * Teste qu'une panne serveur est retentée, puis que le disjoncteur ouvert échoue immédiatement.
+     */
+    @Test
+    public void testDeezer_serverErrorRetriedThenFailsFast() {
+        server.setStatusCode(503);
+        DeezerPreviewProvider provider = server.provider();
+
+        assertThrows(IOException.class, () -> provider.findPreview("Any Track"));
+        assertEquals(3, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.OPEN, provider.getCircuitState());
+
+        long start = System.nanoTime();
+        assertThrows(CircuitOpenException.class, () -> provider.findPreview("Any Track"));
+        assertTrue(System.nanoTime() - start < 100_000_000L, "L'échec doit être immédiat");
+        assertEquals(3, server.getRequestCount());
+    }
+
+    // ========== TESTS BIBLIOTHÈQUE LOCALE ==========
+
+    /**
+     * Teste l'indexation par nom de fichier "Artiste - Titre".
+     */
+    @Test
+    public void testLocalLibrary_fileName() throws Exception {
+        Path file = Files.createFile(libraryDir.resolve("Daft Punk - One More Time.mp3"));
+        LocalLibraryPreviewProvider provider = new LocalLibraryPreviewProvider(libraryDir.toString());
+
+        assertEquals(file.toUri().toURL(), provider.findPreview("Daft Punk One More Time"));
+        assertEquals(file.toUri().toURL(), provider.findPreview("daft punk one more time"));
+        assertNull(provider.findPreview("Daft Punk Around The World"));
+    }
+
+    /**
+     * Teste l'indexation par tags ID3v2.3 (artiste, titre).
+     */
+    @Test
+    public void testLocalLibrary_id3Tags() throws Exception {
+        Path file = libraryDir.resolve("track01.mp3");
+        Files.write(file, id3Tag("Édith Piaf", "La Vie en Rose"));
+        LocalLibraryPreviewProvider provider = new LocalLibraryPreviewProvider(libraryDir.toString());
+
+        assertEquals(1, provider.size(), "Indexé par \"artiste titre\" uniquement");
+        assertEquals(file.toUri().toURL(), provider.findPreview("Édith Piaf La Vie en Rose"));
+    }
+
+    /**
+     * Teste qu'un fichier sans artiste (ni tag, ni "Artiste - ") n'est pas indexé :
+     * aucune requête "artiste titre" ne pourrait le retrouver.
+     */
+    @Test
+    public void testLocalLibrary_withoutArtistIgnored() throws Exception {
+        Files.createFile(libraryDir.resolve("One More Time.mp3"));
+        Files.createFile(libraryDir.resolve("Daft Punk - Aerodynamic.mp3"));
+        LocalLibraryPreviewProvider provider = new LocalLibraryPreviewProvider(libraryDir.toString());
+
+        assertEquals(1, provider.size());
+        assertNull(provider.findPreview("One More Time"));
+    }
+
+    /**
+     * Teste qu'un dossier absent donne une bibliothèque vide.
+     */
+    @Test
+    public void testLocalLibrary_missingDirectory() {
+        LocalLibraryPreviewProvider provider = new LocalLibraryPreviewProvider(libraryDir.resolve("absent").toString());
+        assertNull(provider.findPreview("Any Track"));
+        assertEquals(0, provider.size());
+    }
+
+    // ========== TESTS CHAÎNE ==========
+
+    /**
+     * Teste que la bibliothèque locale est consultée avant le réseau.
+     */
+    @Test
+    public void testChain_localFirst() throws Exception {
+        Path file = Files.createFile(libraryDir.resolve("Europe - The Final Countdown.mp3"));
+        server.addPreview("Europe The Final Countdown", "https://cdn.example/europe.mp3");
+
+        PreviewProviderChain chain = new PreviewProviderChain()
+            .add(new LocalLibraryPreviewProvider(libraryDir.toString()), 0)
+            .add(server.provider(), 5000);
+
+        assertEquals(file.toUri().toURL(), chain.findPreview("Europe The Final Countdown"));
+        assertEquals(0, server.getRequestCount(), "Le réseau ne devrait pas être sollicité");
+    }
+
+    /**
+     * Teste le passage à la source suivante quand la première ne trouve rien.
+     */
+    @Test
+    public void testChain_fallsThroughToNextProvider() throws Exception {
+        server.addPreview("Europe The Final Countdown", "https://cdn.example/europe.mp3");
+
+        PreviewProviderChain chain = new PreviewProviderChain()
+            .add(new LocalLibraryPreviewProvider(libraryDir.toString()), 0)
+            .add(server.provider(), 5000);
+
+        assertEquals("https://cdn.example/europe.mp3", chain.findPreview("Europe The Final Countdown").toString());
+    }
+
+    /**
+     * Teste qu'une source trop lente est abandonnée après son délai et signalée en échec.
+     */
+    @Test
+    public void testChain_timeout() {
+        PreviewProvider slow = new PreviewProvider() {
+            @Override
+            public String getName() {
+                return "Lente";
+            }
+
+            @Override
+            public URL findPreview(String query) throws InterruptedException {
+                Thread.sleep(5000);
+                return null;
+            }
+        };
+        PreviewProviderChain chain = new PreviewProviderChain().add(slow, 100);
+
+        long start = System.currentTimeMillis();
+        assertThrows(IOException.class, () -> chain.findPreview("Any Track"));
+        assertTrue(System.currentTimeMillis() - start < 2000, "Le délai de la source devrait être respecté");
+    }
+
+    /**
+     * Teste qu'un disjoncteur ouvert est remonté en échec sans avertissement par recherche,
+     * alors qu'une vraie panne de la source reste signalée en WARNING.
+     */
+    @Test
+    public void testChain_openCircuitNotWarned() {
+        PreviewProvider suspended = failingProvider(new CircuitOpenException("Disjoncteur ouvert"));
+        PreviewProvider broken = failingProvider(new IOException("Connexion refusée"));
+        List<LogRecord> warnings = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getLevel().intValue() >= Level.WARNING.intValue()) {
+                    warnings.add(record);
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger logger = Logger.getLogger(PreviewProviderChain.class.getName());
+        logger.addHandler(handler);
+        try {
+            PreviewProviderChain open = new PreviewProviderChain().add(suspended, 0);
+            assertThrows(CircuitOpenException.class, () -> open.findPreview("Any Track"));
+            assertTrue(warnings.isEmpty(), "Un disjoncteur ouvert ne devrait pas produire d'avertissement");
+
+            PreviewProviderChain failing = new PreviewProviderChain().add(broken, 0);
+            assertThrows(IOException.class, () -> failing.findPreview("Any Track"));
+            assertEquals(1, warnings.size(), "Une vraie panne devrait rester signalée");
+        } finally {
+            logger.removeHandler(handler);
+        }
+    }
+
+    private static PreviewProvider failingProvider(IOException failure) {
+        return new PreviewProvider() {
+            @Override
+            public String getName() {
+                return "En panne";
+            }
+
+            @Override
+            public URL findPreview(String query) throws IOException {
+                throw failure;
+            }
+        };
+    }
+
+    /**
+     * Construit un tag ID3v2.3 minimal (TPE1, TIT2) suivi de quelques octets audio factices.
+     */
+    private static byte[] id3Tag(String artist, String title) {
+        byte[] artistFrame = textFrame("TPE1", artist);
+        byte[] titleFrame = textFrame("TIT2", title);
+        int size = artistFrame.length + titleFrame.length;
+
+        byte[] tag = new byte[10 + size + 4];
+        tag[0] = 'I';
+        tag[1] = 'D';
+        tag[2] = '3';
+        tag[3] = 3;
+        tag[6] = (byte) ((size >> 21) & 0x7F);
+        tag[7] = (byte) ((size >> 14) & 0x7F);
+        tag[8] = (byte) ((size >> 7) & 0x7F);
+        tag[9] = (byte) (size & 0x7F);
+        System.arraycopy(artistFrame, 0, tag, 10, artistFrame.length);
+        System.arraycopy(titleFrame, 0, tag, 10 + artistFrame.length, titleFrame.length);
+        return tag;
+    }
+
+    private static byte[] textFrame(String id, String text) {
+        byte[] value = text.getBytes(StandardCharsets.UTF_8);
+        int size = value.length + 1;
+        byte[] frame = new byte[10 + size];
+        System.arraycopy(id.getBytes(StandardCharsets.ISO_8859_1), 0, frame, 0, 4);
+        frame[4] = (byte) (size >> 24);
+        frame[5] = (byte) (size >> 16);
+        frame[6] = (byte) (size >> 8);
+        frame[7] = (byte) size;
+        frame[10] = 3; // UTF-8
+        System.arraycopy(value, 0, frame, 11, value.length);
+        return frame;
+    }
+}
@@ -0,0 +1,52 @@
+package com.blindtest.service;
+
+import com.blindtest.model.Track;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour RecentTracks.
+ */
+public class RecentTracksTest {
+
+    @AfterEach
+    public void tearDown() {
+        RecentTracks.clear();
+    }
+
+    /**
+     * Seuls les derniers morceaux joués sont retenus, un morceau rejoué redevenant le plus récent.
+     */
+    @Test
+    public void testKeepsLatestTracks() {
+        Track first = new Track("Titre 0", "Artiste", 30);
+        RecentTracks.markPlayed(first);
+        for (int i = 1; i < RecentTracks.CAPACITY; i++) {
+            RecentTracks.markPlayed(new Track("Titre " + i, "Artiste", 30));
+        }
+        RecentTracks.markPlayed(new Track("Titre 0", "Artiste", 30));
+        RecentTracks.markPlayed(new Track("Titre suivant", "Artiste", 30));
+
+        assertTrue(RecentTracks.contains(first), "Rejoué : redevenu le plus récent");
+        assertFalse(RecentTracks.contains(new Track("Titre 1", "Artiste", 30)), "Le plus ancien est oublié");
+        assertTrue(RecentTracks.contains(new Track("Titre 2", "Artiste", 30)));
+    }
+
+    /**
+     * Une playlist générée évite les morceaux des parties récentes tant que le genre en offre d'autres.
+     */
+    @Test
+    public void testGeneratedPlaylistAvoidsRecentTracks() {
+        List<Track> firstGame = DynamicPlaylistGenerator.generatePlaylist("pop", 10).getTracks();
+        firstGame.forEach(RecentTracks::markPlayed);
+        List<Track> secondGame = DynamicPlaylistGenerator.generatePlaylist("pop", 10).getTracks();
+
+        for (Track track : secondGame) {
+            assertFalse(firstGame.contains(track), "Morceau déjà joué : " + track.getTitle());
+        }
+    }
+}
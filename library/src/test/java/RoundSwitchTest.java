@@ -0,0 +1,156 @@
+package com.blindtest.service;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'enchaînement des manches : latence mesurée (horloge simulée)
+ * et fondu croisé entre le lecteur sortant et le suivant.
+ */
+public class RoundSwitchTest {
+
+    private static boolean javaFXInitialized = false;
+    private long now;
+
+    /**
+     * Initialise JavaFX pour les tests d'animation.
+     */
+    @BeforeAll
+    static void initJavaFX() {
+        try {
+            new javafx.embed.swing.JFXPanel();
+            javaFXInitialized = true;
+        } catch (Throwable e) {
+            javaFXInitialized = false;
+        }
+    }
+
+    /**
+     * Remet l'horloge simulée à zéro.
+     */
+    @BeforeEach
+    public void setUp() {
+        now = 0;
+    }
+
+    private void advanceMillis(long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    // ========== TESTS LATENCE ==========
+
+    /**
+     * Teste que la latence mesurée est celle écoulée entre le changement de manche
+     * et le démarrage du lecteur.
+     */
+    @Test
+    public void testLatencyMeasured() {
+        RoundSwitchTimer timer = new RoundSwitchTimer(() -> now);
+
+        timer.start();
+        advanceMillis(120);
+
+        assertTrue(timer.stop());
+        assertEquals(120, timer.getLastMs(), 0.001);
+        assertEquals(120, timer.getAverageMs(), 0.001);
+        assertEquals(1, timer.getCount());
+    }
+
+    /**
+     * Teste la moyenne sur plusieurs enchaînements.
+     */
+    @Test
+    public void testAverageOverSwitches() {
+        RoundSwitchTimer timer = new RoundSwitchTimer(() -> now);
+
+        timer.start();
+        advanceMillis(100);
+        timer.stop();
+        timer.start();
+        advanceMillis(300);
+        timer.stop();
+
+        assertEquals(300, timer.getLastMs(), 0.001);
+        assertEquals(200, timer.getAverageMs(), 0.001);
+        assertEquals(2, timer.getCount());
+    }
+
+    /**
+     * Teste qu'une reprise après pause (démarrage sans changement de manche) n'est pas comptée.
+     */
+    @Test
+    public void testResumeNotCounted() {
+        RoundSwitchTimer timer = new RoundSwitchTimer(() -> now);
+
+        timer.start();
+        advanceMillis(50);
+        timer.stop();
+        advanceMillis(1000);
+
+        assertFalse(timer.stop());
+        assertEquals(50, timer.getLastMs(), 0.001);
+        assertEquals(1, timer.getCount());
+    }
+
+    /**
+     * Teste qu'un arrêt de la lecture abandonne le changement en cours.
+     */
+    @Test
+    public void testCancelDropsPendingSwitch() {
+        RoundSwitchTimer timer = new RoundSwitchTimer(() -> now);
+
+        timer.start();
+        advanceMillis(80);
+        timer.cancel();
+
+        assertFalse(timer.stop());
+        assertEquals(0, timer.getAverageMs());
+        assertEquals(0, timer.getLastMs());
+    }
+
+    // ========== TESTS FONDU CROISÉ ==========
+
+    /**
+     * Teste que le fondu amène le volume à sa cible sur la durée du fondu croisé.
+     */
+    @Test
+    public void testCrossfadeReachesTarget() {
+        Assumptions.assumeTrue(javaFXInitialized, "JavaFX non disponible");
+        DoubleProperty volume = new SimpleDoubleProperty(0);
+
+        Timeline fade = AudioService.crossfade(volume, 0.8);
+
+        assertEquals(AudioService.CROSSFADE, fade.getTotalDuration());
+        KeyFrame end = fade.getKeyFrames().get(fade.getKeyFrames().size() - 1);
+        KeyValue value = end.getValues().iterator().next();
+        assertSame(volume, value.getTarget());
+        assertEquals(0.8, ((Number) value.getEndValue()).doubleValue(), 0.001);
+        assertEquals(0, volume.get(), 0.001, "Le fondu ne démarre pas tout seul");
+    }
+
+    /**
+     * Teste le fondu sortant : le lecteur remplacé descend jusqu'au silence.
+     */
+    @Test
+    public void testCrossfadeOutToSilence() {
+        Assumptions.assumeTrue(javaFXInitialized, "JavaFX non disponible");
+        DoubleProperty volume = new SimpleDoubleProperty(0.6);
+
+        Timeline fade = AudioService.crossfade(volume, 0);
+
+        assertEquals(AudioService.CROSSFADE, fade.getTotalDuration());
+        KeyValue value = fade.getKeyFrames().get(0).getValues().iterator().next();
+        assertEquals(0, ((Number) value.getEndValue()).doubleValue(), 0.001);
+    }
+}
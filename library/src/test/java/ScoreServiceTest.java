@@ -1,4 +1,5 @@
 import com.blindtest.model.Score;
+import com.blindtest.service.PersistenceService;
 import com.blindtest.service.ScoreService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,7 +17,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * Couvre : sauvegarde, chargement, leaderboard, filtres, statistiques, distribution.
  */
 public class ScoreServiceTest {
-    private static final String SCORES_FILE = "data/scores.json";
+    private static final String SCORES_FILE = "data/scores.jsonl";
 
     /**
      * Nettoie le fichier de scores avant et après chaque test.
@@ -24,7 +25,8 @@ public class ScoreServiceTest {
     @BeforeEach
     @AfterEach
     public void cleanUp() {
-        // Reset le fichier de scores
+        // Écrire les scores en attente, puis reset le fichier de scores
+        PersistenceService.flush();
         File file = new File(SCORES_FILE);
         if (file.exists()) {
             file.delete();
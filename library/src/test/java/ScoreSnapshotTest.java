@@ -0,0 +1,128 @@
+package com.blindtest.service;
+
+import com.blindtest.model.Score;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ScoreSnapshot.
+ * Vérifie l'aller-retour de tous les champs et le rejet d'un fichier invalide.
+ */
+public class ScoreSnapshotTest {
+
+    private static final Path TEST_FILE = Paths.get("data/test_scores.snapshot");
+
+    /**
+     * Supprime le fichier de test avant et après chaque test.
+     */
+    @BeforeEach
+    @AfterEach
+    public void cleanUp() {
+        new File(TEST_FILE.toString()).delete();
+    }
+
+    /**
+     * Teste que tous les champs sont relus à l'identique, dates à la nanoseconde et valeurs nulles comprises.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        new File("data").mkdirs();
+        Score alice = new Score("Alice", 120, "Solo", "Pop", 10, 7, 6, 2);
+        alice.setDate(LocalDateTime.of(2024, 3, 1, 20, 15, 30, 123456789));
+        Score bob = new Score("Bob", 80, "Duel", null, 5, 2, 3, 0);
+        bob.setDate(LocalDateTime.of(1999, 12, 31, 23, 59));
+        Score aliceAgain = new Score("Alice", 200, "Solo", "Pop", 10, 9, 9, 1);
+
+        ScoreSnapshot.write(TEST_FILE, Arrays.asList(alice, bob, aliceAgain), 1234L, 42);
+        ScoreSnapshot.Contents contents = ScoreSnapshot.read(TEST_FILE);
+
+        assertNotNull(contents);
+        assertEquals(1234L, contents.sourceLength);
+        assertEquals(42, contents.sourceChecksum);
+        List<Score> scores = contents.scores;
+        assertEquals(3, scores.size());
+        assertEquals(alice.toString(), scores.get(0).toString());
+        assertEquals(alice.getDate(), scores.get(0).getDate());
+        assertEquals(6, scores.get(0).getCorrectArtists());
+        assertEquals(2, scores.get(0).getHintsUsed());
+        assertNull(scores.get(1).getGenre());
+        assertEquals(bob.getDate(), scores.get(1).getDate());
+        assertEquals(aliceAgain.getDate(), scores.get(2).getDate());
+        assertSame(scores.get(0).getPseudo(), scores.get(2).getPseudo(), "Chaînes partagées via le dictionnaire");
+    }
+
+    /**
+     * Teste qu'un fichier absent, tronqué ou d'un autre format est ignoré.
+     */
+    @Test
+    public void testInvalidFileIgnored() throws IOException {
+        assertNull(ScoreSnapshot.read(TEST_FILE));
+
+        new File("data").mkdirs();
+        ScoreSnapshot.write(TEST_FILE, Arrays.asList(new Score("Alice", 100)), 10L, 0);
+        byte[] bytes = Files.readAllBytes(TEST_FILE);
+        Files.write(TEST_FILE, Arrays.copyOf(bytes, bytes.length - 3));
+        assertNull(ScoreSnapshot.read(TEST_FILE));
+
+        Files.write(TEST_FILE, "[{\"pseudo\":\"Alice\"}]".getBytes());
+        assertNull(ScoreSnapshot.read(TEST_FILE));
+    }
+
+    /**
+     * Teste qu'un octet altéré dans les colonnes (taille inchangée) fait rejeter l'instantané.
+     */
+    @Test
+    public void testCorruptedBodyRejected() throws IOException {
+        new File("data").mkdirs();
+        Score alice = new Score("Alice", 120, "Solo", "Pop", 10, 7, 6, 2);
+        alice.setDate(LocalDateTime.of(2024, 3, 1, 20, 15));
+        ScoreSnapshot.write(TEST_FILE, Arrays.asList(alice), 10L, 0);
+        assertNotNull(ScoreSnapshot.read(TEST_FILE));
+
+        byte[] bytes = Files.readAllBytes(TEST_FILE);
+        bytes[bytes.length - 17] ^= 0x10; // score : 120 devient 104
+        Files.write(TEST_FILE, bytes);
+
+        assertNull(ScoreSnapshot.read(TEST_FILE));
+    }
+
+    /**
+     * Teste un gros instantané (plus d'1 Mo) : relu intégralement, puis remplacé et supprimé
+     * aussitôt, comme lors d'un rechargement de l'historique.
+     */
+    @Test
+    public void testLargeSnapshotReplacedAfterRead() throws IOException {
+        new File("data").mkdirs();
+        List<Score> scores = new ArrayList<>();
+        for (int i = 0; i < 30000; i++) {
+            scores.add(new Score("Joueur" + (i % 50), i, "Solo", "Pop", 10, i % 10, i % 7, i % 3));
+        }
+        ScoreSnapshot.write(TEST_FILE, scores, 5000000L, 7);
+        assertTrue(Files.size(TEST_FILE) > 1 << 20, "L'instantané de test devrait dépasser 1 Mo");
+
+        ScoreSnapshot.Contents contents = ScoreSnapshot.read(TEST_FILE);
+        assertNotNull(contents);
+        assertEquals(scores.size(), contents.scores.size());
+        assertEquals(29999, contents.scores.get(29999).getScore());
+        assertEquals(scores.get(12345).getDate(), contents.scores.get(12345).getDate());
+
+        scores.add(new Score("Alice", 42));
+        ScoreSnapshot.write(TEST_FILE, scores, 5000100L, 8);
+        assertEquals(scores.size(), ScoreSnapshot.read(TEST_FILE).scores.size());
+        Files.delete(TEST_FILE);
+        assertFalse(Files.exists(TEST_FILE));
+    }
+}
@@ -0,0 +1,353 @@
+package com.blindtest.service;
+
+import com.blindtest.model.Score;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ScoreStore.
+ * Vérifie les index incrémentaux, la relecture du fichier, la conversion de l'ancien format
+ * la tolérance aux lignes tronquées et le chargement depuis l'instantané binaire.
+ */
+public class ScoreStoreTest {
+
+    private static final String TEST_FILE = "data/test_scores.jsonl";
+    private static final String TEST_LEGACY_FILE = "data/test_scores_legacy.json";
+    private static final String TEST_SNAPSHOT_FILE = "data/test_scores.snapshot";
+
+    /**
+     * Supprime les fichiers de test avant et après chaque test.
+     */
+    @BeforeEach
+    @AfterEach
+    public void cleanUp() {
+        PersistenceService.flush();
+        new File(TEST_FILE).delete();
+        new File(TEST_FILE + ".tmp").delete();
+        new File(TEST_LEGACY_FILE).delete();
+        new File(TEST_LEGACY_FILE + ".crc").delete();
+        new File(TEST_SNAPSHOT_FILE).delete();
+    }
+
+    private static Score score(String pseudo, int value, String mode, String genre, int day) {
+        Score score = new Score(pseudo, value, mode, genre, 10, 5, 5, 0);
+        score.setDate(LocalDateTime.of(2024, 1, day, 12, 0));
+        return score;
+    }
+
+    /**
+     * Teste que les classements restent triés au fil des insertions, égalités dans l'ordre d'ajout.
+     */
+    @Test
+    public void testLeaderboardsStaySorted() throws IOException {
+        ScoreStore store = new ScoreStore(TEST_FILE, null);
+        store.add(score("Alice", 100, "Solo", "Pop", 1));
+        store.add(score("Bob", 300, "Duel", "Rock", 2));
+        store.add(score("Chloé", 200, "solo", "Rock", 3));
+        store.add(score("David", 200, "Solo", "Rock", 3));
+
+        List<Score> top = store.getLeaderboard(10);
+        assertEquals(Arrays.asList("Bob", "Chloé", "David", "Alice"), top.stream().map(Score::getPseudo).toList());
+        assertEquals(2, store.getLeaderboard(2).size());
+
+        assertEquals(3, store.getLeaderboardByMode("SOLO", 10).size(), "Filtre de mode insensible à la casse");
+        assertEquals(3, store.getLeaderboardByGenre("rock", 10).size());
+        assertEquals(Arrays.asList("Chloé", "David"),
+                store.getLeaderboardByModeAndGenre("Solo", "Rock", 10).stream().map(Score::getPseudo).toList());
+        assertTrue(store.getLeaderboardByMode(null, 10).isEmpty());
+    }
+
+    /**
+     * Teste qu'une limite supérieure à la capacité des classements reste exacte.
+     */
+    @Test
+    public void testLeaderboardBeyondCapacity() throws IOException {
+        ScoreStore store = new ScoreStore(TEST_FILE, null);
+        int total = ScoreStore.LEADERBOARD_CAPACITY + 5;
+        for (int i = 0; i < total; i++) {
+            store.add(score("P" + i, i, "Solo", "Pop", 1));
+        }
+
+        List<Score> all = store.getLeaderboardByMode("Solo", total);
+        assertEquals(total, all.size());
+        assertEquals(total - 1, all.get(0).getScore());
+        assertEquals(0, all.get(total - 1).getScore());
+        assertEquals(total - 1, store.getLeaderboard(1).get(0).getScore());
+    }
+
+    /**
+     * Teste l'historique par pseudo et les statistiques agrégées.
+     */
+    @Test
+    public void testHistoryAndStatistics() throws IOException {
+        ScoreStore store = new ScoreStore(TEST_FILE, null);
+        store.add(score("Alice", 100, "Solo", "Pop", 1));
+        store.add(score("Alice", 150, "Duel", "Pop", 5));
+        store.add(score("Bob", 200, "Solo", "Rock", 3));
+
+        List<Score> history = store.getPlayerHistory("Alice");
+        assertEquals(150, history.get(0).getScore(), "Plus récent en premier");
+        assertEquals(100, history.get(1).getScore());
+
+        ScoreService.ScoreStatistics solo = store.getStatisticsByMode("solo");
+        assertEquals(2, solo.getTotalGames());
+        assertEquals(200, solo.getMaxScore());
+        assertEquals(100, solo.getMinScore());
+        assertEquals(150.0, solo.getAverageScore(), 0.01);
+        assertEquals(50.0, solo.getAvgSuccessRate(), 0.01);
+        assertEquals(3, store.getStatistics().getTotalGames());
+        assertEquals(0, store.getStatisticsByMode("Inconnu").getTotalGames());
+        assertEquals(2L, store.getCountByMode().get("Solo"));
+    }
+
+    /**
+     * Teste les statistiques par genre, par mode et genre et par joueur, tenues à jour à chaque ajout.
+     */
+    @Test
+    public void testStatisticsByFilter() throws IOException {
+        ScoreStore store = new ScoreStore(TEST_FILE, null);
+        store.add(score("Alice", 100, "Solo", "Pop", 1));
+        store.add(score("Bob", 300, "Duel", "Pop", 2));
+        store.add(score("Alice", 200, "solo", "Rock", 3));
+
+        ScoreService.ScoreStatistics pop = store.getStatisticsByGenre("POP");
+        assertEquals(2, pop.getTotalGames());
+        assertEquals(300, pop.getMaxScore());
+        assertEquals(200.0, pop.getAverageScore(), 0.01);
+
+        ScoreService.ScoreStatistics soloRock = store.getStatisticsByModeAndGenre("Solo", "rock");
+        assertEquals(1, soloRock.getTotalGames());
+        assertEquals(200, soloRock.getMinScore());
+        assertEquals(0, store.getStatisticsByModeAndGenre("Duel", "Rock").getTotalGames());
+
+        ScoreService.ScoreStatistics alice = store.getPlayerStatistics("Alice");
+        assertEquals(2, alice.getTotalGames());
+        assertEquals(150.0, alice.getAverageScore(), 0.01);
+        assertEquals(0, store.getPlayerStatistics("alice").getTotalGames(), "Pseudo exact");
+
+        store.add(score("Alice", 400, "Duel", "Pop", 4));
+        assertEquals(3, store.getPlayerStatistics("Alice").getTotalGames());
+        assertEquals(400, store.getStatisticsByGenre("Pop").getMaxScore());
+        PersistenceService.flush();
+        assertEquals(3, new ScoreStore(TEST_FILE, null).getStatisticsByGenre("pop").getTotalGames());
+    }
+
+    /**
+     * Teste que les ajouts sont visibles aussitôt dans les index et écrits ensemble au vidage de la file.
+     */
+    @Test
+    public void testAddsVisibleBeforeWrite() throws Exception {
+        ScoreStore store = new ScoreStore(TEST_FILE, null);
+        CompletableFuture<Void> first = store.add(score("Alice", 100, "Solo", "Pop", 1));
+        CompletableFuture<Void> last = store.add(score("Bob", 200, "Solo", "Pop", 2));
+        assertEquals(2, store.size());
+        assertEquals("Bob", store.getLeaderboard(1).get(0).getPseudo());
+
+        PersistenceService.flush();
+        assertTrue(first.isDone() && last.isDone());
+        assertEquals(2, Files.readAllLines(Paths.get(TEST_FILE)).size());
+        assertEquals(2, store.size(), "Sa propre écriture ne provoque pas de relecture");
+    }
+
+    /**
+     * Teste qu'une nouvelle instance relit les scores ajoutés, dans leur ordre d'enregistrement.
+     */
+    @Test
+    public void testReloadFromFile() throws IOException {
+        ScoreStore store = new ScoreStore(TEST_FILE, null);
+        store.add(score("Alice", 100, "Solo", "Pop", 1));
+        store.add(score("Bob", 200, "Solo", "Pop", 2));
+
+        PersistenceService.flush();
+        ScoreStore reloaded = new ScoreStore(TEST_FILE, null);
+        assertEquals(2, reloaded.size());
+        assertEquals("Alice", reloaded.getAll().get(0).getPseudo());
+        assertEquals("Bob", reloaded.getLeaderboard(1).get(0).getPseudo());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 12, 0), reloaded.getAll().get(1).getDate());
+    }
+
+    /**
+     * Teste que le score indexé ne suit pas les modifications ultérieures de l'objet de l'appelant.
+     */
+    @Test
+    public void testStoredScoreIsIndependentCopy() throws IOException {
+        ScoreStore store = new ScoreStore(TEST_FILE, null);
+        Score score = score("Alice", 100, "Solo", "Pop", 1);
+        store.add(score);
+        score.setScore(999);
+
+        assertEquals(100, store.getLeaderboard(1).get(0).getScore());
+    }
+
+    /**
+     * Teste que la suppression externe du fichier est prise en compte.
+     */
+    @Test
+    public void testExternalDeletionReloads() throws IOException {
+        ScoreStore store = new ScoreStore(TEST_FILE, null);
+        store.add(score("Alice", 100, "Solo", "Pop", 1));
+        assertEquals(1, store.size());
+
+        PersistenceService.flush();
+        new File(TEST_FILE).delete();
+
+        assertEquals(0, store.size());
+        assertTrue(store.getLeaderboard(10).isEmpty());
+    }
+
+    /**
+     * Teste qu'une ligne tronquée (arrêt brutal pendant l'écriture) est ignorée.
+     */
+    @Test
+    public void testTruncatedLineIgnored() throws IOException {
+        ScoreStore store = new ScoreStore(TEST_FILE, null);
+        store.add(score("Alice", 100, "Solo", "Pop", 1));
+        PersistenceService.flush();
+        Files.write(Paths.get(TEST_FILE), "{\"pseudo\":\"Bo".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        assertEquals(1, new ScoreStore(TEST_FILE, null).size());
+    }
+
+    /**
+     * Teste qu'un score ajouté après une ligne tronquée ne s'y colle pas : il est relu
+     * au rechargement, comme ceux ajoutés ensuite.
+     */
+    @Test
+    public void testAddAfterTruncatedLine() throws IOException {
+        ScoreStore store = new ScoreStore(TEST_FILE, null);
+        store.add(score("Alice", 100, "Solo", "Pop", 1));
+        PersistenceService.flush();
+        Files.write(Paths.get(TEST_FILE), "{\"pseudo\":\"Bo".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        ScoreStore reopened = new ScoreStore(TEST_FILE, null);
+        reopened.add(score("Chloé", 200, "Solo", "Pop", 2));
+        reopened.add(score("David", 300, "Solo", "Pop", 3));
+        PersistenceService.flush();
+
+        ScoreStore reloaded = new ScoreStore(TEST_FILE, null);
+        assertEquals(Arrays.asList("David", "Chloé", "Alice"),
+                reloaded.getLeaderboard(10).stream().map(Score::getPseudo).toList());
+    }
+
+    /**
+     * Teste qu'un long historique produit un instantané, puis qu'un chargement ultérieur
+     * part de l'instantané et ne relit en JSON que les lignes ajoutées depuis.
+     */
+    @Test
+    public void testSnapshotWrittenAndResumed() throws IOException {
+        ScoreStore store = new ScoreStore(TEST_FILE, null);
+        int total = ScoreStore.SNAPSHOT_MIN_LINES + 10;
+        for (int i = 0; i < total; i++) {
+            store.add(score("P" + (i % 7), i, i % 2 == 0 ? "Solo" : "Duel", "Pop", 1 + i % 28));
+        }
+        assertFalse(new File(TEST_SNAPSHOT_FILE).exists(), "Pas d'instantané pendant les ajouts");
+
+        PersistenceService.flush();
+        assertEquals(total, new ScoreStore(TEST_FILE, null).size());
+        assertTrue(new File(TEST_SNAPSHOT_FILE).exists(), "Instantané écrit après un chargement complet");
+
+        store.add(score("Zoé", 10_000, "Solo", "Rock", 2));
+        PersistenceService.flush();
+        ScoreStore resumed = new ScoreStore(TEST_FILE, null);
+        assertEquals(total + 1, resumed.size());
+        assertEquals("Zoé", resumed.getLeaderboard(1).get(0).getPseudo());
+        assertEquals(store.getAll().toString(), resumed.getAll().toString());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 12, 0), resumed.getAll().get(total).getDate());
+        assertEquals(store.getStatisticsByMode("Duel").getAverageScore(),
+                resumed.getStatisticsByMode("Duel").getAverageScore(), 0.001);
+    }
+
+    /**
+     * Teste qu'un instantané qui ne correspond plus au fichier des scores est ignoré.
+     */
+    @Test
+    public void testStaleSnapshotIgnored() throws IOException {
+        ScoreStore store = new ScoreStore(TEST_FILE, null);
+        for (int i = 0; i < ScoreStore.SNAPSHOT_MIN_LINES; i++) {
+            store.add(score("P" + i, i, "Solo", "Pop", 1));
+        }
+        PersistenceService.flush();
+        new ScoreStore(TEST_FILE, null).size();
+        assertTrue(new File(TEST_SNAPSHOT_FILE).exists());
+
+        // Fichier remplacé par un autre moyen, plus long que la partie couverte par l'instantané
+        String otherFile = "data/test_scores_other.jsonl";
+        ScoreStore other = new ScoreStore(otherFile, null);
+        for (int i = 0; i < ScoreStore.SNAPSHOT_MIN_LINES + 1; i++) {
+            other.add(score("Q" + i, 1000 + i, "Duel", "Rock", 2));
+        }
+        PersistenceService.flush();
+        Files.move(Paths.get(otherFile), Paths.get(TEST_FILE), StandardCopyOption.REPLACE_EXISTING);
+
+        ScoreStore reloaded = new ScoreStore(TEST_FILE, null);
+        assertEquals(ScoreStore.SNAPSHOT_MIN_LINES + 1, reloaded.size());
+        assertTrue(reloaded.getLeaderboardByMode("Solo", 10).isEmpty());
+
+        new File(TEST_FILE).delete();
+        assertEquals(0, reloaded.size());
+        assertFalse(new File(TEST_SNAPSHOT_FILE).exists(), "Instantané supprimé avec le fichier des scores");
+    }
+
+    /**
+     * Teste la conversion de l'ancien fichier (tableau JSON) au premier chargement.
+     */
+    @Test
+    public void testLegacyFileMigrated() throws IOException {
+        PersistenceService.save(Arrays.asList(score("Alice", 100, "Solo", "Pop", 1),
+                score("Bob", 200, "Duel", "Rock", 2)), TEST_LEGACY_FILE);
+
+        ScoreStore store = new ScoreStore(TEST_FILE, TEST_LEGACY_FILE);
+
+        assertEquals(2, store.size());
+        assertEquals("Bob", store.getLeaderboard(1).get(0).getPseudo());
+        assertFalse(new File(TEST_LEGACY_FILE).exists(), "L'ancien fichier devrait être supprimé");
+        assertEquals(2, new ScoreStore(TEST_FILE, null).size());
+    }
+
+    /**
+     * Teste qu'un ancien fichier illisible n'est ni converti ni supprimé.
+     */
+    @Test
+    public void testCorruptLegacyFileKept() throws IOException {
+        new File(TEST_LEGACY_FILE).getParentFile().mkdirs();
+        Files.write(Paths.get(TEST_LEGACY_FILE), "[{\"pseudo\":\"Alice\",\"score\":".getBytes(StandardCharsets.UTF_8));
+
+        ScoreStore store = new ScoreStore(TEST_FILE, TEST_LEGACY_FILE);
+
+        assertEquals(0, store.size());
+        assertTrue(new File(TEST_LEGACY_FILE).exists(), "L'ancien fichier devrait être conservé");
+        assertFalse(new File(TEST_FILE).exists());
+    }
+
+    /**
+     * Teste qu'une erreur de lecture de l'ancien fichier arrête la conversion sans le supprimer.
+     */
+    @Test
+    public void testUnreadableLegacyFileKept() throws IOException {
+        // Un dossier à la place du fichier : l'ouverture réussit, la lecture échoue
+        Files.createDirectories(Paths.get(TEST_LEGACY_FILE));
+
+        ScoreStore store = new ScoreStore(TEST_FILE, TEST_LEGACY_FILE);
+
+        assertEquals(0, store.size());
+        assertTrue(new File(TEST_LEGACY_FILE).exists(), "L'ancien fichier devrait être conservé");
+        assertFalse(new File(TEST_FILE).exists());
+    }
+}
@@ -0,0 +1,147 @@
+package com.blindtest.service;
+
+import com.blindtest.model.Settings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour SettingsService.
+ * Vérifie le cache des paramètres, les copies figées, la notification des écouteurs
+ * et le rechargement après une modification manuelle du fichier.
+ */
+public class SettingsServiceTest {
+
+    private static final String SETTINGS_FILE = "data/settings.json";
+    private static final String[] SUFFIXES = {"", ".tmp", ".crc", ".corrupt", ".bak.1", ".bak.2"};
+
+    // Fichiers de l'utilisateur mis de côté pendant les tests
+    private final Map<Path, byte[]> savedFiles = new HashMap<>();
+
+    /**
+     * Met de côté les paramètres existants et repart des valeurs par défaut.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        PersistenceService.flush();
+        for (String suffix : SUFFIXES) {
+            Path path = Paths.get(SETTINGS_FILE + suffix);
+            if (Files.exists(path)) {
+                savedFiles.put(path, Files.readAllBytes(path));
+                Files.delete(path);
+            }
+        }
+        SettingsService.invalidate();
+    }
+
+    /**
+     * Restaure les paramètres mis de côté.
+     */
+    @AfterEach
+    public void tearDown() throws IOException {
+        PersistenceService.flush();
+        for (String suffix : SUFFIXES) {
+            Files.deleteIfExists(Paths.get(SETTINGS_FILE + suffix));
+        }
+        for (Map.Entry<Path, byte[]> entry : savedFiles.entrySet()) {
+            Files.write(entry.getKey(), entry.getValue());
+        }
+        SettingsService.invalidate();
+    }
+
+    /**
+     * Teste que les paramètres courants sont lus une fois, partagés et figés.
+     */
+    @Test
+    public void testSettingsCachedAndFrozen() {
+        Settings first = SettingsService.getSettings();
+        assertSame(first, SettingsService.getSettings(), "Les paramètres devraient être gardés en mémoire");
+        assertTrue(first.isFrozen());
+        assertThrows(UnsupportedOperationException.class, () -> first.setNumberOfRounds(5));
+
+        Settings editable = SettingsService.loadSettings();
+        assertFalse(editable.isFrozen());
+        assertEquals(first, editable);
+        editable.setNumberOfRounds(5);
+        assertEquals(10, SettingsService.getSettings().getNumberOfRounds(),
+                "Modifier une copie ne devrait pas changer les paramètres courants");
+    }
+
+    /**
+     * Teste qu'une sauvegarde met à jour les paramètres courants et prévient les écouteurs,
+     * une seule fois par changement effectif.
+     */
+    @Test
+    public void testSaveNotifiesListeners() {
+        List<Settings[]> changes = new ArrayList<>();
+        SettingsService.Listener listener = (previous, current) -> changes.add(new Settings[]{previous, current});
+        SettingsService.getSettings();
+        SettingsService.addListener(listener);
+        try {
+            Settings edited = SettingsService.loadSettings();
+            edited.setNumberOfRounds(15);
+            SettingsService.saveSettings(edited);
+            SettingsService.saveSettings(edited);
+
+            assertEquals(15, SettingsService.getSettings().getNumberOfRounds());
+            assertEquals(1, changes.size(), "Une sauvegarde identique ne devrait pas notifier");
+            assertEquals(10, changes.get(0)[0].getNumberOfRounds());
+            assertEquals(15, changes.get(0)[1].getNumberOfRounds());
+            assertTrue(changes.get(0)[1].isFrozen());
+
+            edited.setNumberOfRounds(7);
+            assertEquals(15, SettingsService.getSettings().getNumberOfRounds(),
+                    "Les paramètres sauvegardés ne devraient plus dépendre de l'objet passé");
+
+            PersistenceService.flush();
+            assertEquals(15, PersistenceService.load(SETTINGS_FILE, Settings.class).getNumberOfRounds());
+        } finally {
+            SettingsService.removeListener(listener);
+        }
+    }
+
+    /**
+     * Teste qu'une modification manuelle du fichier est détectée et rechargée.
+     */
+    @Test
+    public void testManualEditReloaded() throws Exception {
+        Settings edited = SettingsService.loadSettings();
+        edited.setExtractDuration(30);
+        SettingsService.saveSettings(edited);
+        PersistenceService.flush();
+
+        CountDownLatch reloaded = new CountDownLatch(1);
+        SettingsService.Listener listener = (previous, current) -> {
+            if (current.getNumberOfRounds() == 12) {
+                reloaded.countDown();
+            }
+        };
+        SettingsService.addListener(listener);
+        try {
+            Thread.sleep(20); // date de modification distincte de celle de la somme de contrôle
+            String json = new String(Files.readAllBytes(Paths.get(SETTINGS_FILE)), StandardCharsets.UTF_8)
+                    .replaceAll("\"numberOfRounds\":\\s*\\d+", "\"numberOfRounds\": 12");
+            Files.write(Paths.get(SETTINGS_FILE), json.getBytes(StandardCharsets.UTF_8));
+
+            assertTrue(reloaded.await(10, TimeUnit.SECONDS), "La modification devrait être rechargée");
+            assertEquals(12, SettingsService.getSettings().getNumberOfRounds());
+            assertEquals(30, SettingsService.getSettings().getExtractDuration());
+        } finally {
+            SettingsService.removeListener(listener);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.blindtest.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour ShuffleBag.
+ * Vérifie le tirage sans remise, les éléments différés et l'absence de répétition immédiate.
+ */
+public class ShuffleBagTest {
+
+    private static List<Integer> range(int size) {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) items.add(i);
+        return items;
+    }
+
+    /**
+     * Chaque tour est une permutation, et un élément ne sort jamais deux fois de suite.
+     */
+    @Test
+    public void testEachCycleIsPermutation() {
+        for (int size = 1; size <= 7; size++) {
+            ShuffleBag<Integer> bag = new ShuffleBag<>(range(size), new Random(size));
+            Integer last = null;
+            for (int cycle = 0; cycle < 50; cycle++) {
+                Set<Integer> seen = new HashSet<>();
+                for (int i = 0; i < size; i++) {
+                    Integer item = bag.next();
+                    assertTrue(seen.add(item), "Élément répété dans un tour : " + item);
+                    if (size > 1) assertNotEquals(last, item, "Élément tiré deux fois de suite");
+                    last = item;
+                }
+                assertEquals(0, bag.remaining());
+            }
+        }
+    }
+
+    /**
+     * Les éléments différés ne sortent qu'après tous les autres.
+     */
+    @Test
+    public void testDeferredItemsComeLast() {
+        for (int seed = 0; seed < 100; seed++) {
+            ShuffleBag<Integer> bag = new ShuffleBag<>(range(10), item -> item % 3 == 0, false, new Random(seed));
+            for (int i = 0; i < 6; i++) {
+                assertNotEquals(0, bag.next() % 3);
+            }
+            for (int i = 0; i < 4; i++) {
+                assertEquals(0, bag.next() % 3);
+            }
+            assertNull(bag.next(), "Sac épuisé sans nouveau tour");
+        }
+    }
+
+    /**
+     * Teste un sac vide.
+     */
+    @Test
+    public void testEmptyBag() {
+        ShuffleBag<String> bag = new ShuffleBag<>(List.of(), new Random());
+        assertNull(bag.next());
+        assertEquals(0, bag.size());
+    }
+
+    /**
+     * Le premier élément tiré est réparti uniformément.
+     */
+    @Test
+    public void testFirstDrawIsUniform() {
+        Random random = new Random(7);
+        int[] counts = new int[5];
+        for (int i = 0; i < 50_000; i++) {
+            counts[new ShuffleBag<>(range(5), random).next()]++;
+        }
+        for (int count : counts) {
+            assertTrue(Math.abs(count - 10_000) < 500, "Répartition : " + count);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.blindtest.service;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serveur HTTP local imitant l'API de recherche Deezer, pour tester la résolution sans réseau.
+ * Les réponses sont enregistrées par requête ; une requête inconnue renvoie une liste vide.
+ * Le serveur peut aussi servir des fichiers audio factices.
+ */
+public class StubPreviewServer implements AutoCloseable {
+    private final HttpServer server;
+    private final Map<String, String> previews = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> audioFiles = new ConcurrentHashMap<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile int statusCode = 200;
+    private volatile String retryAfter;
+    private volatile String searchBody;
+
+    /**
+     * Démarre le serveur sur un port libre de la boucle locale.
+     * @throws IOException Si le serveur ne peut pas démarrer
+     */
+    public StubPreviewServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/search/track", exchange -> {
+            requestCount.incrementAndGet();
+            String query = "";
+            String rawQuery = exchange.getRequestURI().getRawQuery();
+            for (String param : rawQuery != null ? rawQuery.split("&") : new String[0]) {
+                if (param.startsWith("q=")) {
+                    query = URLDecoder.decode(param.substring(2), StandardCharsets.UTF_8);
+                }
+            }
+
+            String preview = previews.get(query);
+            String body = searchBody != null ? searchBody
+                : preview == null
+                ? "{\"data\":[]}"
+                : "{\"data\":[{\"title\":\"" + query + "\",\"preview\":\"" + preview + "\"}]}";
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+            if (retryAfter != null) {
+                exchange.getResponseHeaders().set("Retry-After", retryAfter);
+            }
+            exchange.sendResponseHeaders(statusCode, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.createContext("/audio/", exchange -> {
+            requestCount.incrementAndGet();
+            byte[] bytes = audioFiles.get(exchange.getRequestURI().getPath().substring("/audio/".length()));
+            if (bytes == null) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            exchange.sendResponseHeaders(statusCode, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * Publie un fichier audio factice et retourne son URL.
+     * @param name Le nom du fichier
+     * @param content Le contenu à servir
+     * @return L'URL du fichier sur ce serveur
+     * @throws IOException Si l'URL est invalide
+     */
+    public URL addAudio(String name, byte[] content) throws IOException {
+        audioFiles.put(name, content);
+        return new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/audio/" + name);
+    }
+
+    /**
+     * Enregistre l'extrait renvoyé pour une requête.
+     * @param query La requête exacte
+     * @param previewUrl L'URL d'extrait à renvoyer
+     */
+    public void addPreview(String query, String previewUrl) {
+        previews.put(query, previewUrl);
+    }
+
+    /**
+     * Définit le code HTTP renvoyé (ex. 503 pour simuler une panne).
+     * @param statusCode Le code HTTP
+     */
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Définit l'en-tête Retry-After des réponses de recherche (null pour ne pas l'envoyer).
+     * @param retryAfter La valeur de l'en-tête, en secondes
+     */
+    public void setRetryAfter(String retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Impose le corps JSON de toutes les réponses de recherche (null pour revenir aux extraits enregistrés).
+     * @param searchBody Le document JSON à renvoyer
+     */
+    public void setSearchBody(String searchBody) {
+        this.searchBody = searchBody;
+    }
+
+    /**
+     * Retourne le nombre de requêtes reçues.
+     * @return Le nombre de requêtes
+     */
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Crée un fournisseur Deezer pointant sur ce serveur.
+     * @return Le fournisseur
+     */
+    public DeezerPreviewProvider provider() {
+        return new DeezerPreviewProvider(
+            "http://127.0.0.1:" + server.getAddress().getPort() + "/search/track?q=");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
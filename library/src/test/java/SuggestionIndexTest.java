@@ -0,0 +1,116 @@
+package com.blindtest.service;
+
+import com.blindtest.model.Track;
+import com.blindtest.util.InputValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour SuggestionIndex et AutocompleteService.
+ * Vérifie la recherche par début de mot, l'ordre par popularité et le dédoublonnage.
+ */
+public class SuggestionIndexTest {
+
+    private static final String[] SYLLABLES = {"ba", "be", "lo", "ve", "ra", "ri", "mo", "on", "da", "ne"};
+
+    /**
+     * Teste la recherche par préfixe et à l'intérieur du texte (début d'un mot).
+     */
+    @Test
+    public void testPrefixAndInfix() {
+        SuggestionIndex.Builder builder = new SuggestionIndex.Builder();
+        builder.add("Bohemian Rhapsody", 1);
+        builder.add("Billie Jean", 1);
+        builder.add("Lemon", 1);
+        SuggestionIndex index = builder.build();
+
+        assertEquals(List.of("Bohemian Rhapsody"), index.suggest("rhap", 5));
+        assertEquals(List.of("Bohemian Rhapsody"), index.suggest("Bohémian rh", 5));
+        assertEquals(List.of("Lemon"), index.suggest("le", 5), "Le dernier mot est gardé même si c'est un mot-outil");
+        assertTrue(index.suggest("hapso", 5).isEmpty(), "Pas de correspondance au milieu d'un mot");
+        assertTrue(index.suggest("", 5).isEmpty());
+        assertTrue(new SuggestionIndex.Builder().build().suggest("a", 5).isEmpty());
+    }
+
+    /**
+     * Teste l'ordre par poids cumulé et le dédoublonnage des suggestions.
+     */
+    @Test
+    public void testWeightsAndDuplicates() {
+        SuggestionIndex.Builder builder = new SuggestionIndex.Builder();
+        assertTrue(builder.add("Love Me Love", 1));
+        assertTrue(builder.add("Lonely", 2));
+        assertFalse(builder.add("love me love", 5), "Même forme normalisée : poids cumulé");
+        SuggestionIndex index = builder.build();
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("Love Me Love", "Lonely"), index.suggest("lo", 5));
+        assertEquals(List.of("Love Me Love"), index.suggest("lo", 1));
+    }
+
+    /**
+     * Compare les meilleures suggestions à une recherche exhaustive (poids tous distincts).
+     */
+    @Test
+    public void testTopSuggestionsMatchBruteForce() {
+        Random random = new Random(42);
+        SuggestionIndex.Builder builder = new SuggestionIndex.Builder();
+        List<String> texts = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            StringBuilder text = new StringBuilder();
+            int words = 1 + random.nextInt(4);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) text.append(' ');
+                int syllables = 1 + random.nextInt(3);
+                for (int s = 0; s < syllables; s++) {
+                    text.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+                }
+            }
+            if (!builder.contains(text.toString())) {
+                builder.add(text.toString(), i + 1);
+                texts.add(text.toString());
+                weights.add(i + 1);
+            }
+        }
+        SuggestionIndex index = builder.build();
+
+        for (int q = 0; q < 300; q++) {
+            String query = SYLLABLES[random.nextInt(SYLLABLES.length)]
+                + (random.nextBoolean() ? SYLLABLES[random.nextInt(SYLLABLES.length)].substring(0, 1) : "");
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < texts.size(); i++) {
+                String key = InputValidator.normalize(texts.get(i));
+                if ((" " + key).contains(" " + query)) expected.add(i);
+            }
+            expected.sort(Comparator.comparing(weights::get).reversed());
+            List<String> top = new ArrayList<>();
+            for (int i = 0; i < Math.min(8, expected.size()); i++) top.add(texts.get(expected.get(i)));
+
+            assertEquals(top, index.suggest(query, 8), "Requête : " + query);
+        }
+    }
+
+    /**
+     * Teste les suggestions sur le catalogue et l'ajout de morceaux hors catalogue.
+     */
+    @Test
+    public void testAutocompleteService() throws InterruptedException {
+        assertEquals("Stromae", AutocompleteService.suggestArtists("stro", 3).get(0));
+        assertTrue(AutocompleteService.suggestTitles("alors on", 3).contains("Alors on danse"));
+
+        AutocompleteService.registerTracks(List.of(new Track("Zzyzx Road", "Zzyzx Band", 30)));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (AutocompleteService.suggestTitles("zzyzx", 3).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("Zzyzx Road"), AutocompleteService.suggestTitles("zzyzx", 3));
+        assertEquals(List.of("Zzyzx Band"), AutocompleteService.suggestArtists("zzy", 3));
+    }
+}
@@ -0,0 +1,77 @@
+package com.blindtest.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour TopKRanking.
+ */
+public class TopKRankingTest {
+
+    /**
+     * Teste que seuls les K meilleurs éléments sont conservés, dans l'ordre.
+     */
+    @Test
+    public void testKeepsBestK() {
+        TopKRanking<Integer> ranking = new TopKRanking<>(Comparator.<Integer>reverseOrder(), 3);
+        for (int value : new int[] {5, 1, 9, 7, 3, 8}) {
+            ranking.add(value);
+        }
+
+        assertEquals(3, ranking.size());
+        assertEquals(Arrays.asList(9, 8, 7), ranking.top(10));
+        assertEquals(Arrays.asList(9, 8), ranking.top(2));
+        assertTrue(ranking.top(0).isEmpty());
+    }
+
+    /**
+     * Teste que les égalités restent dans l'ordre d'ajout (comme un tri stable).
+     */
+    @Test
+    public void testTiesKeepInsertionOrder() {
+        TopKRanking<String> ranking = new TopKRanking<>(Comparator.comparing(String::length).reversed(), 3);
+        ranking.add("bb");
+        ranking.add("aa");
+        ranking.add("c");
+        ranking.add("dd");
+
+        assertEquals(Arrays.asList("bb", "aa", "dd"), ranking.top(3));
+    }
+
+    /**
+     * Teste la couverture : au-delà de K, le classement n'est exact que si rien n'a été écarté.
+     */
+    @Test
+    public void testCovers() {
+        TopKRanking<Integer> ranking = new TopKRanking<>(Comparator.<Integer>reverseOrder(), 2);
+        ranking.add(1);
+        ranking.add(2);
+        assertTrue(ranking.covers(5));
+
+        ranking.add(3);
+        assertTrue(ranking.covers(2));
+        assertFalse(ranking.covers(3));
+    }
+
+    /**
+     * Teste l'équivalence avec un tri complet sur des données aléatoires.
+     */
+    @Test
+    public void testMatchesFullSort() {
+        Random random = new Random(42);
+        List<Integer> values = IntStream.range(0, 5000).map(i -> random.nextInt(1000)).boxed().collect(Collectors.toList());
+        TopKRanking<Integer> ranking = new TopKRanking<>(Comparator.<Integer>reverseOrder(), 100);
+        values.forEach(ranking::add);
+
+        List<Integer> expected = values.stream().sorted(Comparator.reverseOrder()).limit(100).collect(Collectors.toList());
+        assertEquals(expected, ranking.top(100));
+    }
+}
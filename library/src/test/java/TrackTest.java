@@ -0,0 +1,89 @@
+package com.blindtest.model;
+
+import com.blindtest.util.InputValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la classe Track.
+ */
+public class TrackTest {
+
+    /**
+     * Vérifie que les réponses normalisées correspondent à InputValidator.normalize.
+     */
+    @Test
+    void normalizedAnswers_shouldMatchInputValidator() {
+        Track track = new Track("L'Aventurier", "Indochine", 30);
+
+        assertEquals(InputValidator.normalize("L'Aventurier"), track.getNormalizedTitle());
+        assertEquals("aventurier", track.getNormalizedTitle());
+        assertEquals("indochine", track.getNormalizedArtist());
+    }
+
+    /**
+     * Vérifie que les formes normalisées sont calculées une seule fois.
+     */
+    @Test
+    void normalizedAnswers_shouldBeCached() {
+        Track track = new Track("Dernière Danse", "Kyo", 30);
+        track.prepareAnswerKeys();
+
+        assertSame(track.getNormalizedTitle(), track.getNormalizedTitle());
+        assertSame(track.getTitleTokens(), track.getTitleTokens());
+    }
+
+    /**
+     * Vérifie les mots du titre et de l'artiste : sans mots-outils, sans doublon, non modifiables.
+     */
+    @Test
+    void tokens_shouldSkipStopWordsAndDuplicates() {
+        Track track = new Track("Love Me Love Me", "The Rolling Stones", 30);
+
+        assertEquals(List.of("love", "me"), List.copyOf(track.getTitleTokens()));
+        assertEquals(Set.of("rolling", "stones"), track.getArtistTokens());
+        assertThrows(UnsupportedOperationException.class, () -> track.getTitleTokens().add("x"));
+        assertTrue(new Track("The", "", 30).getArtistTokens().isEmpty());
+    }
+
+    /**
+     * Vérifie qu'une playlist prépare les réponses de ses morceaux.
+     */
+    @Test
+    void playlist_shouldPrepareAnswerKeys() {
+        Playlist playlist = new Playlist("Test");
+        Track track = new Track("Ça plane pour moi", "Plastic Bertrand", 30);
+        playlist.addTrack(track);
+
+        assertEquals("ca plane pour moi", track.getNormalizedTitle());
+    }
+
+    /**
+     * Vérifie l'égalité par titre, artiste et durée.
+     */
+    @Test
+    void equals_shouldCompareTitleArtistAndDuration() {
+        Track track = new Track("Formidable", "Stromae", 30);
+
+        assertEquals(track, new Track("Formidable", "Stromae", 30));
+        assertEquals(track.hashCode(), new Track("Formidable", "Stromae", 30).hashCode());
+        assertNotEquals(track, new Track("Formidable", "Stromae", 45));
+        assertNotEquals(track, new Track("Papaoutai", "Stromae", 30));
+        assertEquals(new Track(null, null, 0), new Track(null, null, 0));
+    }
+
+    /**
+     * Vérifie que "x" ne sépare un artiste invité que dans le nom d'artiste.
+     */
+    @Test
+    void matchers_shouldApplyXOnlyToArtist() {
+        Track track = new Track("Malcolm X Speaks", "Niska x Ninho", 30);
+
+        assertFalse(track.getTitleMatcher().matches("malcolm"));
+        assertTrue(track.getArtistMatcher().matches("niska"));
+    }
+}